@@ -0,0 +1,214 @@
+package benchmark;
+
+import model.Ball;
+import presenter.ScriptedBot;
+import presenter.Simulation;
+import presenter.SpawnSettings;
+import presenter.TickInput;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Menjalankan ribuan sesi permainan tanpa tampilan secara paralel di semua core untuk
+ * menyetel keseimbangan (peluang dan kecepatan kristal). Setiap sesi memakai Simulation
+ * yang sama dengan GamePresenter dan dimainkan oleh ScriptedBot; tidak ada kelas Swing
+ * yang dimuat. Sesi ke-i selalu memakai seed (seed + i), sehingga distribusi skor sama
+ * persis berapa pun jumlah thread yang dipakai.
+ *
+ * Cara menjalankan (dari root proyek, setelah src/ dan bench/src/ dikompilasi ke out/):
+ *   java -Djava.awt.headless=true -cp out benchmark.BatchRunner [--sessions 2000] [--ticks 7200]
+ *        [--threads N] [--odds 40,30,25,5] [--speed 2] [--interval 120] [--burst 1] [--aim 12] [--reaction 10] [--seed 1]
+ */
+public class BatchRunner {
+    // Jumlah sesi minimum per tugas sebelum tidak dibagi lagi
+    private static final int SESSIONS_PER_TASK = 8;
+    private static final Ball.BallType[] TYPES = Ball.BallType.values();
+
+    private final SpawnSettings settings;
+    private final int ticks;
+    private final long baseSeed;
+    private final int aimError;
+    private final int reactionTicks;
+
+    // Hasil per sesi, diindeks nomor sesi
+    private final int[] scores;
+    private final int[] counts;
+    private final int[][] scoredByType;
+    // Tick dan waktu kerja per thread worker; setiap larik hanya ditulis oleh thread pemiliknya
+    private final Map<String, long[]> workerStats = new ConcurrentHashMap<>();
+
+    BatchRunner(SpawnSettings settings, int sessions, int ticks, long baseSeed, int aimError, int reactionTicks) {
+        this.settings = settings;
+        this.ticks = ticks;
+        this.baseSeed = baseSeed;
+        this.aimError = aimError;
+        this.reactionTicks = reactionTicks;
+        this.scores = new int[sessions];
+        this.counts = new int[sessions];
+        this.scoredByType = new int[sessions][TYPES.length];
+    }
+
+    public static void main(String[] args) {
+        int sessions = 2_000;
+        int ticks = 2 * 60 * Simulation.TICKS_PER_SECOND; // Dua menit permainan per sesi
+        int threads = Runtime.getRuntime().availableProcessors();
+        int[] odds = SpawnSettings.DEFAULT.getWeights();
+        int speed = SpawnSettings.DEFAULT.getSpeed();
+        int interval = SpawnSettings.DEFAULT.getIntervalTicks();
+        int burst = SpawnSettings.DEFAULT.getBurst();
+        int aimError = 12;
+        int reactionTicks = 10;
+        long seed = 1;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--sessions": sessions = Integer.parseInt(args[++i]); break;
+                case "--ticks": ticks = Integer.parseInt(args[++i]); break;
+                case "--threads": threads = Integer.parseInt(args[++i]); break;
+                case "--odds": odds = parseOdds(args[++i]); break;
+                case "--speed": speed = Integer.parseInt(args[++i]); break;
+                case "--interval": interval = Integer.parseInt(args[++i]); break;
+                case "--burst": burst = Integer.parseInt(args[++i]); break;
+                case "--aim": aimError = Integer.parseInt(args[++i]); break;
+                case "--reaction": reactionTicks = Integer.parseInt(args[++i]); break;
+                case "--seed": seed = Long.parseLong(args[++i]); break;
+                default:
+                    System.err.println("Argumen tidak dikenal: " + args[i]);
+                    System.exit(2);
+            }
+        }
+
+        SpawnSettings settings = new SpawnSettings(odds, speed, interval, burst);
+        BatchRunner runner = new BatchRunner(settings, sessions, ticks, seed, aimError, reactionTicks);
+        System.out.printf(Locale.ROOT, "%d sesi x %d tick, %d thread, %s, bot aim=%d reaction=%d%n",
+                sessions, ticks, threads, settings, aimError, reactionTicks);
+
+        // Kelas yang dimuat saat pertama dipakai (termasuk event JFR) dimuat sebelum pengukuran
+        new Simulation(seed, settings).spawnBall();
+
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        long start = System.nanoTime();
+        try {
+            pool.invoke(runner.new Sessions(0, sessions));
+        } finally {
+            pool.shutdown();
+        }
+        long elapsed = System.nanoTime() - start;
+        runner.report(elapsed);
+    }
+
+    /**
+     * Memainkan sesi [from, to) dengan satu Simulation dan satu bot yang dipakai ulang.
+     */
+    private void runSessions(int from, int to) {
+        long begin = System.nanoTime();
+        Simulation simulation = new Simulation(baseSeed + from, settings);
+        ScriptedBot bot = new ScriptedBot(0, aimError, reactionTicks);
+        TickInput input = new TickInput();
+        for (int session = from; session < to; session++) {
+            long sessionSeed = baseSeed + session;
+            simulation.reset(sessionSeed);
+            bot.reset(~sessionSeed);
+            input.setMovement(false, false, false, false);
+            input.clearEvents();
+            for (int t = 0; t < ticks; t++) {
+                bot.decide(simulation, input);
+                simulation.step(input);
+                input.clearEvents();
+            }
+            scores[session] = simulation.getScore();
+            counts[session] = simulation.getCount();
+            for (Ball.BallType type : TYPES) {
+                scoredByType[session][type.ordinal()] = simulation.getScoredCount(type);
+            }
+        }
+        long[] stats = workerStats.computeIfAbsent(Thread.currentThread().getName(), name -> new long[2]);
+        stats[0] += (long) (to - from) * ticks;
+        stats[1] += System.nanoTime() - begin;
+    }
+
+    private final class Sessions extends RecursiveAction {
+        private final int from, to;
+
+        Sessions(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= SESSIONS_PER_TASK) {
+                runSessions(from, to);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new Sessions(from, mid), new Sessions(mid, to));
+        }
+    }
+
+    private void report(long elapsedNanos) {
+        int sessions = scores.length;
+        System.out.println();
+        printDistribution("Skor", scores);
+        printDistribution("Count", counts);
+
+        System.out.println();
+        System.out.println("Kristal tercetak per jenis (rata-rata per sesi):");
+        long totalScored = 0;
+        long[] perType = new long[TYPES.length];
+        for (int[] row : scoredByType) {
+            for (int i = 0; i < row.length; i++) {
+                perType[i] += row[i];
+                totalScored += row[i];
+            }
+        }
+        for (Ball.BallType type : TYPES) {
+            long scored = perType[type.ordinal()];
+            System.out.printf(Locale.ROOT, "  %-7s %8.2f  (%5.1f%%, nilai %d)%n", type,
+                    (double) scored / sessions, totalScored == 0 ? 0.0 : 100.0 * scored / totalScored, type.scoreValue);
+        }
+
+        long totalTicks = (long) sessions * ticks;
+        System.out.println();
+        System.out.printf(Locale.ROOT, "Total: %,d tick dalam %.2f s = %,.0f tick/s%n",
+                totalTicks, elapsedNanos / 1e9, totalTicks / (elapsedNanos / 1e9));
+        System.out.println("Per thread worker:");
+        workerStats.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .forEach(e -> System.out.printf(Locale.ROOT, "  %-28s %,12d tick  %,12.0f tick/s%n",
+                        e.getKey(), e.getValue()[0], e.getValue()[0] / (e.getValue()[1] / 1e9)));
+    }
+
+    private static void printDistribution(String label, int[] values) {
+        int[] sorted = values.clone();
+        Arrays.sort(sorted);
+        double sum = 0;
+        for (int v : sorted) sum += v;
+        double mean = sum / sorted.length;
+        double squares = 0;
+        for (int v : sorted) squares += (v - mean) * (v - mean);
+        double stddev = Math.sqrt(squares / sorted.length);
+        System.out.printf(Locale.ROOT,
+                "%-6s min %6d  p10 %6d  p50 %6d  p90 %6d  max %6d  mean %9.2f  stddev %8.2f%n",
+                label, sorted[0], percentile(sorted, 0.10), percentile(sorted, 0.50),
+                percentile(sorted, 0.90), sorted[sorted.length - 1], mean, stddev);
+    }
+
+    private static int percentile(int[] sorted, double p) {
+        int index = (int) Math.ceil(p * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, index))];
+    }
+
+    private static int[] parseOdds(String text) {
+        String[] parts = text.split(",");
+        int[] odds = new int[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            odds[i] = Integer.parseInt(parts[i].trim());
+        }
+        return odds;
+    }
+}
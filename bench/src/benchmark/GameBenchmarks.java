@@ -0,0 +1,241 @@
+package benchmark;
+
+import model.Ball;
+import model.CrystalStore;
+import model.FrameSnapshot;
+import model.Lasso;
+import model.Player;
+import model.DatabaseConnection;
+import model.SchemaMigration;
+import model.ScoreRepository;
+import presenter.Simulation;
+import presenter.TickInput;
+import util.AssetLoader;
+import view.FrameRenderer;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Kumpulan benchmark untuk jalur panas permainan: satu tick simulasi, hit testing lasso,
+ * spawnBall, penyimpanan skor ke database, dan render satu frame penuh ke BufferedImage.
+ *
+ * Cara menjalankan (dari root proyek, setelah src/ dan bench/src/ dikompilasi ke out/):
+ *   java -Djava.awt.headless=true -cp out:mysql-connector-j-9.3.0.jar benchmark.GameBenchmarks [filter] [--quick] [--out file.json]
+ *
+ * Benchmark penyimpanan skor hanya dijalankan jika -Dctc.db.url diisi secara eksplisit
+ * (misalnya H2 embedded dengan MODE=MySQL agar upsert ON DUPLICATE KEY didukung),
+ * agar tidak menulis ke database asli.
+ */
+public class GameBenchmarks {
+    private static final Ball.BallType[] TYPES = Ball.BallType.values();
+
+    public static void main(String[] args) throws Exception {
+        String filter = null;
+        boolean quick = false;
+        Path output = Paths.get("bench-results",
+                "results-" + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")) + ".json");
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals("--quick")) quick = true;
+            else if (args[i].equals("--out")) output = Paths.get(args[++i]);
+            else filter = args[i];
+        }
+
+        Harness harness = quick ? new Harness(1, 2, 200, filter) : new Harness(3, 5, 1000, filter);
+
+        for (int crystals : new int[]{10, 1_000, 100_000}) {
+            benchmarkTick(harness, crystals);
+        }
+        for (int crystals : new int[]{1_000, 100_000}) {
+            benchmarkLassoHit(harness, crystals);
+        }
+        benchmarkSpawnBall(harness);
+        benchmarkSaveScore(harness);
+        for (int crystals : new int[]{10, 1_000}) {
+            benchmarkRenderFrame(harness, crystals);
+        }
+
+        harness.writeJson(output);
+    }
+
+    /**
+     * Satu Simulation.step() dengan populasi kristal yang dijaga tetap,
+     * dan lasso yang ditembakkan secara berkala ke titik acak.
+     */
+    private static void benchmarkTick(Harness harness, int crystalCount) {
+        Simulation simulation = new Simulation(42);
+        TickInput input = new TickInput();
+        Random random = new Random(1);
+        harness.run("tick", "crystals", String.valueOf(crystalCount),
+                () -> {
+                    simulation.reset(42);
+                    fill(simulation.getCrystals(), crystalCount, random);
+                },
+                () -> {
+                    if (simulation.getTick() % 20 == 0) {
+                        input.fireAt(random.nextInt(800), random.nextInt(600));
+                    }
+                    simulation.step(input);
+                    input.clearEvents();
+                    // Ganti kristal yang tertangkap atau hilang agar beban tiap tick tetap sama
+                    fill(simulation.getCrystals(), crystalCount, random);
+                    return simulation.getTick();
+                });
+    }
+
+    /**
+     * Lasso.findHit() terhadap CrystalStore berisi banyak kristal, dengan 64 posisi tali berbeda.
+     */
+    private static void benchmarkLassoHit(Harness harness, int crystalCount) {
+        Random random = new Random(2);
+        CrystalStore crystals = new CrystalStore();
+        fill(crystals, crystalCount, random);
+
+        Lasso[] lassos = new Lasso[64];
+        for (int i = 0; i < lassos.length; i++) {
+            Player player = new Player(random.nextInt(800), random.nextInt(600));
+            lassos[i] = new Lasso(player);
+            lassos[i].activate(random.nextInt(800), random.nextInt(600));
+            int extendTicks = 1 + random.nextInt(40);
+            for (int t = 0; t < extendTicks; t++) {
+                lassos[i].update();
+            }
+        }
+
+        int[] next = {0};
+        harness.run("lassoHit", "crystals", String.valueOf(crystalCount),
+                () -> { },
+                () -> lassos[next[0]++ & 63].findHit(crystals));
+    }
+
+    /**
+     * Simulation.spawnBall(); arena dikosongkan setiap 10.000 kristal agar ukuran tetap wajar.
+     */
+    private static void benchmarkSpawnBall(Harness harness) {
+        Simulation simulation = new Simulation(3);
+        harness.run("spawnBall", null, null,
+                () -> simulation.reset(3),
+                () -> {
+                    simulation.spawnBall();
+                    CrystalStore crystals = simulation.getCrystals();
+                    if (crystals.size() >= 10_000) {
+                        crystals.clear();
+                    }
+                    return crystals.size();
+                });
+    }
+
+    /**
+     * ScoreRepository.accumulateScore() terhadap database yang ditunjuk -Dctc.db.url,
+     * dari satu thread dan dari 8 thread bersamaan yang berebut username yang sama.
+     */
+    private static void benchmarkSaveScore(Harness harness) {
+        if (System.getProperty("ctc.db.url") == null) {
+            System.out.println("saveScore dilewati: isi -Dctc.db.url dengan database embedded untuk menjalankannya.\n");
+            return;
+        }
+        try (Connection conn = DatabaseConnection.getConnection(); Statement stmt = conn.createStatement()) {
+            stmt.execute("CREATE TABLE IF NOT EXISTS thasil (username VARCHAR(255), skor INT, count INT)");
+        } catch (SQLException | RuntimeException e) {
+            System.out.println("saveScore dilewati: database tidak dapat diakses (" + e.getMessage() + ")\n");
+            return;
+        }
+        try {
+            SchemaMigration.migrate();
+        } catch (SQLException e) {
+            System.out.println("saveScore dilewati: migrasi skema gagal (" + e.getMessage() + ")\n");
+            return;
+        }
+
+        String[] usernames = new String[100];
+        for (int i = 0; i < usernames.length; i++) {
+            usernames[i] = "bench-" + i;
+        }
+        int[] next = {0};
+        harness.run("saveScore", "threads", "1",
+                () -> { },
+                () -> {
+                    try {
+                        ScoreRepository.accumulateScore(usernames[next[0]++ % usernames.length], 10, 1);
+                    } catch (SQLException e) {
+                        throw new IllegalStateException(e);
+                    }
+                    return next[0];
+                });
+
+        // Satu operasi = 8 penyimpanan paralel ke 4 username, sehingga baris yang sama diperebutkan
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Callable<Void>> saves = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            String username = usernames[i % 4];
+            saves.add(() -> {
+                ScoreRepository.accumulateScore(username, 10, 1);
+                return null;
+            });
+        }
+        try {
+            harness.run("saveScore", "threads", String.valueOf(threads),
+                    () -> { },
+                    () -> {
+                        try {
+                            for (Future<Void> save : executor.invokeAll(saves)) {
+                                save.get();
+                            }
+                        } catch (Exception e) {
+                            throw new IllegalStateException(e);
+                        }
+                        return saves.size();
+                    });
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * FrameRenderer.render() untuk satu frame penuh 800x600 ke BufferedImage di luar layar.
+     */
+    private static void benchmarkRenderFrame(Harness harness, int crystalCount) {
+        if (AssetLoader.atlas == null) {
+            AssetLoader.loadImages();
+        }
+        Simulation simulation = new Simulation(4);
+        fill(simulation.getCrystals(), crystalCount, new Random(4));
+        FrameSnapshot frame = new FrameSnapshot();
+        simulation.writeSnapshot(frame);
+
+        FrameRenderer renderer = new FrameRenderer();
+        BufferedImage image = new BufferedImage(800, 600, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g2d = image.createGraphics();
+        harness.run("renderFrame", "crystals", String.valueOf(crystalCount),
+                () -> { },
+                () -> {
+                    renderer.render(g2d, frame, 800, 600);
+                    return image.getRGB(400, 300);
+                });
+    }
+
+    /**
+     * Mengisi penyimpanan sampai berisi tepat target kristal dengan posisi dan tipe acak.
+     */
+    private static void fill(CrystalStore crystals, int target, Random random) {
+        while (crystals.size() < target) {
+            crystals.add(random.nextInt(800), random.nextInt(550), random.nextBoolean() ? 2 : -2,
+                    TYPES[random.nextInt(TYPES.length)]);
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package benchmark;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.LongSupplier;
+
+/**
+ * Harness benchmark mikro sederhana bergaya JMH: setiap benchmark menjalani beberapa
+ * iterasi pemanasan lalu beberapa iterasi pengukuran berdurasi tetap, dan hasilnya
+ * (rata-rata waktu per operasi) ditulis sebagai JSON dengan format yang sama seperti
+ * keluaran JMH ("-rf json"), sehingga bisa dibandingkan antar commit dengan alat JMH yang ada.
+ */
+public class Harness {
+    private final int warmupIterations;
+    private final int measurementIterations;
+    private final long iterationNanos;
+    private final String filter;
+    private final List<Result> results = new ArrayList<>();
+
+    // Penampung hasil operasi agar JIT tidak menghapus kode yang diukur (pengganti Blackhole)
+    private static volatile long sink;
+
+    /**
+     * @param warmupIterations Jumlah iterasi pemanasan.
+     * @param measurementIterations Jumlah iterasi pengukuran.
+     * @param iterationMillis Durasi setiap iterasi dalam milidetik.
+     * @param filter Hanya benchmark yang namanya mengandung teks ini yang dijalankan (null = semua).
+     */
+    public Harness(int warmupIterations, int measurementIterations, long iterationMillis, String filter) {
+        this.warmupIterations = warmupIterations;
+        this.measurementIterations = measurementIterations;
+        this.iterationNanos = iterationMillis * 1_000_000L;
+        this.filter = filter;
+    }
+
+    /**
+     * Menjalankan satu benchmark.
+     * @param name Nama benchmark.
+     * @param paramName Nama parameter (null jika tidak ada).
+     * @param paramValue Nilai parameter.
+     * @param iterationSetup Dipanggil sebelum setiap iterasi, di luar waktu yang diukur.
+     * @param operation Operasi yang diukur; nilai kembaliannya dikonsumsi agar tidak dihapus JIT.
+     */
+    public void run(String name, String paramName, String paramValue, Runnable iterationSetup, LongSupplier operation) {
+        if (filter != null && !name.contains(filter)) return;
+
+        String label = paramName == null ? name : name + " (" + paramName + "=" + paramValue + ")";
+        double[] scores = new double[measurementIterations];
+        for (int i = 0; i < warmupIterations; i++) {
+            iterationSetup.run();
+            double score = measureIteration(operation);
+            System.out.printf(Locale.ROOT, "%-45s warmup %d: %,.1f ns/op%n", label, i + 1, score);
+        }
+        for (int i = 0; i < measurementIterations; i++) {
+            iterationSetup.run();
+            scores[i] = measureIteration(operation);
+            System.out.printf(Locale.ROOT, "%-45s iter   %d: %,.1f ns/op%n", label, i + 1, scores[i]);
+        }
+
+        Result result = new Result(name, paramName, paramValue, scores);
+        results.add(result);
+        System.out.printf(Locale.ROOT, "%-45s hasil: %,.1f +/- %,.1f ns/op%n%n", label, result.mean(), result.error());
+    }
+
+    /**
+     * Menjalankan operasi berulang kali selama satu iterasi. Operasi dijalankan dalam batch
+     * yang ukurannya berlipat ganda agar biaya System.nanoTime() tidak ikut terukur.
+     * @return Rata-rata nanodetik per operasi.
+     */
+    private double measureIteration(LongSupplier operation) {
+        long operations = 0;
+        long elapsed = 0;
+        long batch = 1;
+        long accumulator = 0;
+        while (elapsed < iterationNanos) {
+            long start = System.nanoTime();
+            for (long i = 0; i < batch; i++) {
+                accumulator ^= operation.getAsLong();
+            }
+            long duration = System.nanoTime() - start;
+            elapsed += duration;
+            operations += batch;
+            if (duration < 1_000_000L) {
+                batch *= 2;
+            }
+        }
+        sink ^= accumulator;
+        return (double) elapsed / operations;
+    }
+
+    /**
+     * Menulis semua hasil ke file JSON berformat JMH.
+     * @param file Lokasi file keluaran.
+     */
+    public void writeJson(Path file) throws IOException {
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        try (Writer out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            out.write("[\n");
+            for (int i = 0; i < results.size(); i++) {
+                results.get(i).writeJson(out, warmupIterations, measurementIterations, iterationNanos / 1_000_000L);
+                out.write(i < results.size() - 1 ? ",\n" : "\n");
+            }
+            out.write("]\n");
+        }
+        System.out.println("Hasil benchmark ditulis ke " + file.toAbsolutePath());
+    }
+
+    private static final class Result {
+        private final String name, paramName, paramValue;
+        private final double[] scores;
+
+        Result(String name, String paramName, String paramValue, double[] scores) {
+            this.name = name;
+            this.paramName = paramName;
+            this.paramValue = paramValue;
+            this.scores = scores;
+        }
+
+        double mean() {
+            double sum = 0;
+            for (double score : scores) sum += score;
+            return sum / scores.length;
+        }
+
+        /**
+         * Setengah lebar selang kepercayaan ~99.9% (z = 3.29), mendekati scoreError JMH.
+         */
+        double error() {
+            if (scores.length < 2) return Double.NaN;
+            double mean = mean();
+            double variance = 0;
+            for (double score : scores) variance += (score - mean) * (score - mean);
+            variance /= scores.length - 1;
+            return 3.29 * Math.sqrt(variance / scores.length);
+        }
+
+        void writeJson(Writer out, int warmup, int measurement, long iterationMillis) throws IOException {
+            StringBuilder raw = new StringBuilder();
+            for (int i = 0; i < scores.length; i++) {
+                if (i > 0) raw.append(", ");
+                raw.append(String.format(Locale.ROOT, "%.3f", scores[i]));
+            }
+            double error = error();
+            out.write("  {\n");
+            out.write("    \"jmhVersion\": \"harness\",\n");
+            out.write("    \"benchmark\": \"benchmark.GameBenchmarks." + name + "\",\n");
+            out.write("    \"mode\": \"avgt\",\n");
+            out.write("    \"threads\": 1,\n");
+            out.write("    \"forks\": 1,\n");
+            out.write("    \"jdkVersion\": \"" + System.getProperty("java.version") + "\",\n");
+            out.write("    \"warmupIterations\": " + warmup + ",\n");
+            out.write("    \"warmupTime\": \"" + iterationMillis + " ms\",\n");
+            out.write("    \"measurementIterations\": " + measurement + ",\n");
+            out.write("    \"measurementTime\": \"" + iterationMillis + " ms\",\n");
+            if (paramName != null) {
+                out.write("    \"params\": {\n      \"" + paramName + "\": \"" + paramValue + "\"\n    },\n");
+            }
+            out.write("    \"primaryMetric\": {\n");
+            out.write(String.format(Locale.ROOT, "      \"score\": %.3f,%n", mean()));
+            out.write("      \"scoreError\": " + (Double.isNaN(error) ? "\"NaN\"" : String.format(Locale.ROOT, "%.3f", error)) + ",\n");
+            out.write("      \"scoreUnit\": \"ns/op\",\n");
+            out.write("      \"rawData\": [[" + raw + "]]\n");
+            out.write("    }\n");
+            out.write("  }");
+        }
+    }
+}
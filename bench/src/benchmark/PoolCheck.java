@@ -0,0 +1,271 @@
+package benchmark;
+
+import model.DatabaseConnection;
+import model.PoolStats;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Kelas PoolCheck memeriksa perilaku pool koneksi {@link DatabaseConnection} terhadap database
+ * embedded (H2/Derby): pinjam dan kembalikan, menunggu dan timeout saat pool penuh, transaksi
+ * yang tertinggal, pemakaian handle setelah close(), peminjaman statement dari cache, dan
+ * penutupan koneksi menganggur oleh evictor. Setiap pemeriksaan mencetak OK atau GAGAL.
+ *
+ * Ukuran pool, batas tunggu, dan batas idle diperkecil (2 koneksi, 300 ms, 500 ms) kecuali
+ * diisi sendiri lewat -Dctc.db.pool.*. Hanya berjalan jika -Dctc.db.url diisi secara eksplisit,
+ * agar tidak menyentuh database asli.
+ *
+ * Cara menjalankan (dari root proyek, setelah src/ dan bench/src/ dikompilasi ke out/):
+ *   java -Dctc.db.url=jdbc:h2:mem:poolcheck -cp out:h2.jar benchmark.PoolCheck
+ * Kode keluar 1 jika ada pemeriksaan yang gagal.
+ */
+public class PoolCheck {
+    private static final String TABLE = "pool_check";
+
+    private int failures;
+
+    public static void main(String[] args) throws Exception {
+        if (System.getProperty("ctc.db.url") == null) {
+            System.err.println("Isi -Dctc.db.url dengan database embedded, misalnya jdbc:h2:mem:poolcheck");
+            System.exit(2);
+        }
+        // Harus diisi sebelum DatabaseConnection dimuat, karena dibaca sekali di inisialisasi kelas
+        setDefault("ctc.db.pool.size", "2");
+        setDefault("ctc.db.pool.timeoutMs", "300");
+        setDefault("ctc.db.pool.idleMs", "500");
+
+        PoolCheck check = new PoolCheck();
+        try {
+            check.run();
+            System.out.println(DatabaseConnection.getPoolStats());
+        } finally {
+            DatabaseConnection.shutdown();
+        }
+        if (check.failures > 0) {
+            System.out.println(check.failures + " pemeriksaan gagal");
+            System.exit(1);
+        }
+        System.out.println("Semua pemeriksaan pool lolos");
+    }
+
+    private static void setDefault(String key, String value) {
+        if (System.getProperty(key) == null) System.setProperty(key, value);
+    }
+
+    private void run() throws Exception {
+        int size = Integer.getInteger("ctc.db.pool.size");
+        long timeoutMs = Long.getLong("ctc.db.pool.timeoutMs");
+        long idleMs = Long.getLong("ctc.db.pool.idleMs");
+
+        try (Connection conn = DatabaseConnection.getConnection(); Statement stmt = conn.createStatement()) {
+            try {
+                stmt.execute("DROP TABLE " + TABLE);
+            } catch (SQLException e) {
+                // Belum ada dari pemeriksaan sebelumnya
+            }
+            stmt.execute("CREATE TABLE " + TABLE + " (id INT, name VARCHAR(32))");
+            stmt.execute("INSERT INTO " + TABLE + " VALUES (1, 'satu')");
+            stmt.execute("INSERT INTO " + TABLE + " VALUES (2, 'dua')");
+        }
+
+        checkBorrowAndReturn(size);
+        checkWaitForReturn(size);
+        checkTimeout(size, timeoutMs);
+        checkHandleAfterClose();
+        checkAbandonedTransaction();
+        checkStatementLeases();
+
+        // Dihapus sebelum eviction: database in-memory ikut hilang saat koneksi terakhirnya ditutup
+        try (Connection conn = DatabaseConnection.getConnection(); Statement stmt = conn.createStatement()) {
+            stmt.execute("DROP TABLE " + TABLE);
+        }
+        checkEviction(size, idleMs);
+    }
+
+    private void checkBorrowAndReturn(int size) throws SQLException {
+        List<Connection> borrowed = borrowAll(size);
+        PoolStats full = DatabaseConnection.getPoolStats();
+        expect("pinjam " + size + " koneksi", full.getActive() == size && full.getIdle() == 0,
+                "active=" + full.getActive() + " idle=" + full.getIdle());
+        closeAll(borrowed);
+        PoolStats returned = DatabaseConnection.getPoolStats();
+        expect("kembalikan ke pool", returned.getActive() == 0 && returned.getIdle() == size,
+                "active=" + returned.getActive() + " idle=" + returned.getIdle());
+        expect("koneksi fisik tidak melebihi ukuran pool", returned.getCreatedCount() <= size,
+                "created=" + returned.getCreatedCount());
+    }
+
+    private void checkWaitForReturn(int size) throws Exception {
+        List<Connection> borrowed = borrowAll(size);
+        long waitsBefore = DatabaseConnection.getPoolStats().getWaitCount();
+        Connection first = borrowed.remove(0);
+        Thread releaser = new Thread(() -> {
+            sleep(100);
+            close(first);
+        }, "pool-check-release");
+        releaser.start();
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            expect("menunggu koneksi yang dikembalikan thread lain",
+                    DatabaseConnection.getPoolStats().getWaitCount() == waitsBefore + 1 && !conn.isClosed(), "");
+        } finally {
+            releaser.join();
+            closeAll(borrowed);
+        }
+    }
+
+    private void checkTimeout(int size, long timeoutMs) {
+        List<Connection> borrowed = borrowAll(size);
+        long start = System.nanoTime();
+        try (Connection extra = DatabaseConnection.getConnection()) {
+            expect("timeout saat pool penuh", false, "koneksi ke-" + (size + 1) + " tetap diberikan");
+        } catch (SQLException | RuntimeException e) {
+            long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            expect("timeout saat pool penuh",
+                    e.getCause() instanceof SQLTransientConnectionException && elapsedMs >= timeoutMs * 8 / 10,
+                    e + " setelah " + elapsedMs + " ms");
+        } finally {
+            closeAll(borrowed);
+        }
+        expect("slot kembali setelah timeout", DatabaseConnection.getPoolStats().getActive() == 0, "");
+    }
+
+    private void checkHandleAfterClose() throws SQLException {
+        Connection conn = DatabaseConnection.getConnection();
+        conn.close();
+        conn.close(); // close() ganda tidak boleh mengembalikan koneksi dua kali
+        PoolStats stats = DatabaseConnection.getPoolStats();
+        expect("close() ganda", stats.getActive() == 0, "active=" + stats.getActive());
+        try {
+            conn.createStatement();
+            expect("handle tidak bisa dipakai setelah close()", false, "createStatement() berhasil");
+        } catch (SQLException e) {
+            expect("handle tidak bisa dipakai setelah close()", conn.isClosed(), "");
+        }
+    }
+
+    private void checkAbandonedTransaction() throws SQLException {
+        try (Connection conn = DatabaseConnection.getConnection(); Statement stmt = conn.createStatement()) {
+            conn.setAutoCommit(false);
+            stmt.execute("INSERT INTO " + TABLE + " VALUES (99, 'tertinggal')");
+            // Dikembalikan tanpa commit maupun rollback
+        }
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement("SELECT COUNT(*) FROM " + TABLE + " WHERE id = ?")) {
+            stmt.setInt(1, 99);
+            try (ResultSet rs = stmt.executeQuery()) {
+                rs.next();
+                expect("transaksi tertinggal dibatalkan pool", conn.getAutoCommit() && rs.getInt(1) == 0,
+                        "autoCommit=" + conn.getAutoCommit() + " baris=" + rs.getInt(1));
+            }
+        }
+    }
+
+    private void checkStatementLeases() throws SQLException {
+        String sql = "SELECT name FROM " + TABLE + " WHERE id = ?";
+        PreparedStatement stale;
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            PreparedStatement first = conn.prepareStatement(sql);
+            PreparedStatement second = conn.prepareStatement(sql);
+            expect("SQL sama dua kali dalam satu peminjaman memberi statement berbeda", first != second, "");
+            first.setInt(1, 1);
+            second.setInt(1, 2);
+            try (ResultSet a = first.executeQuery(); ResultSet b = second.executeQuery()) {
+                a.next();
+                b.next();
+                String nameA = a.getString(1), nameB = b.getString(1);
+                expect("parameter tidak saling menimpa", "satu".equals(nameA) && "dua".equals(nameB),
+                        nameA + ", " + nameB);
+            }
+            expect("getConnection() statement mengembalikan handle",
+                    first.getConnection() == conn && conn.createStatement().getConnection() == conn, "");
+            second.close();
+            stale = first; // Sengaja tidak ditutup; ditutup bersama koneksinya
+        }
+        try {
+            stale.setInt(1, 1);
+            expect("statement tidak bisa dipakai setelah koneksinya dikembalikan", false, "setInt() berhasil");
+        } catch (SQLException e) {
+            expect("statement tidak bisa dipakai setelah koneksinya dikembalikan", stale.isClosed(), "");
+        }
+
+        long hitsBefore = DatabaseConnection.getPoolStats().getStatementHits();
+        try (Connection conn = DatabaseConnection.getConnection(); PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setInt(1, 2);
+            try (ResultSet rs = stmt.executeQuery()) {
+                expect("statement dari cache dipakai ulang dengan bersih",
+                        rs.next() && "dua".equals(rs.getString(1)), "");
+            }
+        }
+        // Koneksi yang dipinjam bisa saja koneksi lain di pool yang belum punya statement ini
+        long hits = DatabaseConnection.getPoolStats().getStatementHits() - hitsBefore;
+        System.out.println("      (cache hit pada peminjaman berikutnya: " + hits + ")");
+    }
+
+    private void checkEviction(int size, long idleMs) {
+        closeAll(borrowAll(size)); // Semua koneksi menganggur mulai sekarang
+        long evictedBefore = DatabaseConnection.getPoolStats().getEvictedCount();
+        // Evictor berjalan setiap max(1 s, idle / 2)
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(idleMs + Math.max(1_000L, idleMs / 2) * 2 + 500);
+        PoolStats stats = DatabaseConnection.getPoolStats();
+        while (stats.getIdle() > 0 && System.nanoTime() < deadline) {
+            sleep(50);
+            stats = DatabaseConnection.getPoolStats();
+        }
+        expect("koneksi menganggur ditutup evictor",
+                stats.getIdle() == 0 && stats.getEvictedCount() - evictedBefore == size,
+                "idle=" + stats.getIdle() + " evicted=" + (stats.getEvictedCount() - evictedBefore));
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            expect("koneksi baru dibuat setelah eviction", !conn.isClosed(), "");
+        } catch (SQLException | RuntimeException e) {
+            expect("koneksi baru dibuat setelah eviction", false, e.toString());
+        }
+    }
+
+    private static List<Connection> borrowAll(int size) {
+        List<Connection> borrowed = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            borrowed.add(DatabaseConnection.getConnection());
+        }
+        return borrowed;
+    }
+
+    private static void closeAll(List<Connection> borrowed) {
+        for (Connection conn : borrowed) {
+            close(conn);
+        }
+        borrowed.clear();
+    }
+
+    private static void close(Connection conn) {
+        try {
+            conn.close();
+        } catch (SQLException e) {
+            System.err.println("Gagal mengembalikan koneksi: " + e.getMessage());
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void expect(String name, boolean ok, String detail) {
+        if (ok) {
+            System.out.println("OK    " + name);
+        } else {
+            failures++;
+            System.out.println("GAGAL " + name + (detail.isEmpty() ? "" : ": " + detail));
+        }
+    }
+}
@@ -1,14 +1,26 @@
+import model.SchemaMigration;
+import model.ScoreSink;
+import presenter.GamePresenter;
+import view.GameCanvas;
 import view.GamePanel;
 import view.MainMenuPanel;
 import util.AssetLoader; // TAMBAHKAN IMPORT INI
-import view.GamePanel;
 import javax.swing.*;
 import java.awt.*;
+import java.util.Arrays;
 
 public class CollectTheSkillBallsGame {
 
     public static void main(String[] args) {
+        // Backend render dipilih saat startup: "--active" memakai Canvas + BufferStrategy
+        // yang digambar dari game thread, selain itu memakai GamePanel (repaint pasif).
+        boolean activeRendering = Arrays.asList(args).contains("--active");
+
         AssetLoader.loadImages();
+        // Pastikan skema skor (unique key username, index skor) siap tanpa menahan startup
+        SchemaMigration.migrateInBackground();
+        // Worker penyimpanan skor; sisa journal dari sesi sebelumnya diputar ulang di sini
+        ScoreSink.getDefault().start();
         // Menjalankan pembuatan GUI di Event Dispatch Thread (EDT) untuk keamanan thread Swing
         SwingUtilities.invokeLater(() -> {
             JFrame frame = new JFrame("Collect The Skill Balls - MVP & Thread");
@@ -21,16 +33,29 @@ public class CollectTheSkillBallsGame {
             CardLayout cardLayout = new CardLayout();
             JPanel mainPanel = new JPanel(cardLayout);
 
-            // Inisialisasi semua panel View
-            GamePanel gamePanel = new GamePanel(mainPanel, cardLayout);
+            // Inisialisasi semua panel View sesuai backend render yang dipilih
+            Component gameView;
+            GamePresenter gamePresenter;
+            if (activeRendering) {
+                GameCanvas gameCanvas = new GameCanvas(mainPanel, cardLayout);
+                gameView = gameCanvas;
+                gamePresenter = gameCanvas.getPresenter();
+            } else {
+                GamePanel gamePanel = new GamePanel(mainPanel, cardLayout);
+                gameView = gamePanel;
+                gamePresenter = gamePanel.getPresenter();
+            }
             
+            // Metrik permainan dapat dibaca lewat JMX (JConsole/VisualVM) sebagai ctc:type=GameMetrics
+            gamePresenter.getMetrics().register();
+
             // INI ADALAH BARIS YANG DIPERBAIKI:
             // Konstruktor MainMenuPanel dipanggil dengan 3 argumen yang benar.
-            MainMenuPanel mainMenuPanel = new MainMenuPanel(mainPanel, cardLayout, gamePanel.getPresenter());
+            MainMenuPanel mainMenuPanel = new MainMenuPanel(mainPanel, cardLayout, gamePresenter);
 
             // Menambahkan panel-panel ke dalam container CardLayout dengan nama unik
             mainPanel.add(mainMenuPanel, "MENU");
-            mainPanel.add(gamePanel, "GAME");
+            mainPanel.add(gameView, "GAME");
 
             // Menambahkan container utama ke frame dan menampilkannya
             frame.add(mainPanel);
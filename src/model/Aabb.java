@@ -0,0 +1,103 @@
+package model;
+
+/**
+ * Kelas Aabb adalah kotak deteksi tabrakan (axis-aligned bounding box) yang bisa diubah,
+ * disimpan sebagai batas kiri/atas/kanan/bawah primitif.
+ * Objek ini dipakai ulang oleh Ball, Player, dan Basket sehingga pengecekan tabrakan
+ * setiap tick tidak membuat objek Rectangle baru.
+ * Semantiknya sama dengan java.awt.Rectangle: tepi kanan/bawah = x + width / y + height.
+ */
+public final class Aabb {
+    // Kode posisi titik relatif terhadap kotak (untuk kliping segmen)
+    private static final int OUT_LEFT = 1;
+    private static final int OUT_TOP = 2;
+    private static final int OUT_RIGHT = 4;
+    private static final int OUT_BOTTOM = 8;
+
+    private int minX, minY, maxX, maxY;
+
+    /**
+     * Mengatur kotak agar berpusat di (centerX, centerY).
+     * @param centerX Posisi x pusat.
+     * @param centerY Posisi y pusat.
+     * @param width Lebar kotak.
+     * @param height Tinggi kotak.
+     */
+    public void setCentered(int centerX, int centerY, int width, int height) {
+        this.minX = centerX - width / 2;
+        this.minY = centerY - height / 2;
+        this.maxX = minX + width;
+        this.maxY = minY + height;
+    }
+
+    /**
+     * Mengatur kotak dari sudut kiri atas dan ukurannya.
+     */
+    public void set(int x, int y, int width, int height) {
+        this.minX = x;
+        this.minY = y;
+        this.maxX = x + width;
+        this.maxY = y + height;
+    }
+
+    /**
+     * Mengecek apakah kotak ini bertumpang tindih dengan kotak lain.
+     * @param other Kotak lain.
+     * @return true jika bertumpang tindih.
+     */
+    public boolean intersects(Aabb other) {
+        return minX < other.maxX && other.minX < maxX && minY < other.maxY && other.minY < maxY;
+    }
+
+    /**
+     * Mengecek apakah segmen garis (x1,y1)-(x2,y2) menyentuh kotak ini.
+     */
+    public boolean intersectsSegment(int x1, int y1, int x2, int y2) {
+        return segmentIntersects(minX, minY, maxX, maxY, x1, y1, x2, y2);
+    }
+
+    /**
+     * Uji segmen terhadap kotak tanpa objek, dengan algoritma kliping outcode yang sama
+     * seperti Rectangle.intersectsLine (tepi kotak dianggap bagian dari kotak).
+     * Dipakai langsung untuk kristal di CrystalStore yang tidak punya objek Aabb sendiri.
+     */
+    public static boolean segmentIntersects(int minX, int minY, int maxX, int maxY,
+                                            double x1, double y1, double x2, double y2) {
+        if (maxX <= minX || maxY <= minY) return false;
+
+        int out2 = outcode(minX, minY, maxX, maxY, x2, y2);
+        if (out2 == 0) return true;
+
+        int out1;
+        while ((out1 = outcode(minX, minY, maxX, maxY, x1, y1)) != 0) {
+            if ((out1 & out2) != 0) return false;
+            if ((out1 & (OUT_LEFT | OUT_RIGHT)) != 0) {
+                double edgeX = (out1 & OUT_RIGHT) != 0 ? maxX : minX;
+                y1 = y1 + (edgeX - x1) * (y2 - y1) / (x2 - x1);
+                x1 = edgeX;
+            } else {
+                double edgeY = (out1 & OUT_BOTTOM) != 0 ? maxY : minY;
+                x1 = x1 + (edgeY - y1) * (x2 - x1) / (y2 - y1);
+                y1 = edgeY;
+            }
+        }
+        return true;
+    }
+
+    private static int outcode(int minX, int minY, int maxX, int maxY, double px, double py) {
+        int out = 0;
+        if (px < minX) out |= OUT_LEFT;
+        else if (px > maxX) out |= OUT_RIGHT;
+        if (py < minY) out |= OUT_TOP;
+        else if (py > maxY) out |= OUT_BOTTOM;
+        return out;
+    }
+
+    // --- Getter batas kotak ---
+    public int getMinX() { return minX; }
+    public int getMinY() { return minY; }
+    public int getMaxX() { return maxX; }
+    public int getMaxY() { return maxY; }
+    public int getWidth() { return maxX - minX; }
+    public int getHeight() { return maxY - minY; }
+}
@@ -23,10 +23,18 @@ public class Ball {
     }
 
     private int x, y, speedX, score;
+    // Sisa sub-piksel (16.16) dari gerakan follow(), relatif terhadap (x, y)
+    private int subX, subY;
+    private static final int FOLLOW_SPEED = 4;
     private boolean caught = false;
     private BallType type;
-    private final int width = 38; 
-    private final int height = 60;
+    // Ukuran hitbox kristal, juga dipakai oleh CrystalStore dan Lasso
+    public static final int WIDTH = 38;
+    public static final int HEIGHT = 60;
+    private final int width = WIDTH;
+    private final int height = HEIGHT;
+    // Hitbox yang selalu mengikuti posisi bola, dipakai ulang tanpa alokasi
+    private final Aabb hitbox = new Aabb();
 
     public Ball(int x, int y, int speedX, BallType type) {
         this.x = x;
@@ -34,6 +42,22 @@ public class Ball {
         this.speedX = speedX;
         this.type = type;
         this.score = type.scoreValue; // Skor berdasarkan jenis bola
+        updateHitbox();
+    }
+
+    /**
+     * Mengisi ulang bola yang diambil dari {@link BallPool} seolah-olah baru dibuat.
+     */
+    void reinitialize(int x, int y, int speedX, BallType type) {
+        this.x = x;
+        this.y = y;
+        this.speedX = speedX;
+        this.type = type;
+        this.score = type.scoreValue;
+        this.caught = false;
+        this.subX = 0;
+        this.subY = 0;
+        updateHitbox();
     }
 
     public BallType getType() {
@@ -47,6 +71,7 @@ public class Ball {
     public void move() {
         if (!caught) {
             x += speedX;
+            updateHitbox();
         }
     }
     
@@ -57,9 +82,24 @@ public class Ball {
      * @param targetY Posisi y target.
      */
     public void follow(int targetX, int targetY) {
-        double angle = Math.atan2(targetY - y, targetX - x);
-        x += (int)(4 * Math.cos(angle));
-        y += (int)(4 * Math.sin(angle));
+        int fx = Fixed.fromInt(x) + subX;
+        int fy = Fixed.fromInt(y) + subY;
+        int dx = Fixed.fromInt(targetX) - fx;
+        int dy = Fixed.fromInt(targetY) - fy;
+        int length = Fixed.length(dx, dy);
+        if (length <= Fixed.fromInt(FOLLOW_SPEED)) {
+            // Sudah cukup dekat: langsung di target, tanpa bergetar melewatinya
+            fx += dx;
+            fy += dy;
+        } else {
+            fx += Fixed.scale(dx, length, FOLLOW_SPEED);
+            fy += Fixed.scale(dy, length, FOLLOW_SPEED);
+        }
+        x = Fixed.round(fx);
+        y = Fixed.round(fy);
+        subX = fx - Fixed.fromInt(x);
+        subY = fy - Fixed.fromInt(y);
+        updateHitbox();
     }
     
     /**
@@ -74,8 +114,21 @@ public class Ball {
         g2d.drawString(String.valueOf(score), x + 1, y - 2);
     }
 
+    private void updateHitbox() {
+        hitbox.setCentered(x, y, width, height);
+    }
+
+    /**
+     * Hitbox bebas alokasi yang dipakai untuk deteksi tabrakan setiap tick.
+     * @return Objek Aabb milik bola ini (jangan diubah dari luar).
+     */
+    public Aabb getHitbox() {
+        return hitbox;
+    }
+
     /**
      * Menghasilkan kotak deteksi tabrakan (hitbox) yang akurat dan berpusat.
+     * Membuat objek baru setiap dipanggil, jadi hanya untuk menggambar hitbox saat debugging.
      * @return Objek Rectangle untuk deteksi tabrakan.
      */
 
@@ -99,6 +152,9 @@ public class Ball {
     public void setPosition(int x, int y) {
         this.x = x;
         this.y = y;
+        this.subX = 0;
+        this.subY = 0;
+        updateHitbox();
     }
     
     public int getScore() { 
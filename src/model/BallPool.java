@@ -0,0 +1,50 @@
+package model;
+
+import java.util.Arrays;
+
+/**
+ * Kelas BallPool menyimpan objek Ball yang sudah tidak dipakai agar bisa dipakai ulang.
+ * Bola diambil saat kristal ditangkap lasso dan dikembalikan saat skornya dicatat
+ * di keranjang (atau saat sesi di-reset), sehingga sesi panjang tidak terus membuat
+ * objek baru untuk garbage collector.
+ */
+public class BallPool {
+    private Ball[] free = new Ball[4];
+    private int freeCount = 0;
+    private int created = 0;
+
+    /**
+     * Mengambil bola dari pool (atau membuat yang baru jika pool kosong) dan mengisinya.
+     * @param x Posisi x pusat.
+     * @param y Posisi y pusat.
+     * @param speedX Kecepatan horizontal.
+     * @param type Jenis kristal.
+     * @return Bola siap pakai.
+     */
+    public Ball acquire(int x, int y, int speedX, Ball.BallType type) {
+        if (freeCount == 0) {
+            created++;
+            return new Ball(x, y, speedX, type);
+        }
+        Ball ball = free[--freeCount];
+        free[freeCount] = null;
+        ball.reinitialize(x, y, speedX, type);
+        return ball;
+    }
+
+    /**
+     * Mengembalikan bola ke pool. Bola tidak boleh dipakai lagi oleh pemanggil.
+     * @param ball Bola yang dikembalikan (null diabaikan).
+     */
+    public void release(Ball ball) {
+        if (ball == null) return;
+        if (freeCount == free.length) {
+            free = Arrays.copyOf(free, free.length * 2);
+        }
+        free[freeCount++] = ball;
+    }
+
+    // --- Getter untuk statistik pool ---
+    public int getFreeCount() { return freeCount; }
+    public int getCreatedCount() { return created; }
+}
@@ -9,6 +9,8 @@ import java.awt.Rectangle;
 public class Basket {
     // Variabel untuk menyimpan posisi PUSAT dan ukuran keranjang
     private final int x, y, width, height;
+    // Keranjang tidak bergerak, jadi hitbox cukup dihitung sekali
+    private final Aabb hitbox = new Aabb();
 
     /**
      * Konstruktor untuk Basket.
@@ -22,11 +24,21 @@ public class Basket {
         this.y = y;
         this.width = width;
         this.height = height;
+        this.hitbox.set(x - width / 2 + 17, y - height / 2, width, height);
+    }
+
+    /**
+     * Hitbox bebas alokasi yang dipakai untuk deteksi tabrakan setiap tick.
+     * @return Objek Aabb milik keranjang ini (jangan diubah dari luar).
+     */
+    public Aabb getHitbox() {
+        return hitbox;
     }
 
     /**
      * Menghasilkan kotak deteksi tabrakan (hitbox) yang akurat.
      * Dihitung dari titik pusat (x, y) agar sesuai dengan gambar yang ditampilkan.
+     * Membuat objek baru setiap dipanggil, jadi hanya untuk menggambar hitbox saat debugging.
      * @return Objek Rectangle untuk deteksi tabrakan.
      */
     public Rectangle getBounds() {
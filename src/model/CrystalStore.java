@@ -0,0 +1,280 @@
+package model;
+
+import java.util.Arrays;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Kelas CrystalStore menyimpan semua kristal yang masih bebas dalam bentuk
+ * structure-of-arrays: setiap atribut (x, y, kecepatan, tipe) berada di array primitif
+ * tersendiri dan kristal ke-i menempati slot i pada semua array tersebut.
+ * Slot selalu padat (0..size-1): penghapusan memindahkan slot terakhir ke slot yang kosong.
+ * Setiap kristal juga punya id stabil (didaur ulang lewat free list) yang dipakai oleh SpatialGrid.
+ *
+ * Untuk populasi sangat besar (uji beban), lintasan gerak dibagi ke ForkJoinPool dalam potongan
+ * tetap berukuran {@link #CHUNK_SIZE}. Di bawah {@link #PARALLEL_THRESHOLD} kristal semuanya tetap
+ * serial, sehingga sesi biasa tidak menanggung biaya apa pun.
+ */
+public class CrystalStore {
+    private static final Ball.BallType[] TYPES = Ball.BallType.values();
+    private static final int INITIAL_CAPACITY = 64;
+
+    // Atribut per slot
+    private int[] x = new int[INITIAL_CAPACITY];
+    private int[] y = new int[INITIAL_CAPACITY];
+    private int[] speedX = new int[INITIAL_CAPACITY];
+    private int[] type = new int[INITIAL_CAPACITY];
+    private int[] id = new int[INITIAL_CAPACITY];
+    private int[] cell = new int[INITIAL_CAPACITY];
+    private long[] sequence = new long[INITIAL_CAPACITY]; // Urutan kemunculan (spawn order)
+    private int size = 0;
+
+    // Pemetaan id -> slot dan daftar id bebas yang bisa dipakai ulang
+    private int[] slotOfId = new int[INITIAL_CAPACITY];
+    private int[] freeIds = new int[INITIAL_CAPACITY];
+    private int freeCount = 0;
+    private int nextId = 0;
+    private long nextSequence = 0;
+
+    private final SpatialGrid grid = new SpatialGrid();
+
+    // Jumlah kristal minimum sebelum lintasan dibagi paralel (-Dctc.parallel.threshold), dan ukuran
+    // potongan yang tetap sehingga pembagian kerja tidak bergantung pada jumlah thread
+    public static final int PARALLEL_THRESHOLD = Integer.getInteger("ctc.parallel.threshold", 8192);
+    public static final int CHUNK_SIZE = 4096;
+    private static final int REMOVED = -1;
+    // Kejadian per potongan dari lintasan gerak paralel: pasangan (slot, sel baru atau REMOVED)
+    private int[][] chunkEvents = new int[0][];
+    private int[] chunkEventCounts = new int[0];
+
+    /**
+     * Menambahkan kristal baru.
+     * @param x Posisi x pusat.
+     * @param y Posisi y pusat.
+     * @param speedX Kecepatan horizontal per tick.
+     * @param type Jenis kristal.
+     * @return Id stabil kristal tersebut.
+     */
+    public int add(int x, int y, int speedX, Ball.BallType type) {
+        if (size == this.x.length) {
+            grow();
+        }
+        int newId = freeCount > 0 ? freeIds[--freeCount] : nextId++;
+        if (newId == slotOfId.length) {
+            slotOfId = Arrays.copyOf(slotOfId, slotOfId.length * 2);
+        }
+
+        int slot = size++;
+        this.x[slot] = x;
+        this.y[slot] = y;
+        this.speedX[slot] = speedX;
+        this.type[slot] = type.ordinal();
+        this.id[slot] = newId;
+        this.sequence[slot] = nextSequence++;
+        this.cell[slot] = SpatialGrid.cellOf(x, y);
+        slotOfId[newId] = slot;
+        grid.insert(newId, cell[slot]);
+        return newId;
+    }
+
+    /**
+     * Menghapus kristal pada sebuah slot dengan swap-remove (O(1), tanpa alokasi).
+     * @param slot Slot kristal yang akan dihapus.
+     */
+    public void removeAt(int slot) {
+        int removedId = id[slot];
+        grid.remove(removedId, cell[slot]);
+
+        int last = --size;
+        if (slot != last) {
+            x[slot] = x[last];
+            y[slot] = y[last];
+            speedX[slot] = speedX[last];
+            type[slot] = type[last];
+            id[slot] = id[last];
+            cell[slot] = cell[last];
+            sequence[slot] = sequence[last];
+            slotOfId[id[slot]] = slot;
+        }
+
+        if (freeCount == freeIds.length) {
+            freeIds = Arrays.copyOf(freeIds, freeIds.length * 2);
+        }
+        freeIds[freeCount++] = removedId;
+    }
+
+    /**
+     * Menggerakkan semua kristal secara horizontal dalam satu lintasan array,
+     * lalu memperbarui sel grid hanya untuk kristal yang berpindah sel.
+     * Kristal yang sudah sepenuhnya keluar dari arena langsung dihapus, sehingga jumlah
+     * kristal (dan biaya per tick) tetap terbatas berapa lama pun sesi berjalan.
+     * @return Jumlah kristal yang dihapus karena keluar arena.
+     */
+    public int moveAll() {
+        if (size >= PARALLEL_THRESHOLD) {
+            return moveAllParallel();
+        }
+        final int n = size;
+        final int[] xs = x;
+        final int[] sx = speedX;
+        for (int i = 0; i < n; i++) {
+            xs[i] += sx[i];
+        }
+
+        // Diiterasi dari belakang: swap-remove hanya memindahkan slot yang sudah diproses
+        int culled = 0;
+        for (int i = n - 1; i >= 0; i--) {
+            if (isOffField(xs[i])) {
+                removeAt(i);
+                culled++;
+                continue;
+            }
+            int newCell = SpatialGrid.cellOf(xs[i], y[i]);
+            if (newCell != cell[i]) {
+                grid.move(id[i], cell[i], newCell);
+                cell[i] = newCell;
+            }
+        }
+        return culled;
+    }
+
+    /**
+     * Versi paralel {@link #moveAll()}: setiap potongan menggerakkan kristalnya dan mencatat
+     * kristal yang keluar arena atau berpindah sel. Perubahan grid dan swap-remove kemudian
+     * diterapkan serial dari slot terbesar ke terkecil, urutan yang sama dengan lintasan serial,
+     * sehingga isi slot dan grid setelahnya identik.
+     */
+    private int moveAllParallel() {
+        int chunks = (size + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        if (chunkEvents.length < chunks) {
+            int oldLength = chunkEvents.length;
+            chunkEvents = Arrays.copyOf(chunkEvents, chunks);
+            chunkEventCounts = Arrays.copyOf(chunkEventCounts, chunks);
+            for (int c = oldLength; c < chunks; c++) {
+                chunkEvents[c] = new int[CHUNK_SIZE * 2];
+            }
+        }
+        new MoveChunks(0, chunks).invoke();
+
+        int culled = 0;
+        for (int c = chunks - 1; c >= 0; c--) {
+            int[] events = chunkEvents[c];
+            for (int k = chunkEventCounts[c] - 2; k >= 0; k -= 2) {
+                int slot = events[k];
+                int newCell = events[k + 1];
+                if (newCell == REMOVED) {
+                    removeAt(slot);
+                    culled++;
+                } else {
+                    grid.move(id[slot], cell[slot], newCell);
+                    cell[slot] = newCell;
+                }
+            }
+        }
+        return culled;
+    }
+
+    /**
+     * Menggerakkan satu potongan slot; hanya menulis x potongan itu dan larik kejadiannya sendiri.
+     */
+    private void moveChunk(int chunk) {
+        final int[] xs = x, ys = y, sx = speedX, cells = cell;
+        final int[] events = chunkEvents[chunk];
+        int from = chunk * CHUNK_SIZE;
+        int to = Math.min(size, from + CHUNK_SIZE);
+        int count = 0;
+        for (int i = from; i < to; i++) {
+            int newX = xs[i] + sx[i];
+            xs[i] = newX;
+            if (isOffField(newX)) {
+                events[count++] = i;
+                events[count++] = REMOVED;
+                continue;
+            }
+            int newCell = SpatialGrid.cellOf(newX, ys[i]);
+            if (newCell != cells[i]) {
+                events[count++] = i;
+                events[count++] = newCell;
+            }
+        }
+        chunkEventCounts[chunk] = count;
+    }
+
+    /**
+     * Membagi rentang potongan menjadi dua sampai tersisa satu potongan per tugas.
+     * Dari thread biasa (game thread) tugas dijalankan di common pool; dari dalam ForkJoinPool
+     * lain (misalnya BatchRunner) tugas ikut dicuri oleh worker pool tersebut.
+     */
+    private final class MoveChunks extends RecursiveAction {
+        private final int from, to;
+
+        MoveChunks(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                moveChunk(from);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new MoveChunks(from, mid), new MoveChunks(mid, to));
+        }
+    }
+
+    /**
+     * Kristal hanya bergerak horizontal, jadi cukup dicek apakah hitbox-nya
+     * sudah seluruhnya berada di kiri atau kanan arena.
+     */
+    private static boolean isOffField(int centerX) {
+        return centerX + Ball.WIDTH / 2 < 0 || centerX - Ball.WIDTH / 2 > SpatialGrid.FIELD_WIDTH;
+    }
+
+    /**
+     * Menghapus semua kristal saat sesi permainan baru dimulai.
+     */
+    public void clear() {
+        size = 0;
+        freeCount = 0;
+        nextId = 0;
+        nextSequence = 0;
+        grid.clear();
+    }
+
+    private void grow() {
+        int capacity = x.length * 2;
+        x = Arrays.copyOf(x, capacity);
+        y = Arrays.copyOf(y, capacity);
+        speedX = Arrays.copyOf(speedX, capacity);
+        type = Arrays.copyOf(type, capacity);
+        id = Arrays.copyOf(id, capacity);
+        cell = Arrays.copyOf(cell, capacity);
+        sequence = Arrays.copyOf(sequence, capacity);
+    }
+
+    // --- Getter per slot ---
+    public int size() { return size; }
+    public int getX(int slot) { return x[slot]; }
+    public int getY(int slot) { return y[slot]; }
+    public int getSpeedX(int slot) { return speedX[slot]; }
+    public Ball.BallType getType(int slot) { return TYPES[type[slot]]; }
+    public int getId(int slot) { return id[slot]; }
+    public long getSequence(int slot) { return sequence[slot]; }
+    public int slotOf(int crystalId) { return slotOfId[crystalId]; }
+    public SpatialGrid getGrid() { return grid; }
+
+    // --- Akses array mentah untuk lintasan cepat (hanya indeks 0..size-1 yang valid) ---
+    public int[] xs() { return x; }
+    public int[] ys() { return y; }
+    public int[] typeOrdinals() { return type; }
+    public int[] ids() { return id; }
+
+    /**
+     * @param ordinal Ordinal tipe kristal seperti pada {@link #typeOrdinals()}.
+     * @return Jenis kristal yang sesuai.
+     */
+    public static Ball.BallType typeOf(int ordinal) {
+        return TYPES[ordinal];
+    }
+}
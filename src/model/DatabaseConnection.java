@@ -1,19 +1,524 @@
 package model;
 
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
 import java.sql.Connection;
 import java.sql.DriverManager;
+import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.sql.Statement;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
+/**
+ * Kelas DatabaseConnection adalah pool koneksi JDBC berukuran terbatas.
+ * Koneksi fisik dibuat sekali lalu dipinjamkan berulang kali; Connection yang dikembalikan
+ * oleh {@link #getConnection()} adalah pembungkus yang saat di-close() hanya mengembalikan
+ * koneksi ke pool. PreparedStatement dari prepareStatement(String) juga di-cache per koneksi,
+ * sehingga SQL yang sama tidak di-prepare ulang setiap kali dipakai. Statement dari cache
+ * dipinjam oleh satu pemakai pada satu waktu; semua statement milik sebuah peminjaman tidak
+ * bisa dipakai lagi setelah Connection-nya di-close().
+ *
+ * Semua pengaturan bisa diganti lewat system property, misalnya untuk memakai
+ * database embedded (H2/Derby) saat benchmark atau pengujian:
+ * ctc.db.url, ctc.db.user, ctc.db.password, ctc.db.pool.size, ctc.db.pool.timeoutMs,
+ * ctc.db.pool.idleMs, ctc.db.pool.statementCache.
+ */
 public class DatabaseConnection {
-    private static final String URL = "jdbc:mysql://localhost:3306/dpbo"; 
-    private static final String USER = "root"; 
-    private static final String PASSWORD = ""; 
+    private static final String URL = System.getProperty("ctc.db.url", "jdbc:mysql://localhost:3306/dpbo");
+    private static final String USER = System.getProperty("ctc.db.user", "root");
+    private static final String PASSWORD = System.getProperty("ctc.db.password", "");
 
+    // Jumlah maksimum koneksi fisik yang boleh terbuka bersamaan
+    private static final int MAX_SIZE = Integer.getInteger("ctc.db.pool.size", 4);
+    // Batas waktu menunggu koneksi jika semua sedang dipinjam
+    private static final long BORROW_TIMEOUT_MS = Long.getLong("ctc.db.pool.timeoutMs", 5_000L);
+    // Koneksi yang menganggur lebih lama dari ini ditutup oleh evictor
+    private static final long IDLE_TIMEOUT_MS = Long.getLong("ctc.db.pool.idleMs", 5 * 60_000L);
+    // Koneksi yang menganggur lebih lama dari ini divalidasi dulu sebelum dipinjamkan
+    private static final long VALIDATE_AFTER_MS = 10_000L;
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+    private static final int STATEMENT_CACHE_SIZE = Integer.getInteger("ctc.db.pool.statementCache", 16);
+
+    private static final Object LOCK = new Object();
+    // Koneksi menganggur disusun seperti stack: yang terakhir dikembalikan dipinjam lebih dulu,
+    // sehingga koneksi yang jarang dipakai tertinggal di ujung dan bisa ditutup oleh evictor.
+    private static final ArrayDeque<PooledConnection> idle = new ArrayDeque<>();
+    private static int total = 0;
+    private static int active = 0;
+    private static ScheduledExecutorService evictor;
+
+    // Metrik pool
+    private static final LongAdder borrowCount = new LongAdder();
+    private static final LongAdder borrowNanos = new LongAdder();
+    private static final AtomicLong maxBorrowNanos = new AtomicLong();
+    private static final LongAdder waitCount = new LongAdder();
+    private static final LongAdder timeoutCount = new LongAdder();
+    private static final LongAdder createdCount = new LongAdder();
+    private static final LongAdder evictedCount = new LongAdder();
+    private static final LongAdder invalidCount = new LongAdder();
+    private static final LongAdder statementHits = new LongAdder();
+    private static final LongAdder statementMisses = new LongAdder();
+
+    /**
+     * Meminjam koneksi dari pool. Koneksi wajib di-close() setelah dipakai
+     * (sebaiknya dengan try-with-resources) agar kembali ke pool.
+     * @return Koneksi pinjaman.
+     */
     public static Connection getConnection() {
+        long start = System.nanoTime();
+        PooledConnection pooled;
         try {
-            return DriverManager.getConnection(URL, USER, PASSWORD);
+            pooled = borrow(start);
         } catch (SQLException e) {
             throw new RuntimeException("Error connecting to the database", e);
         }
+        long elapsed = System.nanoTime() - start;
+        borrowCount.increment();
+        borrowNanos.add(elapsed);
+        maxBorrowNanos.accumulateAndGet(elapsed, Math::max);
+        return pooled.newHandle();
+    }
+
+    /**
+     * Mengambil snapshot metrik pool saat ini.
+     * @return Objek PoolStats berisi jumlah koneksi dan statistik peminjaman.
+     */
+    public static PoolStats getPoolStats() {
+        int activeNow, idleNow;
+        synchronized (LOCK) {
+            activeNow = active;
+            idleNow = idle.size();
+        }
+        return new PoolStats(activeNow, idleNow, MAX_SIZE,
+                borrowCount.sum(), borrowNanos.sum(), maxBorrowNanos.get(),
+                waitCount.sum(), timeoutCount.sum(),
+                createdCount.sum(), evictedCount.sum(), invalidCount.sum(),
+                statementHits.sum(), statementMisses.sum());
+    }
+
+    /**
+     * Menutup semua koneksi yang sedang menganggur. Koneksi yang masih dipinjam
+     * akan ditutup saat dikembalikan. Dipanggil otomatis saat aplikasi keluar.
+     */
+    public static void shutdown() {
+        List<PooledConnection> toClose;
+        synchronized (LOCK) {
+            toClose = new ArrayList<>(idle);
+            idle.clear();
+            total -= toClose.size();
+            if (evictor != null) {
+                evictor.shutdownNow();
+                evictor = null;
+            }
+            LOCK.notifyAll();
+        }
+        for (PooledConnection pooled : toClose) {
+            pooled.closePhysical();
+        }
+    }
+
+    /**
+     * Menutup koneksi yang sudah menganggur lebih lama dari batas idle.
+     */
+    static void evictIdle() {
+        long now = System.nanoTime();
+        List<PooledConnection> toClose = new ArrayList<>();
+        synchronized (LOCK) {
+            // Ujung akhir deque berisi koneksi yang paling lama tidak dipakai
+            Iterator<PooledConnection> it = idle.descendingIterator();
+            while (it.hasNext()) {
+                PooledConnection pooled = it.next();
+                if (now - pooled.lastReturned < TimeUnit.MILLISECONDS.toNanos(IDLE_TIMEOUT_MS)) break;
+                it.remove();
+                total--;
+                toClose.add(pooled);
+            }
+        }
+        for (PooledConnection pooled : toClose) {
+            evictedCount.increment();
+            pooled.closePhysical();
+        }
+    }
+
+    private static PooledConnection borrow(long start) throws SQLException {
+        long deadline = start + TimeUnit.MILLISECONDS.toNanos(BORROW_TIMEOUT_MS);
+        while (true) {
+            PooledConnection candidate = null;
+            synchronized (LOCK) {
+                boolean waited = false;
+                while (idle.isEmpty() && total >= MAX_SIZE) {
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        timeoutCount.increment();
+                        throw new SQLTransientConnectionException(
+                                "Pool koneksi penuh: tidak ada koneksi tersedia dalam " + BORROW_TIMEOUT_MS + " ms");
+                    }
+                    if (!waited) {
+                        waitCount.increment();
+                        waited = true;
+                    }
+                    try {
+                        TimeUnit.NANOSECONDS.timedWait(LOCK, remaining);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new SQLTransientConnectionException("Menunggu koneksi dari pool terinterupsi", e);
+                    }
+                }
+                if (!idle.isEmpty()) {
+                    candidate = idle.pop();
+                } else {
+                    total++; // Slot dipesan dulu, koneksi fisik dibuat di luar lock
+                }
+                active++;
+            }
+
+            if (candidate == null) {
+                return createConnection();
+            }
+            if (candidate.isUsable()) {
+                return candidate;
+            }
+            // Koneksi basi (misalnya diputus server): buang lalu coba lagi
+            invalidCount.increment();
+            discard(candidate);
+        }
+    }
+
+    private static PooledConnection createConnection() throws SQLException {
+        try {
+            Connection physical = DriverManager.getConnection(URL, USER, PASSWORD);
+            createdCount.increment();
+            startEvictorIfNeeded();
+            return new PooledConnection(physical);
+        } catch (SQLException | RuntimeException e) {
+            synchronized (LOCK) {
+                total--;
+                active--;
+                LOCK.notifyAll();
+            }
+            throw e;
+        }
+    }
+
+    private static void startEvictorIfNeeded() {
+        synchronized (LOCK) {
+            if (evictor != null) return;
+            evictor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "db-pool-evictor");
+                thread.setDaemon(true);
+                return thread;
+            });
+            long period = Math.max(1_000L, IDLE_TIMEOUT_MS / 2);
+            evictor.scheduleWithFixedDelay(DatabaseConnection::evictIdle, period, period, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private static void giveBack(PooledConnection pooled) {
+        if (!pooled.resetForReuse()) {
+            discard(pooled);
+            return;
+        }
+        synchronized (LOCK) {
+            active--;
+            pooled.lastReturned = System.nanoTime();
+            idle.push(pooled);
+            LOCK.notify();
+        }
+    }
+
+    private static void discard(PooledConnection pooled) {
+        synchronized (LOCK) {
+            active--;
+            total--;
+            LOCK.notifyAll();
+        }
+        pooled.closePhysical();
+    }
+
+    static {
+        // Tutup koneksi yang tersisa saat aplikasi keluar (misalnya lewat EXIT_ON_CLOSE)
+        Runtime.getRuntime().addShutdownHook(new Thread(DatabaseConnection::shutdown, "db-pool-shutdown"));
+    }
+
+    /**
+     * Satu koneksi fisik di dalam pool beserta cache PreparedStatement miliknya.
+     */
+    private static final class PooledConnection {
+        private final Connection physical;
+        private final Map<String, CachedStatement> statements;
+        private long lastReturned = System.nanoTime();
+
+        PooledConnection(Connection physical) {
+            this.physical = physical;
+            // LinkedHashMap berurutan akses = cache LRU; statement tertua ditutup saat cache penuh
+            this.statements = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, CachedStatement> eldest) {
+                    if (size() <= STATEMENT_CACHE_SIZE) return false;
+                    eldest.getValue().evict();
+                    return true;
+                }
+            };
+        }
+
+        Connection newHandle() {
+            ConnectionHandle handle = new ConnectionHandle(this);
+            Connection proxy = (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                    new Class<?>[]{Connection.class}, handle);
+            handle.proxy = proxy;
+            return proxy;
+        }
+
+        /**
+         * Meminjam statement dari cache untuk satu peminjaman koneksi. Jika statement untuk SQL
+         * ini sedang dipakai (misalnya SQL yang sama di-prepare dua kali dalam satu peminjaman),
+         * pemanggil mendapat statement baru di luar cache yang ditutup sungguhan saat di-close().
+         */
+        StatementLease prepareCached(String sql, ConnectionHandle handle) throws SQLException {
+            CachedStatement cached = statements.get(sql);
+            if (cached != null && cached.inUse) {
+                statementMisses.increment();
+                return new StatementLease(physical.prepareStatement(sql), null, PreparedStatement.class, handle);
+            }
+            if (cached != null && !cached.statement.isClosed()) {
+                statementHits.increment();
+            } else {
+                statementMisses.increment();
+                cached = new CachedStatement(physical.prepareStatement(sql));
+                statements.put(sql, cached);
+            }
+            cached.inUse = true;
+            return new StatementLease(cached.statement, cached, PreparedStatement.class, handle);
+        }
+
+        boolean isUsable() {
+            if (System.nanoTime() - lastReturned < TimeUnit.MILLISECONDS.toNanos(VALIDATE_AFTER_MS)) {
+                return true;
+            }
+            try {
+                return physical.isValid(VALIDATION_TIMEOUT_SECONDS);
+            } catch (SQLException e) {
+                return false;
+            }
+        }
+
+        /**
+         * Mengembalikan koneksi ke keadaan bersih: transaksi yang belum selesai dibatalkan.
+         * @return false jika koneksi rusak dan harus dibuang.
+         */
+        boolean resetForReuse() {
+            try {
+                if (physical.isClosed()) return false;
+                if (!physical.getAutoCommit()) {
+                    physical.rollback();
+                    physical.setAutoCommit(true);
+                }
+                return true;
+            } catch (SQLException e) {
+                return false;
+            }
+        }
+
+        void closePhysical() {
+            for (CachedStatement cached : statements.values()) {
+                cached.closePhysical();
+            }
+            statements.clear();
+            try {
+                physical.close();
+            } catch (SQLException e) {
+                System.err.println("Gagal menutup koneksi database: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Connection yang dipinjamkan ke pemanggil. Setiap peminjaman mendapat handle baru,
+     * sehingga close() ganda atau pemakaian setelah close() tidak mengganggu peminjam berikutnya.
+     */
+    private static final class ConnectionHandle implements InvocationHandler {
+        private PooledConnection pooled;
+        private Connection proxy;
+        // Statement yang dibuat lewat handle ini dan belum ditutup
+        private final List<StatementLease> leases = new ArrayList<>();
+
+        ConnectionHandle(PooledConnection pooled) {
+            this.pooled = pooled;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            switch (name) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "PooledConnection[" + (pooled == null ? "closed" : pooled.physical) + "]";
+                case "isClosed":
+                    return pooled == null;
+                case "close":
+                    if (pooled != null) {
+                        PooledConnection returned = pooled;
+                        pooled = null;
+                        // Statement yang masih terbuka tidak boleh menyentuh koneksi milik peminjam berikutnya
+                        for (StatementLease lease : new ArrayList<>(leases)) {
+                            lease.release();
+                        }
+                        giveBack(returned);
+                    }
+                    return null;
+                default:
+                    break;
+            }
+            if (pooled == null) {
+                throw new SQLException("Koneksi sudah dikembalikan ke pool");
+            }
+            if (name.equals("prepareStatement") && args != null && args.length == 1) {
+                return track(pooled.prepareCached((String) args[0], this));
+            }
+            Object result;
+            try {
+                result = method.invoke(pooled.physical, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+            // Statement lain (createStatement, prepareCall, prepareStatement dengan opsi) tidak di-cache,
+            // tetapi tetap dibungkus agar getConnection() tidak membocorkan koneksi fisik
+            if (result instanceof Statement && method.getReturnType().isInterface()) {
+                @SuppressWarnings("unchecked")
+                Class<? extends Statement> type = (Class<? extends Statement>) method.getReturnType();
+                return track(new StatementLease((Statement) result, null, type, this));
+            }
+            return result;
+        }
+
+        private Statement track(StatementLease lease) {
+            leases.add(lease);
+            return lease.proxy;
+        }
+    }
+
+    /**
+     * Statement yang dipinjamkan ke pemanggil untuk satu peminjaman koneksi. Saat di-close()
+     * (atau saat Connection-nya di-close()), statement dari cache dibersihkan dan dikembalikan ke
+     * cache, sedangkan statement di luar cache ditutup sungguhan. Setelah itu proxy-nya tidak
+     * bisa dipakai lagi, dan getConnection() selalu mengembalikan handle, bukan koneksi fisik.
+     */
+    private static final class StatementLease implements InvocationHandler {
+        private final Statement statement;
+        private final CachedStatement cached;
+        private final ConnectionHandle handle;
+        private final Statement proxy;
+        private boolean closed;
+
+        StatementLease(Statement statement, CachedStatement cached, Class<? extends Statement> type, ConnectionHandle handle) {
+            this.statement = statement;
+            this.cached = cached;
+            this.handle = handle;
+            this.proxy = (Statement) Proxy.newProxyInstance(Statement.class.getClassLoader(), new Class<?>[]{type}, this);
+        }
+
+        void release() {
+            if (closed) return;
+            closed = true;
+            handle.leases.remove(this);
+            if (cached != null) {
+                cached.release();
+            } else {
+                try {
+                    statement.close();
+                } catch (SQLException e) {
+                    System.err.println("Gagal menutup statement: " + e.getMessage());
+                }
+            }
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "close":
+                    release();
+                    return null;
+                case "isClosed":
+                    return closed || statement.isClosed();
+                default:
+                    break;
+            }
+            if (closed) {
+                throw new SQLException("Statement sudah ditutup");
+            }
+            if (method.getName().equals("getConnection")) {
+                return handle.proxy;
+            }
+            try {
+                return method.invoke(statement, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+
+    /**
+     * PreparedStatement yang tersimpan di cache. Dipinjamkan lewat {@link StatementLease};
+     * saat dikembalikan hanya parameter dan batch-nya yang dibersihkan.
+     */
+    private static final class CachedStatement {
+        private final PreparedStatement statement;
+        private boolean inUse;
+        // Sudah dikeluarkan dari cache LRU selagi dipinjam; ditutup saat dikembalikan
+        private boolean evicted;
+
+        CachedStatement(PreparedStatement statement) {
+            this.statement = statement;
+        }
+
+        void evict() {
+            evicted = true;
+            if (!inUse) closePhysical();
+        }
+
+        void release() {
+            inUse = false;
+            if (evicted) {
+                closePhysical();
+                return;
+            }
+            try {
+                if (!statement.isClosed()) {
+                    statement.clearParameters();
+                    statement.clearBatch();
+                }
+            } catch (SQLException e) {
+                // Statement rusak: jangan dipakai lagi, prepare ulang pada peminjaman berikutnya
+                closePhysical();
+            }
+        }
+
+        void closePhysical() {
+            try {
+                statement.close();
+            } catch (SQLException e) {
+                System.err.println("Gagal menutup statement: " + e.getMessage());
+            }
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,64 @@
+package model;
+
+/**
+ * Kelas Fixed berisi aritmetika bilangan tetap 16.16 (16 bit bilangan bulat, 16 bit pecahan
+ * dalam int/long) untuk gerakan lasso dan kristal yang ditarik. Semua operasi hanya memakai
+ * bilangan bulat, sehingga hasilnya sama persis di setiap mesin dan setiap kali dijalankan,
+ * dan posisi menyimpan sisa sub-piksel alih-alih terpotong ke piksel setiap tick.
+ */
+public final class Fixed {
+    public static final int SHIFT = 16;
+    public static final int ONE = 1 << SHIFT;
+    private static final int HALF = ONE >> 1;
+
+    private Fixed() {
+    }
+
+    public static int fromInt(int value) {
+        return value << SHIFT;
+    }
+
+    /**
+     * Membulatkan ke piksel terdekat (setengah dibulatkan ke atas).
+     */
+    public static int round(int fixed) {
+        return (fixed + HALF) >> SHIFT;
+    }
+
+    /**
+     * Panjang vektor (dx, dy) dalam 16.16, tanpa trigonometri maupun floating point.
+     */
+    public static int length(int dx, int dy) {
+        return (int) sqrt((long) dx * dx + (long) dy * dy);
+    }
+
+    /**
+     * Kuadrat panjang vektor (dx, dy) dalam satuan 16.16 kuadrat, untuk perbandingan jarak tanpa akar.
+     */
+    public static long lengthSquared(int dx, int dy) {
+        return (long) dx * dx + (long) dy * dy;
+    }
+
+    /**
+     * Komponen vektor sepanjang distance yang searah (dx, dy).
+     * @param component dx atau dy dalam 16.16.
+     * @param length Panjang (dx, dy) dalam 16.16, harus lebih dari 0.
+     * @param distance Panjang yang diinginkan dalam piksel.
+     * @return Komponen hasil dalam 16.16, dibulatkan ke nol.
+     */
+    public static int scale(int component, int length, int distance) {
+        return (int) (((long) component * distance << SHIFT) / length);
+    }
+
+    /**
+     * Akar kuadrat bulat (dibulatkan ke bawah) dari bilangan tak negatif.
+     */
+    static long sqrt(long value) {
+        if (value <= 0) return 0;
+        // Tebakan awal dari double lalu dikoreksi, sehingga hasil selalu floor(sqrt) yang tepat
+        long root = (long) Math.sqrt((double) value);
+        while (root * root > value) root--;
+        while ((root + 1) * (root + 1) <= value) root++;
+        return root;
+    }
+}
@@ -0,0 +1,198 @@
+package model;
+
+import java.util.Arrays;
+
+/**
+ * Kelas FrameSnapshot adalah salinan state permainan untuk satu frame yang akan digambar.
+ * Diisi oleh game thread lalu diserahkan ke View, sehingga View tidak pernah membaca
+ * objek model yang sedang diubah. Objek ini dipakai ulang (pooled) dari frame ke frame,
+ * jadi array kristalnya hanya diperbesar bila perlu dan tidak dialokasikan ulang setiap tick.
+ */
+public class FrameSnapshot {
+    // Nilai tipe untuk menandakan "tidak ada bola"
+    public static final int NONE = -1;
+
+    private long tick;
+    private int score, count;
+
+    private int playerX, playerY;
+    private Player.Direction playerFacing = Player.Direction.RIGHT;
+    private int basketX, basketY;
+
+    private boolean lassoActive;
+    private int lassoStartX, lassoStartY, lassoEndX, lassoEndY;
+
+    // Bola yang sedang ditarik lasso dan bola yang sedang dipegang pemain
+    private int pulledType = NONE, pulledX, pulledY;
+    private int heldType = NONE, heldX, heldY;
+
+    // Kristal bebas, disalin dari CrystalStore
+    private int crystalCount;
+    private int[] crystalIds = new int[64];
+    private int[] crystalXs = new int[64];
+    private int[] crystalYs = new int[64];
+    private int[] crystalTypes = new int[64];
+
+    public void setTick(long tick) { this.tick = tick; }
+
+    public void setScoreAndCount(int score, int count) {
+        this.score = score;
+        this.count = count;
+    }
+
+    public void setPlayer(int x, int y, Player.Direction facing) {
+        this.playerX = x;
+        this.playerY = y;
+        this.playerFacing = facing;
+    }
+
+    public void setBasket(int x, int y) {
+        this.basketX = x;
+        this.basketY = y;
+    }
+
+    public void setLasso(boolean active, int startX, int startY, int endX, int endY) {
+        this.lassoActive = active;
+        this.lassoStartX = startX;
+        this.lassoStartY = startY;
+        this.lassoEndX = endX;
+        this.lassoEndY = endY;
+    }
+
+    public void setPulledBall(Ball ball) {
+        this.pulledType = ball == null ? NONE : ball.getType().ordinal();
+        if (ball != null) {
+            this.pulledX = ball.getX();
+            this.pulledY = ball.getY();
+        }
+    }
+
+    /**
+     * Mengisi bola yang ditarik lasso dari nilai mentah (dipakai saat snapshot dibangun ulang dari jaringan).
+     * @param type Ordinal tipe bola, atau {@link #NONE}.
+     */
+    public void setPulledBall(int type, int x, int y) {
+        this.pulledType = type;
+        this.pulledX = x;
+        this.pulledY = y;
+    }
+
+    /**
+     * Mengisi bola yang dipegang pemain dari nilai mentah.
+     * @param type Ordinal tipe bola, atau {@link #NONE}.
+     */
+    public void setHeldBall(int type, int x, int y) {
+        this.heldType = type;
+        this.heldX = x;
+        this.heldY = y;
+    }
+
+    public void setHeldBall(Ball ball) {
+        this.heldType = ball == null ? NONE : ball.getType().ordinal();
+        if (ball != null) {
+            this.heldX = ball.getX();
+            this.heldY = ball.getY();
+        }
+    }
+
+    /**
+     * Menyalin seluruh kristal bebas dari penyimpanan ke snapshot ini.
+     * @param crystals Penyimpanan kristal milik game thread.
+     */
+    public void setCrystals(CrystalStore crystals) {
+        int n = crystals.size();
+        ensureCrystalCapacity(n);
+        System.arraycopy(crystals.ids(), 0, crystalIds, 0, n);
+        System.arraycopy(crystals.xs(), 0, crystalXs, 0, n);
+        System.arraycopy(crystals.ys(), 0, crystalYs, 0, n);
+        System.arraycopy(crystals.typeOrdinals(), 0, crystalTypes, 0, n);
+        this.crystalCount = n;
+    }
+
+    /**
+     * Mengubah jumlah kristal; isi kristal yang sudah ada tetap dipertahankan.
+     */
+    public void setCrystalCount(int n) {
+        ensureCrystalCapacity(n);
+        this.crystalCount = n;
+    }
+
+    /**
+     * Mengisi satu kristal pada indeks i (harus lebih kecil dari {@link #getCrystalCount()}).
+     */
+    public void setCrystal(int i, int id, int x, int y, int type) {
+        crystalIds[i] = id;
+        crystalXs[i] = x;
+        crystalYs[i] = y;
+        crystalTypes[i] = type;
+    }
+
+    /**
+     * Menyalin seluruh isi snapshot lain ke snapshot ini tanpa mengalokasikan ulang array
+     * (kecuali kapasitas kristal perlu diperbesar).
+     */
+    public void copyFrom(FrameSnapshot other) {
+        tick = other.tick;
+        score = other.score;
+        count = other.count;
+        playerX = other.playerX;
+        playerY = other.playerY;
+        playerFacing = other.playerFacing;
+        basketX = other.basketX;
+        basketY = other.basketY;
+        lassoActive = other.lassoActive;
+        lassoStartX = other.lassoStartX;
+        lassoStartY = other.lassoStartY;
+        lassoEndX = other.lassoEndX;
+        lassoEndY = other.lassoEndY;
+        pulledType = other.pulledType;
+        pulledX = other.pulledX;
+        pulledY = other.pulledY;
+        heldType = other.heldType;
+        heldX = other.heldX;
+        heldY = other.heldY;
+        int n = other.crystalCount;
+        ensureCrystalCapacity(n);
+        System.arraycopy(other.crystalIds, 0, crystalIds, 0, n);
+        System.arraycopy(other.crystalXs, 0, crystalXs, 0, n);
+        System.arraycopy(other.crystalYs, 0, crystalYs, 0, n);
+        System.arraycopy(other.crystalTypes, 0, crystalTypes, 0, n);
+        crystalCount = n;
+    }
+
+    private void ensureCrystalCapacity(int n) {
+        if (n > crystalXs.length) {
+            int capacity = Math.max(n, crystalXs.length * 2);
+            crystalIds = Arrays.copyOf(crystalIds, capacity);
+            crystalXs = Arrays.copyOf(crystalXs, capacity);
+            crystalYs = Arrays.copyOf(crystalYs, capacity);
+            crystalTypes = Arrays.copyOf(crystalTypes, capacity);
+        }
+    }
+
+    // --- Getter ---
+    public long getTick() { return tick; }
+    public int getScore() { return score; }
+    public int getCount() { return count; }
+    public int getPlayerX() { return playerX; }
+    public int getPlayerY() { return playerY; }
+    public Player.Direction getPlayerFacing() { return playerFacing; }
+    public int getBasketX() { return basketX; }
+    public int getBasketY() { return basketY; }
+    public boolean isLassoActive() { return lassoActive; }
+    public int getLassoStartX() { return lassoStartX; }
+    public int getLassoStartY() { return lassoStartY; }
+    public int getLassoEndX() { return lassoEndX; }
+    public int getLassoEndY() { return lassoEndY; }
+    public int getPulledType() { return pulledType; }
+    public int getPulledX() { return pulledX; }
+    public int getPulledY() { return pulledY; }
+    public int getHeldType() { return heldType; }
+    public int getHeldX() { return heldX; }
+    public int getHeldY() { return heldY; }
+    public int getCrystalCount() { return crystalCount; }
+    public int getCrystalId(int i) { return crystalIds[i]; }
+    public int getCrystalX(int i) { return crystalXs[i]; }
+    public int getCrystalY(int i) { return crystalYs[i]; }
+    public int getCrystalType(int i) { return crystalTypes[i]; }
+}
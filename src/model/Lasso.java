@@ -3,19 +3,33 @@ package model;
 import java.awt.Graphics2D;
 import java.awt.Color;
 import java.awt.Rectangle;
+import java.util.Arrays;
+import java.util.concurrent.RecursiveAction;
 
 /**
  * Kelas Lasso merepresentasikan tali yang digunakan oleh pemain untuk menangkap bola.
  * Tali ini akan memanjang ke arah klik mouse, menangkap bola yang disentuh,
  * dan menariknya kembali ke arah pemain.
+ * Ujung tali disimpan dalam bilangan tetap 16.16 (lihat {@link Fixed}): arah memanjang dihitung
+ * sekali saat ditembakkan, jarak dibandingkan dalam bentuk kuadrat, dan sisa sub-piksel tidak
+ * hilang, sehingga tali tidak melenceng atau berhenti pada sudut landai.
  */
 public class Lasso {
     private Player player;
-    private int startX, startY, endX, endY, targetX, targetY;
+    private int startX, startY, endX, endY;
+    // Ujung tali dan langkah memanjang per tick dalam 16.16, serta kuadrat jarak ke target
+    private int endFx, endFy, stepFx, stepFy;
+    private long reachSquared;
     private enum State { INACTIVE, EXTENDING, RETRACTING }
     private State state;
     private Ball caughtBall;
     private final int speed = 15;
+    // Kuadrat jarak (16.16) untuk "sudah kembali": tali kosong di bawah speed, membawa bola di bawah speed + 5
+    private final long returnSquared = squaredPixels(speed);
+    private final long carryReturnSquared = squaredPixels(speed + 5);
+    // Hasil terbaik per potongan kandidat untuk findHit paralel
+    private long[] chunkSequence = new long[0];
+    private int[] chunkSlot = new int[0];
 
     /**
      * Konstruktor untuk Lasso.
@@ -37,10 +51,17 @@ public class Lasso {
         
         this.startX = player.getX() + 10; // Posisi tengah pemain
         this.startY = player.getY() + 10;
-        this.endX = startX;
-        this.endY = startY;
-        this.targetX = targetX;
-        this.targetY = targetY;
+        this.endFx = Fixed.fromInt(startX);
+        this.endFy = Fixed.fromInt(startY);
+        syncEnd();
+
+        // Arah tidak berubah selama memanjang, jadi cukup dinormalisasi sekali di sini
+        int dx = Fixed.fromInt(targetX - startX);
+        int dy = Fixed.fromInt(targetY - startY);
+        this.reachSquared = Fixed.lengthSquared(dx, dy);
+        int length = Fixed.length(dx, dy);
+        this.stepFx = length == 0 ? 0 : Fixed.scale(dx, length, speed);
+        this.stepFy = length == 0 ? 0 : Fixed.scale(dy, length, speed);
         this.state = State.EXTENDING;
     }
 
@@ -50,21 +71,29 @@ public class Lasso {
     public void update() {
         if (state == State.EXTENDING) {
             // Logika tali memanjang ke arah target
-            double angle = Math.atan2(targetY - startY, targetX - startX);
-            endX += (int) (speed * Math.cos(angle));
-            endY += (int) (speed * Math.sin(angle));
+            endFx += stepFx;
+            endFy += stepFy;
+            syncEnd();
 
             // Jika sudah mencapai target, otomatis menarik kembali
-            if (Math.hypot(endX - startX, endY - startY) >= Math.hypot(targetX - startX, targetY - startY)) {
+            if (Fixed.lengthSquared(endFx - Fixed.fromInt(startX), endFy - Fixed.fromInt(startY)) >= reachSquared) {
                 state = State.RETRACTING;
             }
         } else if (state == State.RETRACTING) {
-            // Logika tali menarik kembali ke arah PEMAIN
-            int targetX = player.getX() + 10;
-            int targetY = player.getY() + 10;
-            double angle = Math.atan2(targetY - endY, targetX - endX);
-            endX += (int) (speed * Math.cos(angle));
-            endY += (int) (speed * Math.sin(angle));
+            // Logika tali menarik kembali ke arah PEMAIN (yang bisa bergerak, jadi arahnya dihitung tiap tick)
+            int homeFx = Fixed.fromInt(player.getX() + 10);
+            int homeFy = Fixed.fromInt(player.getY() + 10);
+            int dx = homeFx - endFx;
+            int dy = homeFy - endFy;
+            int length = Fixed.length(dx, dy);
+            if (length <= Fixed.fromInt(speed)) {
+                endFx = homeFx;
+                endFy = homeFy;
+            } else {
+                endFx += Fixed.scale(dx, length, speed);
+                endFy += Fixed.scale(dy, length, speed);
+            }
+            syncEnd();
 
             // Bola yang tertangkap akan ikut ditarik
             if (caughtBall != null) {
@@ -72,7 +101,7 @@ public class Lasso {
             }
 
             // Cek jika sudah sampai di dekat pemain
-            if (Math.hypot(endX - targetX, endY - targetY) < speed) {
+            if (Fixed.lengthSquared(homeFx - endFx, homeFy - endFy) < returnSquared) {
                 if (caughtBall == null) {
                     state = State.INACTIVE; // Reset jika tidak membawa bola
                 }
@@ -80,6 +109,11 @@ public class Lasso {
             }
         }
     }
+
+    private void syncEnd() {
+        endX = Fixed.round(endFx);
+        endY = Fixed.round(endFy);
+    }
     
     /**
      * Menggambar tali lasso di layar.
@@ -108,18 +142,122 @@ public class Lasso {
      * @return true jika bersinggungan, false jika tidak.
      */
     public boolean intersects(Ball ball) {
-        return ball.getBounds().intersectsLine(player.getX() + 10, player.getY() + 10, endX, endY);
+        return ball.getHitbox().intersectsSegment(player.getX() + 10, player.getY() + 10, endX, endY);
     }
     
+    /**
+     * Mencari kristal bebas yang bersinggungan dengan tali lasso.
+     * Hanya kristal di sekitar sel-sel grid yang dilewati tali yang diperiksa.
+     * Jika beberapa kristal terkena sekaligus, yang dipilih adalah yang paling dulu muncul.
+     * Kandidat sebanyak {@link CrystalStore#PARALLEL_THRESHOLD} atau lebih diperiksa paralel per
+     * potongan; karena urutan kemunculan unik, hasil minimumnya sama dengan pemeriksaan serial.
+     * @param crystals Penyimpanan kristal yang masih bebas.
+     * @return Slot kristal yang terkena tali, atau -1 jika tidak ada.
+     */
+    public int findHit(CrystalStore crystals) {
+        int originX = player.getX() + 10;
+        int originY = player.getY() + 10;
+        SpatialGrid grid = crystals.getGrid();
+        int candidateCount = grid.collectAlongSegment(originX, originY, endX, endY);
+        int[] candidates = grid.getCandidates();
+        if (candidateCount >= CrystalStore.PARALLEL_THRESHOLD) {
+            return findHitParallel(crystals, candidates, candidateCount, originX, originY);
+        }
+
+        int hitSlot = -1;
+        long hitSequence = Long.MAX_VALUE;
+        for (int i = 0; i < candidateCount; i++) {
+            int slot = crystals.slotOf(candidates[i]);
+            long sequence = crystals.getSequence(slot);
+            if (sequence >= hitSequence) continue;
+
+            int minX = crystals.getX(slot) - Ball.WIDTH / 2;
+            int minY = crystals.getY(slot) - Ball.HEIGHT / 2;
+            if (Aabb.segmentIntersects(minX, minY, minX + Ball.WIDTH, minY + Ball.HEIGHT, originX, originY, endX, endY)) {
+                hitSlot = slot;
+                hitSequence = sequence;
+            }
+        }
+        return hitSlot;
+    }
+
+    private int findHitParallel(CrystalStore crystals, int[] candidates, int candidateCount, int originX, int originY) {
+        int chunks = (candidateCount + CrystalStore.CHUNK_SIZE - 1) / CrystalStore.CHUNK_SIZE;
+        if (chunkSequence.length < chunks) {
+            chunkSequence = Arrays.copyOf(chunkSequence, chunks);
+            chunkSlot = Arrays.copyOf(chunkSlot, chunks);
+        }
+        new HitChunks(crystals, candidates, candidateCount, originX, originY, 0, chunks).invoke();
+
+        // Reduksi serial: urutan kemunculan terkecil di antara semua potongan
+        int hitSlot = -1;
+        long hitSequence = Long.MAX_VALUE;
+        for (int c = 0; c < chunks; c++) {
+            if (chunkSequence[c] < hitSequence) {
+                hitSequence = chunkSequence[c];
+                hitSlot = chunkSlot[c];
+            }
+        }
+        return hitSlot;
+    }
+
+    /**
+     * Memeriksa satu rentang potongan kandidat; hasil tiap potongan ditulis ke slotnya sendiri.
+     */
+    private final class HitChunks extends RecursiveAction {
+        private final CrystalStore crystals;
+        private final int[] candidates;
+        private final int candidateCount, originX, originY;
+        private final int from, to;
+
+        HitChunks(CrystalStore crystals, int[] candidates, int candidateCount, int originX, int originY, int from, int to) {
+            this.crystals = crystals;
+            this.candidates = candidates;
+            this.candidateCount = candidateCount;
+            this.originX = originX;
+            this.originY = originY;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > 1) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new HitChunks(crystals, candidates, candidateCount, originX, originY, from, mid),
+                        new HitChunks(crystals, candidates, candidateCount, originX, originY, mid, to));
+                return;
+            }
+            int start = from * CrystalStore.CHUNK_SIZE;
+            int end = Math.min(candidateCount, start + CrystalStore.CHUNK_SIZE);
+            int hitSlot = -1;
+            long hitSequence = Long.MAX_VALUE;
+            for (int i = start; i < end; i++) {
+                int slot = crystals.slotOf(candidates[i]);
+                long sequence = crystals.getSequence(slot);
+                if (sequence >= hitSequence) continue;
+
+                int minX = crystals.getX(slot) - Ball.WIDTH / 2;
+                int minY = crystals.getY(slot) - Ball.HEIGHT / 2;
+                if (Aabb.segmentIntersects(minX, minY, minX + Ball.WIDTH, minY + Ball.HEIGHT, originX, originY, endX, endY)) {
+                    hitSlot = slot;
+                    hitSequence = sequence;
+                }
+            }
+            chunkSlot[from] = hitSlot;
+            chunkSequence[from] = hitSequence;
+        }
+    }
+
     /**
      * Mengecek apakah tali lasso sudah kembali ke pemain sambil membawa bola.
      * @return true jika sudah kembali, false jika belum.
      */
     public boolean hasReturnedToPlayer() {
-        int targetX = player.getX() + 10;
-        int targetY = player.getY() + 10;
+        int homeFx = Fixed.fromInt(player.getX() + 10);
+        int homeFy = Fixed.fromInt(player.getY() + 10);
         return state == State.RETRACTING && caughtBall != null &&
-               Math.hypot(endX - targetX, endY - targetY) < speed + 5;
+               Fixed.lengthSquared(homeFx - endFx, homeFy - endFy) < carryReturnSquared;
     }
 
     /**
@@ -130,8 +268,15 @@ public class Lasso {
         this.caughtBall = null;
     }
 
+    private static long squaredPixels(int pixels) {
+        long fixed = Fixed.fromInt(pixels);
+        return fixed * fixed;
+    }
+
     // Getter untuk state dan bola yang ditangkap
     public boolean isActive() { return state != State.INACTIVE; }
     public boolean isExtending() { return state == State.EXTENDING; }
     public Ball getRetractedBall() { return caughtBall; }
+    public int getEndX() { return endX; }
+    public int getEndY() { return endY; }
 }
\ No newline at end of file
@@ -0,0 +1,224 @@
+package model;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Kelas LeaderboardRepository berisi operasi baca leaderboard atas tabel 'thasil'.
+ * Halaman dibaca dengan keyset pagination (melanjutkan dari baris terakhir halaman sebelumnya,
+ * bukan OFFSET), sehingga setiap halaman cukup membaca index (skor, username) tanpa
+ * mengurutkan seluruh tabel. Peringkat dijawab dari {@link RankIndex} di memori dalam
+ * O(log n); index ini dimuat ulang dari database secara berkala lewat {@link #reconcile()}
+ * dan diperbarui setiap kali ScoreSink meng-commit skor baru.
+ *
+ * Query mengurutkan dan membandingkan username dengan collation kolomnya (pada MySQL bawaan
+ * tidak membedakan huruf besar/kecil maupun aksen, dengan aturan tanda baca tersendiri).
+ * Urutan itu tidak ditiru di Java: setiap baris dibaca bersama WEIGHT_STRING(username), kunci
+ * urut yang dihitung database dengan collation yang sama, dan {@link #RANKING} membandingkan
+ * kunci tersebut byte demi byte. Dengan begitu batas keyset, peringkat di index, dan urutan
+ * tabel selalu sama dengan database, sementara ORDER BY tetap dilayani index (skor, username).
+ * Username yang dikembalikan database selalu ejaan yang tersimpan, jadi kesamaan username di
+ * Java cukup dengan equals().
+ */
+public class LeaderboardRepository {
+    private static final int RELOAD_CHUNK = 1_000;
+
+    /**
+     * Urutan leaderboard: skor terbesar dulu, lalu kunci urut username dari database,
+     * sama dengan ORDER BY skor DESC, username pada query.
+     */
+    public static final Comparator<ScoreData> RANKING = Comparator.comparingInt(ScoreData::getScore).reversed()
+            .thenComparing(ScoreData::getSortKey, Arrays::compareUnsigned);
+
+    // Kolom yang dibaca setiap query baris leaderboard (lihat readRows)
+    static final String ROW_COLUMNS = "username, skor, count, WEIGHT_STRING(username) AS sort_key";
+
+    private static final String FIRST_PAGE_SQL =
+            "SELECT " + ROW_COLUMNS + " FROM thasil ORDER BY skor DESC, username LIMIT ?";
+    private static final String NEXT_PAGE_SQL =
+            "SELECT " + ROW_COLUMNS + " FROM thasil WHERE skor < ? OR (skor = ? AND username > ?) "
+                    + "ORDER BY skor DESC, username LIMIT ?";
+    private static final String RANK_SQL =
+            "SELECT COUNT(*) FROM thasil WHERE skor > ? OR (skor = ? AND username < ?)";
+    private static final String FIND_SQL = "SELECT " + ROW_COLUMNS + " FROM thasil WHERE username = ?";
+    private static final String OFFSET_SQL =
+            "SELECT " + ROW_COLUMNS + " FROM thasil ORDER BY skor DESC, username LIMIT ? OFFSET ?";
+
+    private static final Object LOCK = new Object();
+    // Hanya satu reconcile() yang boleh berjalan pada satu waktu
+    private static final Object RELOAD_LOCK = new Object();
+    // null sampai pemuatan pertama selesai; selama itu peringkat dijawab langsung oleh database
+    private static RankIndex index;
+    // Pembaruan yang tiba selama reconcile() membangun index baru, diterapkan ulang sebelum ditukar
+    private static List<ScoreData> updatesDuringReload;
+
+    /**
+     * Membaca satu halaman leaderboard.
+     * @param after Baris terakhir halaman sebelumnya, atau null untuk halaman pertama.
+     * @param limit Jumlah baris maksimum.
+     * @return Baris-baris halaman ini, terurut skor terbesar lalu username.
+     * @throws SQLException jika query gagal.
+     */
+    public static List<ScoreData> findPage(ScoreData after, int limit) throws SQLException {
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(after == null ? FIRST_PAGE_SQL : NEXT_PAGE_SQL)) {
+            if (after == null) {
+                stmt.setInt(1, limit);
+            } else {
+                stmt.setInt(1, after.getScore());
+                stmt.setInt(2, after.getScore());
+                stmt.setString(3, after.getUsername());
+                stmt.setInt(4, limit);
+            }
+            return readRows(stmt);
+        }
+    }
+
+    /**
+     * Mencari peringkat seorang pemain.
+     * @param username Nama pemain.
+     * @return Peringkat (1 = teratas), atau 0 jika pemain tidak ditemukan.
+     * @throws SQLException jika index belum dimuat dan query ke database gagal.
+     */
+    public static int findRank(String username) throws SQLException {
+        synchronized (LOCK) {
+            if (index != null) {
+                int rank = index.rankOf(username);
+                if (rank > 0) return rank;
+            }
+        }
+
+        // Ejaan yang diketik bisa berbeda dari yang tersimpan (misalnya "bob" untuk "Bob");
+        // database mencocokkannya dengan collation kolom lalu index dicari dengan ejaan tersimpan
+        ScoreData player = findByUsername(username);
+        if (player == null) return 0;
+        synchronized (LOCK) {
+            if (index != null) {
+                return index.rankOf(player.getUsername());
+            }
+        }
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(RANK_SQL)) {
+            stmt.setInt(1, player.getScore());
+            stmt.setInt(2, player.getScore());
+            stmt.setString(3, player.getUsername());
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? rs.getInt(1) + 1 : 0;
+            }
+        }
+    }
+
+    /**
+     * Membaca pemain pada rentang peringkat tertentu.
+     * @param fromRank Peringkat pertama (1 = teratas).
+     * @param limit Jumlah baris maksimum.
+     * @return Baris-baris pada rentang tersebut.
+     * @throws SQLException jika index belum dimuat dan query ke database gagal.
+     */
+    public static List<ScoreData> findRange(int fromRank, int limit) throws SQLException {
+        synchronized (LOCK) {
+            if (index != null) {
+                return index.range(fromRank, limit);
+            }
+        }
+        // Hanya sebelum index dimuat: OFFSET tetap benar meski harus melewati fromRank - 1 baris
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(OFFSET_SQL)) {
+            stmt.setInt(1, limit);
+            stmt.setInt(2, Math.max(0, fromRank - 1));
+            return readRows(stmt);
+        }
+    }
+
+    /**
+     * @return Jumlah pemain di index, atau -1 jika index belum dimuat.
+     */
+    public static int getPlayerCount() {
+        synchronized (LOCK) {
+            return index == null ? -1 : index.size();
+        }
+    }
+
+    /**
+     * Membangun ulang index peringkat dari seluruh isi tabel (dibaca per potongan dengan
+     * keyset pagination), lalu menukarnya dengan index lama. Menangkap perubahan dari
+     * klien lain yang tidak lewat ScoreSink aplikasi ini.
+     * @throws SQLException jika pembacaan gagal (index lama tetap dipakai).
+     */
+    public static void reconcile() throws SQLException {
+        synchronized (RELOAD_LOCK) {
+            synchronized (LOCK) {
+                updatesDuringReload = new ArrayList<>();
+            }
+            RankIndex rebuilt = new RankIndex();
+            try {
+                ScoreData after = null;
+                while (true) {
+                    List<ScoreData> chunk = findPage(after, RELOAD_CHUNK);
+                    for (ScoreData data : chunk) {
+                        rebuilt.put(data);
+                    }
+                    if (chunk.size() < RELOAD_CHUNK) break;
+                    after = chunk.get(chunk.size() - 1);
+                }
+
+                synchronized (LOCK) {
+                    for (ScoreData data : updatesDuringReload) {
+                        rebuilt.putIfNotLower(data);
+                    }
+                    index = rebuilt;
+                }
+            } finally {
+                synchronized (LOCK) {
+                    updatesDuringReload = null;
+                }
+            }
+        }
+    }
+
+    /**
+     * Menerapkan total terbaru (hasil commit ScoreSink) ke index peringkat.
+     * @param totals Total absolut per username.
+     */
+    public static void applyTotals(List<ScoreData> totals) {
+        synchronized (LOCK) {
+            if (updatesDuringReload != null) {
+                updatesDuringReload.addAll(totals);
+            }
+            if (index != null) {
+                for (ScoreData data : totals) {
+                    index.putIfNotLower(data);
+                }
+            }
+        }
+    }
+
+    private static ScoreData findByUsername(String username) throws SQLException {
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(FIND_SQL)) {
+            stmt.setString(1, username);
+            List<ScoreData> rows = readRows(stmt);
+            return rows.isEmpty() ? null : rows.get(0);
+        }
+    }
+
+    /**
+     * Membaca baris hasil query yang memilih {@link #ROW_COLUMNS}.
+     */
+    static List<ScoreData> readRows(PreparedStatement stmt) throws SQLException {
+        List<ScoreData> list = new ArrayList<>();
+        try (ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                list.add(new ScoreData(rs.getString("username"), rs.getInt("skor"), rs.getInt("count"),
+                        rs.getBytes("sort_key")));
+            }
+        }
+        return list;
+    }
+}
@@ -17,12 +17,16 @@ public class Player {
 
     private Ball heldBall = null;
 
+    // Hitbox yang selalu mengikuti posisi pemain, dipakai ulang tanpa alokasi
+    private final Aabb hitbox = new Aabb();
+
     // TAMBAHAN: Variabel untuk menyimpan arah hadap, default ke kanan
     private Direction facingDirection = Direction.RIGHT;
 
     public Player(int x, int y) {
         this.x = x;
         this.y = y;
+        hitbox.setCentered(x, y, width, height);
     }
 
     public void move(boolean up, boolean down, boolean left, boolean right) {
@@ -30,8 +34,15 @@ public class Player {
         if (down) y += speed;
         if (left) x -= speed;
         if (right) x += speed;
+        hitbox.setCentered(x, y, width, height);
+    }
+
+    // Hitbox bebas alokasi untuk deteksi tabrakan setiap tick
+    public Aabb getHitbox() {
+        return hitbox;
     }
 
+    // Membuat Rectangle baru setiap dipanggil, hanya untuk menggambar hitbox saat debugging
     public Rectangle getBounds() {
         int hitboxX = x - width / 2;
         int hitboxY = y - height / 2;
@@ -53,5 +64,9 @@ public class Player {
     public Ball getHeldBall() { return this.heldBall; }
     public int getX() { return x; }
     public int getY() { return y; }
-    public void setPosition(int x, int y) { this.x = x; this.y = y; }
+    public void setPosition(int x, int y) {
+        this.x = x;
+        this.y = y;
+        hitbox.setCentered(x, y, width, height);
+    }
 }
\ No newline at end of file
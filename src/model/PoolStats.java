@@ -0,0 +1,69 @@
+package model;
+
+import java.util.Locale;
+
+/**
+ * Snapshot metrik pool koneksi database pada satu waktu.
+ */
+public class PoolStats {
+    private final int active;
+    private final int idle;
+    private final int maxSize;
+    private final long borrowCount;
+    private final long totalBorrowNanos;
+    private final long maxBorrowNanos;
+    private final long waitCount;
+    private final long timeoutCount;
+    private final long createdCount;
+    private final long evictedCount;
+    private final long invalidCount;
+    private final long statementHits;
+    private final long statementMisses;
+
+    public PoolStats(int active, int idle, int maxSize, long borrowCount, long totalBorrowNanos, long maxBorrowNanos,
+                     long waitCount, long timeoutCount, long createdCount, long evictedCount, long invalidCount,
+                     long statementHits, long statementMisses) {
+        this.active = active;
+        this.idle = idle;
+        this.maxSize = maxSize;
+        this.borrowCount = borrowCount;
+        this.totalBorrowNanos = totalBorrowNanos;
+        this.maxBorrowNanos = maxBorrowNanos;
+        this.waitCount = waitCount;
+        this.timeoutCount = timeoutCount;
+        this.createdCount = createdCount;
+        this.evictedCount = evictedCount;
+        this.invalidCount = invalidCount;
+        this.statementHits = statementHits;
+        this.statementMisses = statementMisses;
+    }
+
+    public int getActive() { return active; }
+    public int getIdle() { return idle; }
+    public int getMaxSize() { return maxSize; }
+    public long getBorrowCount() { return borrowCount; }
+    public long getMaxBorrowNanos() { return maxBorrowNanos; }
+    public long getWaitCount() { return waitCount; }
+    public long getTimeoutCount() { return timeoutCount; }
+    public long getCreatedCount() { return createdCount; }
+    public long getEvictedCount() { return evictedCount; }
+    public long getInvalidCount() { return invalidCount; }
+    public long getStatementHits() { return statementHits; }
+    public long getStatementMisses() { return statementMisses; }
+
+    /**
+     * @return Rata-rata waktu meminjam koneksi dalam nanodetik (0 jika belum pernah meminjam).
+     */
+    public double getAverageBorrowNanos() {
+        return borrowCount == 0 ? 0 : (double) totalBorrowNanos / borrowCount;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT,
+                "pool active=%d idle=%d max=%d | borrow n=%d avg=%.1fus max=%.1fus wait=%d timeout=%d"
+                        + " | conn created=%d evicted=%d invalid=%d | stmt hit=%d miss=%d",
+                active, idle, maxSize, borrowCount, getAverageBorrowNanos() / 1_000.0, maxBorrowNanos / 1_000.0,
+                waitCount, timeoutCount, createdCount, evictedCount, invalidCount, statementHits, statementMisses);
+    }
+}
@@ -0,0 +1,246 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Kelas RankIndex adalah struktur order-statistics (treap dengan ukuran subtree)
+ * berisi seluruh pemain, diurutkan seperti leaderboard: skor terbesar dulu, lalu username.
+ * Skor yang sama diurutkan dengan kunci urut username dari database (lihat
+ * {@link LeaderboardRepository#RANKING}), dan pemain dicari dengan ejaan username yang tersimpan.
+ * Peringkat seorang pemain, pemain pada peringkat ke-k, dan pembaruan skor
+ * masing-masing O(log n) (harapan), tanpa perlu mengurutkan ulang seluruh tabel.
+ *
+ * Kelas ini tidak thread-safe; sinkronisasi diatur oleh {@link LeaderboardRepository}.
+ */
+public class RankIndex {
+    private static final class Node {
+        final String username;
+        final int score;
+        final int count;
+        final byte[] sortKey;
+        final int priority;
+        int size = 1;
+        Node left, right;
+
+        Node(ScoreData data, int priority) {
+            this.username = data.getUsername();
+            this.score = data.getScore();
+            this.count = data.getCount();
+            this.sortKey = data.getSortKey();
+            this.priority = priority;
+        }
+    }
+
+    private Node root;
+    private final Map<String, Node> byUsername = new HashMap<>();
+    // Seed tetap agar bentuk pohon dapat diulang saat debugging
+    private final Random random = new Random(0x5EED);
+
+    /**
+     * Menyimpan atau mengganti total milik seorang pemain.
+     * @param data Baris dari database, termasuk kunci urut username-nya.
+     */
+    public void put(ScoreData data) {
+        Node old = byUsername.get(data.getUsername());
+        if (old != null) {
+            if (old.score == data.getScore() && old.count == data.getCount()) return;
+            root = remove(root, old);
+        }
+        Node node = new Node(data, random.nextInt());
+        root = insert(root, node);
+        byUsername.put(node.username, node);
+    }
+
+    /**
+     * Seperti {@link #put}, tetapi hanya jika skor baru tidak lebih kecil dari yang tersimpan.
+     * Dipakai saat menggabungkan data lama dan baru, karena total skor hanya bisa bertambah.
+     */
+    public void putIfNotLower(ScoreData data) {
+        Node old = byUsername.get(data.getUsername());
+        if (old == null || old.score <= data.getScore()) {
+            put(data);
+        }
+    }
+
+    /**
+     * @return Peringkat pemain (1 = teratas), atau 0 jika tidak ada.
+     */
+    public int rankOf(String username) {
+        Node target = byUsername.get(username);
+        if (target == null) return 0;
+        int rank = 0;
+        Node current = root;
+        while (current != null) {
+            int cmp = compare(target, current);
+            if (cmp < 0) {
+                current = current.left;
+            } else {
+                rank += size(current.left) + 1;
+                if (cmp == 0) break;
+                current = current.right;
+            }
+        }
+        return rank;
+    }
+
+    /**
+     * @param rank Peringkat 1..size().
+     * @return Data pemain pada peringkat tersebut, atau null jika di luar jangkauan.
+     */
+    public ScoreData get(int rank) {
+        Node node = select(rank);
+        return node == null ? null : toScoreData(node);
+    }
+
+    /**
+     * @param fromRank Peringkat pertama (1 = teratas).
+     * @param limit Jumlah maksimum pemain.
+     * @return Pemain pada peringkat fromRank sampai fromRank + limit - 1.
+     */
+    public List<ScoreData> range(int fromRank, int limit) {
+        List<ScoreData> result = new ArrayList<>(Math.max(0, Math.min(limit, size() - fromRank + 1)));
+        // Turun ke node awal sambil menyimpan jalur, lalu lanjutkan traversal in-order
+        List<Node> stack = new ArrayList<>();
+        Node current = root;
+        int k = fromRank;
+        while (current != null) {
+            int leftSize = size(current.left);
+            if (k <= leftSize) {
+                stack.add(current);
+                current = current.left;
+            } else if (k == leftSize + 1) {
+                stack.add(current);
+                break;
+            } else {
+                k -= leftSize + 1;
+                current = current.right;
+            }
+        }
+        if (current == null) return result;
+
+        while (!stack.isEmpty() && result.size() < limit) {
+            Node node = stack.remove(stack.size() - 1);
+            result.add(toScoreData(node));
+            Node next = node.right;
+            while (next != null) {
+                stack.add(next);
+                next = next.left;
+            }
+        }
+        return result;
+    }
+
+    public int size() {
+        return size(root);
+    }
+
+    // --- Operasi treap ---
+
+    /**
+     * Urutan leaderboard: skor terbesar dulu, username sebagai penentu jika seri.
+     */
+    private static int compare(Node a, Node b) {
+        if (a.score != b.score) return a.score > b.score ? -1 : 1;
+        return Arrays.compareUnsigned(a.sortKey, b.sortKey);
+    }
+
+    private Node insert(Node tree, Node node) {
+        if (tree == null) return node;
+        if (node.priority > tree.priority) {
+            Node[] parts = split(tree, node);
+            node.left = parts[0];
+            node.right = parts[1];
+            update(node);
+            return node;
+        }
+        if (compare(node, tree) < 0) {
+            tree.left = insert(tree.left, node);
+        } else {
+            tree.right = insert(tree.right, node);
+        }
+        update(tree);
+        return tree;
+    }
+
+    /**
+     * Memecah pohon menjadi node yang berurutan sebelum key dan sesudahnya.
+     */
+    private Node[] split(Node tree, Node key) {
+        if (tree == null) return new Node[]{null, null};
+        if (compare(tree, key) < 0) {
+            Node[] parts = split(tree.right, key);
+            tree.right = parts[0];
+            update(tree);
+            parts[0] = tree;
+            return parts;
+        } else {
+            Node[] parts = split(tree.left, key);
+            tree.left = parts[1];
+            update(tree);
+            parts[1] = tree;
+            return parts;
+        }
+    }
+
+    private Node remove(Node tree, Node target) {
+        if (tree == null) return null;
+        if (tree == target) {
+            return merge(tree.left, tree.right);
+        }
+        if (compare(target, tree) < 0) {
+            tree.left = remove(tree.left, target);
+        } else {
+            tree.right = remove(tree.right, target);
+        }
+        update(tree);
+        return tree;
+    }
+
+    private Node merge(Node a, Node b) {
+        if (a == null) return b;
+        if (b == null) return a;
+        if (a.priority > b.priority) {
+            a.right = merge(a.right, b);
+            update(a);
+            return a;
+        }
+        b.left = merge(a, b.left);
+        update(b);
+        return b;
+    }
+
+    private Node select(int rank) {
+        if (rank < 1 || rank > size()) return null;
+        Node current = root;
+        int k = rank;
+        while (current != null) {
+            int leftSize = size(current.left);
+            if (k <= leftSize) {
+                current = current.left;
+            } else if (k == leftSize + 1) {
+                return current;
+            } else {
+                k -= leftSize + 1;
+                current = current.right;
+            }
+        }
+        return null;
+    }
+
+    private static int size(Node node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private static void update(Node node) {
+        node.size = 1 + size(node.left) + size(node.right);
+    }
+
+    private static ScoreData toScoreData(Node node) {
+        return new ScoreData(node.username, node.score, node.count, node.sortKey);
+    }
+}
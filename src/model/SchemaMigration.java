@@ -0,0 +1,177 @@
+package model;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Kelas SchemaMigration menyiapkan skema tabel 'thasil' yang dibutuhkan jalur penyimpanan skor:
+ * unique key pada username (syarat INSERT ... ON DUPLICATE KEY UPDATE) dan index (skor, username)
+ * (untuk query leaderboard ORDER BY skor DESC, username dan keyset pagination). Migrasi bersifat idempoten: index yang sudah
+ * ada tidak dibuat ulang, jadi aman dijalankan setiap kali aplikasi dimulai.
+ */
+public class SchemaMigration {
+    private static final String UNIQUE_USERNAME = "uk_thasil_username";
+    private static final String SKOR_INDEX = "idx_thasil_skor";
+
+    // true setelah dipastikan username unik; sebelum itu ScoreRepository memakai jalur transaksi lama
+    private static volatile boolean usernameUnique = false;
+
+    /**
+     * Menjalankan migrasi di thread latar belakang agar startup tidak menunggu database.
+     */
+    public static void migrateInBackground() {
+        Thread thread = new Thread(() -> {
+            try {
+                migrate();
+            } catch (SQLException | RuntimeException e) {
+                // Database belum tersedia bukan alasan untuk menghentikan game
+                System.err.println("Migrasi skema database gagal: " + e.getMessage());
+            }
+        }, "schema-migration");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Menambahkan unique key pada username dan index pada skor jika belum ada.
+     * Baris ganda dengan username yang sama (sisa race pada jalur lama) digabung lebih dulu.
+     * @throws SQLException jika migrasi gagal.
+     */
+    public static synchronized void migrate() throws SQLException {
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            Map<String, List<String>> uniqueIndexes = new HashMap<>();
+            Map<String, List<String>> allIndexes = new HashMap<>();
+            readIndexes(conn, uniqueIndexes, allIndexes);
+
+            if (!hasIndexOn(uniqueIndexes, "username", true)) {
+                addUniqueUsername(conn);
+                System.out.println("Migrasi: unique key " + UNIQUE_USERNAME + " ditambahkan.");
+            }
+            usernameUnique = true;
+
+            if (!hasIndexOn(allIndexes, "skor", false)) {
+                try (Statement stmt = conn.createStatement()) {
+                    stmt.executeUpdate("CREATE INDEX " + SKOR_INDEX + " ON thasil (skor DESC, username)");
+                }
+                System.out.println("Migrasi: index " + SKOR_INDEX + " ditambahkan.");
+            }
+        }
+    }
+
+    /**
+     * @return true jika unique key pada username sudah dipastikan ada.
+     */
+    public static boolean isUsernameUnique() {
+        return usernameUnique;
+    }
+
+    private static void readIndexes(Connection conn, Map<String, List<String>> uniqueIndexes,
+                                    Map<String, List<String>> allIndexes) throws SQLException {
+        DatabaseMetaData meta = conn.getMetaData();
+        // Nama tabel bisa disimpan dalam huruf besar (misalnya pada H2/Derby)
+        for (String table : new String[]{"thasil", "THASIL"}) {
+            try (ResultSet rs = meta.getIndexInfo(conn.getCatalog(), null, table, false, false)) {
+                while (rs.next()) {
+                    String indexName = rs.getString("INDEX_NAME");
+                    String column = rs.getString("COLUMN_NAME");
+                    if (indexName == null || column == null) continue;
+                    column = column.toLowerCase();
+                    allIndexes.computeIfAbsent(indexName, k -> new ArrayList<>()).add(column);
+                    if (!rs.getBoolean("NON_UNIQUE")) {
+                        uniqueIndexes.computeIfAbsent(indexName, k -> new ArrayList<>()).add(column);
+                    }
+                }
+            }
+            if (!allIndexes.isEmpty()) break;
+        }
+    }
+
+    /**
+     * @param exact true jika index harus hanya berisi kolom tersebut; false jika cukup diawali kolom itu.
+     */
+    private static boolean hasIndexOn(Map<String, List<String>> indexes, String column, boolean exact) {
+        for (List<String> columns : indexes.values()) {
+            if (columns.isEmpty() || !columns.get(0).equals(column)) continue;
+            if (!exact || columns.size() == 1) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Menggabungkan username ganda lalu menambahkan unique key, selama tabel dikunci.
+     * Simpanan lewat jalur lama dari klien lain (yang masih aktif sampai unique key ada) menunggu
+     * kunci dilepas, sehingga tidak ada baris ganda baru di antara penggabungan dan ALTER TABLE.
+     */
+    private static void addUniqueUsername(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            conn.setAutoCommit(false);
+            stmt.execute("LOCK TABLES thasil WRITE");
+            try {
+                mergeDuplicateUsernames(conn);
+                conn.commit();
+                stmt.executeUpdate("ALTER TABLE thasil ADD UNIQUE KEY " + UNIQUE_USERNAME + " (username)");
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                stmt.execute("UNLOCK TABLES");
+                conn.setAutoCommit(true);
+            }
+        }
+    }
+
+    /**
+     * Menggabungkan baris-baris dengan username sama: satu baris dipertahankan (beserta kolom
+     * lainnya) dan diisi total skor dan count, baris sisanya dihapus.
+     * Dipanggil di dalam transaksi dan kunci tabel milik {@link #addUniqueUsername(Connection)}.
+     */
+    private static void mergeDuplicateUsernames(Connection conn) throws SQLException {
+        List<String> duplicates = new ArrayList<>();
+        try (PreparedStatement stmt = conn.prepareStatement(
+                "SELECT username FROM thasil GROUP BY username HAVING COUNT(*) > 1");
+             ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                duplicates.add(rs.getString("username"));
+            }
+        }
+        if (duplicates.isEmpty()) return;
+
+        for (String username : duplicates) {
+            int totalSkor = 0, totalCount = 0, rows = 0;
+            try (PreparedStatement sum = conn.prepareStatement(
+                    "SELECT SUM(skor) AS skor, SUM(count) AS count, COUNT(*) AS n FROM thasil WHERE username = ?")) {
+                sum.setString(1, username);
+                try (ResultSet rs = sum.executeQuery()) {
+                    if (rs.next()) {
+                        totalSkor = rs.getInt("skor");
+                        totalCount = rs.getInt("count");
+                        rows = rs.getInt("n");
+                    }
+                }
+            }
+            if (rows < 2) continue;
+            // Tabel tidak punya kunci lain untuk membedakan baris, jadi sisa baris dihapus dengan LIMIT
+            try (PreparedStatement delete = conn.prepareStatement("DELETE FROM thasil WHERE username = ? LIMIT ?")) {
+                delete.setString(1, username);
+                delete.setInt(2, rows - 1);
+                delete.executeUpdate();
+            }
+            try (PreparedStatement update = conn.prepareStatement(
+                    "UPDATE thasil SET skor = ?, count = ? WHERE username = ?")) {
+                update.setInt(1, totalSkor);
+                update.setInt(2, totalCount);
+                update.setString(3, username);
+                update.executeUpdate();
+            }
+        }
+        System.out.println("Migrasi: " + duplicates.size() + " username ganda digabung.");
+    }
+}
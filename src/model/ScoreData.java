@@ -5,13 +5,21 @@ public class ScoreData {
     private String username;
     private int score;
     private int count;
+    // WEIGHT_STRING(username) dari database untuk pengurutan leaderboard; null jika tidak dibaca dari database
+    private byte[] sortKey;
 
     public ScoreData(String username, int score, int count) {
         this.username = username;
         this.score = score;
         this.count = count;
     }
+
+    public ScoreData(String username, int score, int count, byte[] sortKey) {
+        this(username, score, count);
+        this.sortKey = sortKey;
+    }
     public String getUsername() { return username; }
     public int getScore() { return score; }
     public int getCount() { return count; }
+    public byte[] getSortKey() { return sortKey; }
 }
\ No newline at end of file
@@ -0,0 +1,199 @@
+package model;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Kelas ScoreRepository berisi operasi penyimpanan skor ke tabel 'thasil'.
+ */
+public class ScoreRepository {
+
+    // Satu statement atomik: tambah baris baru, atau akumulasikan jika username sudah ada
+    private static final String UPSERT_SQL = "INSERT INTO thasil(username, skor, count) VALUES(?, ?, ?) "
+            + "ON DUPLICATE KEY UPDATE skor = skor + ?, count = count + ?";
+
+    // Ukuran daftar IN yang dipakai findTotals. Hanya empat bentuk SQL ini yang masuk cache
+    // statement; daftar yang lebih pendek diisi dengan username terakhir yang diulang.
+    private static final int[] IN_BUCKETS = {1, 4, 16, 64};
+    private static final String[] FIND_TOTALS_SQL = new String[IN_BUCKETS.length];
+
+    static {
+        for (int b = 0; b < IN_BUCKETS.length; b++) {
+            StringBuilder sql = new StringBuilder("SELECT " + LeaderboardRepository.ROW_COLUMNS + " FROM thasil WHERE username IN (");
+            for (int i = 0; i < IN_BUCKETS[b]; i++) {
+                sql.append(i == 0 ? "?" : ", ?");
+            }
+            FIND_TOTALS_SQL[b] = sql.append(')').toString();
+        }
+    }
+
+    /**
+     * Menambahkan skor dan hitungan satu sesi ke akumulasi milik username.
+     * Jika username sudah ada, skor akan diakumulasikan. Jika tidak, data baru akan dibuat.
+     * Setelah {@link SchemaMigration} memastikan username unik, penyimpanan cukup satu
+     * statement upsert (satu round trip, tanpa race baca-ubah-tulis antar klien).
+     * @param username Nama pemain.
+     * @param score Skor sesi yang akan ditambahkan.
+     * @param count Jumlah kristal sesi yang akan ditambahkan.
+     * @throws SQLException jika penyimpanan gagal (transaksi sudah dibatalkan).
+     */
+    public static void accumulateScore(String username, int score, int count) throws SQLException {
+        if (SchemaMigration.isUsernameUnique()) {
+            upsertScore(username, score, count);
+        } else {
+            accumulateScores(Collections.singletonList(new ScoreData(username, score, count)));
+        }
+    }
+
+    /**
+     * Menambahkan beberapa hasil sesi sekaligus dalam satu transaksi. Dengan unique key
+     * pada username, semua upsert dikirim sebagai satu JDBC batch.
+     * Jika gagal, tidak ada satu pun hasil yang tersimpan, jadi aman untuk diulang.
+     * @param scores Hasil sesi (skor dan count yang akan ditambahkan per username).
+     * @throws SQLException jika penyimpanan gagal (transaksi sudah dibatalkan).
+     */
+    public static void accumulateScores(List<ScoreData> scores) throws SQLException {
+        if (scores.isEmpty()) return;
+        Connection conn = null;
+        try {
+            conn = DatabaseConnection.getConnection();
+            // Mematikan auto-commit untuk manajemen transaksi manual
+            conn.setAutoCommit(false);
+
+            if (SchemaMigration.isUsernameUnique()) {
+                try (PreparedStatement stmt = conn.prepareStatement(UPSERT_SQL)) {
+                    for (ScoreData data : scores) {
+                        stmt.setString(1, data.getUsername());
+                        stmt.setInt(2, data.getScore());
+                        stmt.setInt(3, data.getCount());
+                        stmt.setInt(4, data.getScore());
+                        stmt.setInt(5, data.getCount());
+                        stmt.addBatch();
+                    }
+                    stmt.executeBatch();
+                }
+            } else {
+                for (ScoreData data : scores) {
+                    accumulateWithoutUniqueKey(conn, data.getUsername(), data.getScore(), data.getCount());
+                }
+            }
+
+            // Jika semua operasi berhasil, commit transaksi
+            conn.commit();
+
+        } catch (SQLException e) {
+            // Jika terjadi error, batalkan semua perubahan dalam transaksi ini
+            if (conn != null) {
+                try {
+                    conn.rollback();
+                } catch (SQLException ex) {
+                    ex.printStackTrace();
+                }
+            }
+            throw e;
+        } finally {
+            // Selalu pastikan koneksi dikembalikan ke pool, juga saat koneksinya sudah rusak.
+            // Pool sendiri yang membatalkan transaksi dan menyalakan lagi auto-commit.
+            if (conn != null) {
+                try {
+                    conn.close();
+                } catch (SQLException e) {
+                    e.printStackTrace();
+                }
+            }
+        }
+    }
+
+    /**
+     * Membaca total skor dan count terkini untuk sekumpulan username.
+     * @param usernames Username yang ingin dibaca.
+     * @return Total per username dengan ejaan tersimpan dan kunci urutnya (username yang tidak ada di tabel dilewati).
+     * @throws SQLException jika query gagal.
+     */
+    public static List<ScoreData> findTotals(Collection<String> usernames) throws SQLException {
+        List<ScoreData> totals = new ArrayList<>();
+        if (usernames.isEmpty()) return totals;
+
+        List<String> names = new ArrayList<>(usernames);
+        int largest = IN_BUCKETS[IN_BUCKETS.length - 1];
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            // Daftar yang lebih panjang dari bucket terbesar (misalnya saat journal diputar ulang) dibagi beberapa query
+            for (int from = 0; from < names.size(); from += largest) {
+                int n = Math.min(largest, names.size() - from);
+                int bucket = 0;
+                while (IN_BUCKETS[bucket] < n) bucket++;
+                try (PreparedStatement stmt = conn.prepareStatement(FIND_TOTALS_SQL[bucket])) {
+                    for (int i = 0; i < IN_BUCKETS[bucket]; i++) {
+                        stmt.setString(i + 1, names.get(from + Math.min(i, n - 1)));
+                    }
+                    totals.addAll(LeaderboardRepository.readRows(stmt));
+                }
+            }
+        }
+        return totals;
+    }
+
+    private static void upsertScore(String username, int score, int count) throws SQLException {
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(UPSERT_SQL)) {
+            stmt.setString(1, username);
+            stmt.setInt(2, score);
+            stmt.setInt(3, count);
+            stmt.setInt(4, score);
+            stmt.setInt(5, count);
+            stmt.executeUpdate();
+        }
+    }
+
+    /**
+     * Jalur lama untuk skema tanpa unique key pada username: SELECT lalu UPDATE atau INSERT.
+     * Harus dipanggil di dalam transaksi yang dikelola pemanggil.
+     */
+    private static void accumulateWithoutUniqueKey(Connection conn, String username, int score, int count)
+            throws SQLException {
+        // 1. Cek apakah username sudah ada dan ambil data lamanya
+        String checkSql = "SELECT skor, count FROM thasil WHERE username = ?";
+        int oldSkor = 0;
+        int oldCount = 0;
+        boolean userExists = false;
+
+        try (PreparedStatement checkStmt = conn.prepareStatement(checkSql)) {
+            checkStmt.setString(1, username);
+            try (ResultSet rs = checkStmt.executeQuery()) {
+                if (rs.next()) {
+                    // Jika user ditemukan, simpan data lamanya
+                    userExists = true;
+                    oldSkor = rs.getInt("skor");
+                    oldCount = rs.getInt("count");
+                }
+            }
+        }
+
+        // 2. Putuskan untuk UPDATE (jika ada) atau INSERT (jika tidak ada)
+        if (userExists) {
+            // Pengguna sudah ada, lakukan UPDATE dengan menambahkan skor baru
+            String updateSql = "UPDATE thasil SET skor = ?, count = ? WHERE username = ?";
+            try (PreparedStatement updateStmt = conn.prepareStatement(updateSql)) {
+                updateStmt.setInt(1, oldSkor + score);
+                updateStmt.setInt(2, oldCount + count);
+                updateStmt.setString(3, username);
+                updateStmt.executeUpdate();
+            }
+        } else {
+            // Pengguna baru, lakukan INSERT seperti biasa
+            String insertSql = "INSERT INTO thasil(username, skor, count) VALUES(?, ?, ?)";
+            try (PreparedStatement insertStmt = conn.prepareStatement(insertSql)) {
+                insertStmt.setString(1, username);
+                insertStmt.setInt(2, score);
+                insertStmt.setInt(3, count);
+                insertStmt.executeUpdate();
+            }
+        }
+    }
+}
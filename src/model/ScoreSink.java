@@ -0,0 +1,407 @@
+package model;
+
+import util.GameEvents;
+import util.LatencyHistogram;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Kelas ScoreSink menyimpan hasil permainan ke database secara write-behind.
+ * {@link #submit(String, int, int)} hanya memasukkan hasil ke antrean terbatas dan langsung
+ * kembali, sehingga thread pemanggil (biasanya EDT) tidak pernah menunggu JDBC.
+ * Worker di latar belakang mengambil semua hasil yang menunggu, menggabungkannya per username,
+ * lalu menulisnya sebagai satu JDBC batch. Jika gagal, penulisan diulang dengan jeda yang
+ * makin panjang; jika database tetap tidak bisa dihubungi, hasil ditulis ke journal lokal
+ * (append-only) dan diputar ulang begitu database kembali atau saat aplikasi dimulai lagi.
+ *
+ * Jaminan penyimpanan adalah at-least-once: jika aplikasi berhenti tepat setelah commit
+ * tetapi sebelum journal dihapus, hasil dari journal dapat tersimpan dua kali.
+ */
+public class ScoreSink {
+    private static final int QUEUE_CAPACITY = 256;
+    private static final int MAX_BATCH = 64;
+    private static final int ATTEMPTS_BEFORE_SPILL = 3;
+    private static final long INITIAL_BACKOFF_MS = 250;
+    private static final long MAX_BACKOFF_MS = 30_000;
+
+    // Penanda untuk menghentikan worker setelah semua hasil sebelumnya diproses
+    private static final ScoreData STOP = new ScoreData("", 0, 0);
+
+    private static ScoreSink defaultSink;
+
+    /**
+     * Listener yang diberi tahu setelah hasil berhasil di-commit ke database.
+     */
+    public interface Listener {
+        /**
+         * Dipanggil dari thread worker, bukan dari EDT.
+         * @param totals Total terbaru (skor dan count absolut) untuk setiap username yang berubah.
+         */
+        void onScoresCommitted(List<ScoreData> totals);
+    }
+
+    private final BlockingQueue<ScoreData> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+    private final Path journal;
+    private final Object journalLock = new Object();
+    // Durasi dan kegagalan setiap percobaan penyimpanan (hanya ditulis worker)
+    private final LatencyHistogram saveDurations = new LatencyHistogram();
+    private volatile long failedSaves;
+    private Thread worker;
+
+    /**
+     * @param journal Lokasi file journal untuk hasil yang belum tersimpan.
+     */
+    public ScoreSink(Path journal) {
+        this.journal = journal;
+    }
+
+    /**
+     * Sink bersama milik aplikasi. Lokasi journal bisa diganti lewat -Dctc.score.journal.
+     */
+    public static synchronized ScoreSink getDefault() {
+        if (defaultSink == null) {
+            defaultSink = new ScoreSink(Paths.get(System.getProperty("ctc.score.journal", "scores.journal")));
+        }
+        return defaultSink;
+    }
+
+    /**
+     * Menjalankan worker. Hasil yang tertinggal di journal dari sesi sebelumnya diputar ulang lebih dulu.
+     */
+    public synchronized void start() {
+        if (worker != null) return;
+        worker = new Thread(this::runWorker, "score-writer");
+        worker.setDaemon(true);
+        worker.start();
+        // Hasil yang masih di antrean saat aplikasi keluar diselamatkan ke journal
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> stop(2_000), "score-writer-shutdown"));
+    }
+
+    /**
+     * Memasukkan hasil satu sesi ke antrean penyimpanan tanpa menunggu database.
+     * Jika antrean penuh, hasil langsung ditulis ke journal agar tidak hilang.
+     */
+    public void submit(String username, int score, int count) {
+        ScoreData result = new ScoreData(username, score, count);
+        if (!queue.offer(result)) {
+            System.err.println("Antrean skor penuh, hasil ditulis ke journal.");
+            spill(List.of(result));
+        }
+    }
+
+    public void addListener(Listener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(Listener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * @return Jumlah hasil yang masih menunggu di antrean.
+     */
+    public int getPendingCount() {
+        return queue.size();
+    }
+
+    /**
+     * @return Histogram durasi setiap percobaan penyimpanan batch (nanodetik).
+     */
+    public LatencyHistogram getSaveDurations() {
+        return saveDurations;
+    }
+
+    /**
+     * @return Jumlah percobaan penyimpanan yang gagal.
+     */
+    public long getFailedSaveCount() {
+        return failedSaves;
+    }
+
+    /**
+     * Menghentikan worker setelah antrean diproses. Jika worker belum selesai dalam batas waktu,
+     * sisa antrean ditulis ke journal.
+     * @param timeoutMillis Batas waktu menunggu worker.
+     */
+    public void stop(long timeoutMillis) {
+        Thread current;
+        synchronized (this) {
+            current = worker;
+            worker = null;
+        }
+        if (current == null) return;
+
+        try {
+            if (queue.offer(STOP, timeoutMillis, TimeUnit.MILLISECONDS)) {
+                current.join(timeoutMillis);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        current.interrupt();
+
+        List<ScoreData> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        remaining.remove(STOP);
+        if (!remaining.isEmpty()) {
+            spill(remaining);
+        }
+    }
+
+    private void runWorker() {
+        long backoff = INITIAL_BACKOFF_MS;
+        boolean journalPending = Files.exists(journal);
+        List<ScoreData> batch = new ArrayList<>();
+        try {
+            while (true) {
+                if (journalPending) {
+                    if (replayJournal()) {
+                        journalPending = false;
+                        backoff = INITIAL_BACKOFF_MS;
+                    } else {
+                        // Database masih belum bisa dihubungi: tunggu hasil baru atau jeda berikutnya
+                        ScoreData first = queue.poll(backoff, TimeUnit.MILLISECONDS);
+                        backoff = Math.min(backoff * 2, MAX_BACKOFF_MS);
+                        if (first == null) continue;
+                        batch.add(first);
+                    }
+                }
+                if (batch.isEmpty()) {
+                    batch.add(queue.take());
+                }
+                queue.drainTo(batch, MAX_BATCH - batch.size());
+
+                boolean stopping = batch.remove(STOP);
+                if (!batch.isEmpty()) {
+                    List<ScoreData> merged = mergeByUsername(batch);
+                    if (journalPending) {
+                        // Selama database tidak tersedia, hasil baru langsung ikut ke journal
+                        spill(merged);
+                    } else if (!writeWithRetry(merged)) {
+                        spill(merged);
+                        journalPending = true;
+                    }
+                }
+                batch.clear();
+                if (stopping) return;
+            }
+        } catch (InterruptedException e) {
+            // Sisa antrean ditangani oleh stop()
+            if (!batch.isEmpty()) {
+                batch.remove(STOP);
+                spill(mergeByUsername(batch));
+            }
+        }
+    }
+
+    /**
+     * Mencoba menulis satu batch beberapa kali dengan jeda eksponensial.
+     * Listener hanya diberi tahu sekali, setelah batch berhasil di-commit; kegagalan listener
+     * tidak dianggap sebagai kegagalan simpan, karena upsert tidak boleh diulang.
+     * @return true jika berhasil di-commit.
+     */
+    private boolean writeWithRetry(List<ScoreData> merged) throws InterruptedException {
+        long backoff = INITIAL_BACKOFF_MS;
+        for (int attempt = 1; attempt <= ATTEMPTS_BEFORE_SPILL; attempt++) {
+            try {
+                save(merged, attempt);
+            } catch (SQLException | RuntimeException e) {
+                System.err.println("Gagal menyimpan " + merged.size() + " skor (percobaan " + attempt + "): " + e.getMessage());
+                if (attempt < ATTEMPTS_BEFORE_SPILL) {
+                    Thread.sleep(backoff);
+                    backoff *= 2;
+                }
+                continue;
+            }
+            notifyListeners(merged);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Memutar ulang isi journal ke database dalam satu transaksi, lalu menghapus journal.
+     * @return true jika journal kosong atau berhasil disimpan.
+     */
+    private boolean replayJournal() {
+        List<ScoreData> pending;
+        synchronized (journalLock) {
+            if (!Files.exists(journal)) return true;
+            try {
+                pending = readJournal();
+            } catch (IOException e) {
+                System.err.println("Gagal membaca journal skor: " + e.getMessage());
+                return false;
+            }
+            if (pending.isEmpty()) {
+                deleteJournal();
+                return true;
+            }
+            try {
+                save(pending, 1);
+            } catch (SQLException | RuntimeException e) {
+                return false;
+            }
+            deleteJournal();
+        }
+        System.out.println("Journal skor diputar ulang: " + pending.size() + " username tersimpan.");
+        notifyListeners(pending);
+        return true;
+    }
+
+    /**
+     * Satu percobaan menyimpan batch, dicatat ke histogram dan sebagai event JFR.
+     */
+    private void save(List<ScoreData> batch, int attempt) throws SQLException {
+        GameEvents.DbSave event = new GameEvents.DbSave();
+        event.begin();
+        long start = System.nanoTime();
+        boolean success = false;
+        try {
+            ScoreRepository.accumulateScores(batch);
+            success = true;
+        } finally {
+            saveDurations.record(System.nanoTime() - start);
+            if (!success) failedSaves++;
+            event.end();
+            if (event.shouldCommit()) {
+                event.results = batch.size();
+                event.attempt = attempt;
+                event.success = success;
+                event.commit();
+            }
+        }
+    }
+
+    private void notifyListeners(List<ScoreData> written) {
+        if (listeners.isEmpty()) return;
+        List<String> usernames = new ArrayList<>(written.size());
+        for (ScoreData data : written) {
+            usernames.add(data.getUsername());
+        }
+        List<ScoreData> totals;
+        try {
+            // Dibaca ulang agar listener menerima total absolut, termasuk simpanan dari klien lain
+            totals = ScoreRepository.findTotals(usernames);
+        } catch (SQLException | RuntimeException e) {
+            System.err.println("Gagal membaca total skor terbaru: " + e.getMessage());
+            return;
+        }
+        for (Listener listener : listeners) {
+            // Listener yang gagal tidak boleh menghentikan worker atau listener lainnya
+            try {
+                listener.onScoresCommitted(totals);
+            } catch (RuntimeException e) {
+                System.err.println("Listener skor gagal: " + e);
+            }
+        }
+    }
+
+    /**
+     * Menambahkan hasil ke akhir journal dan memaksanya ke disk.
+     * Format per baris: username, skor, count dipisah tab (username di-escape).
+     */
+    private void spill(List<ScoreData> results) {
+        StringBuilder lines = new StringBuilder();
+        for (ScoreData data : results) {
+            lines.append(escape(data.getUsername())).append('\t')
+                    .append(data.getScore()).append('\t')
+                    .append(data.getCount()).append('\n');
+        }
+        synchronized (journalLock) {
+            try (FileChannel channel = FileChannel.open(journal,
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+                ByteBuffer buffer = ByteBuffer.wrap(lines.toString().getBytes(StandardCharsets.UTF_8));
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                channel.force(false);
+            } catch (IOException e) {
+                System.err.println("Gagal menulis journal skor, " + results.size() + " hasil hilang: " + e.getMessage());
+            }
+        }
+    }
+
+    private List<ScoreData> readJournal() throws IOException {
+        List<ScoreData> entries = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(journal, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] parts = line.split("\t");
+                // Baris terakhir bisa terpotong jika aplikasi berhenti saat menulis; lewati saja
+                if (parts.length != 3) continue;
+                try {
+                    entries.add(new ScoreData(unescape(parts[0]), Integer.parseInt(parts[1]), Integer.parseInt(parts[2])));
+                } catch (NumberFormatException e) {
+                    System.err.println("Baris journal skor rusak dilewati: " + line);
+                }
+            }
+        }
+        return mergeByUsername(entries);
+    }
+
+    private void deleteJournal() {
+        try {
+            // Dipindah dulu agar penghapusan bersifat atomik terhadap spill berikutnya
+            Path replayed = journal.resolveSibling(journal.getFileName() + ".replayed");
+            Files.move(journal, replayed, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            Files.delete(replayed);
+        } catch (IOException e) {
+            System.err.println("Gagal menghapus journal skor: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Menjumlahkan skor dan count dari hasil-hasil dengan username yang sama.
+     */
+    private static List<ScoreData> mergeByUsername(List<ScoreData> results) {
+        Map<String, int[]> sums = new LinkedHashMap<>();
+        for (ScoreData data : results) {
+            int[] sum = sums.computeIfAbsent(data.getUsername(), k -> new int[2]);
+            sum[0] += data.getScore();
+            sum[1] += data.getCount();
+        }
+        List<ScoreData> merged = new ArrayList<>(sums.size());
+        for (Map.Entry<String, int[]> entry : sums.entrySet()) {
+            merged.add(new ScoreData(entry.getKey(), entry.getValue()[0], entry.getValue()[1]));
+        }
+        return merged;
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\t", "\\t").replace("\n", "\\n").replace("\r", "\\r");
+    }
+
+    private static String unescape(String value) {
+        StringBuilder out = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '\\' && i + 1 < value.length()) {
+                char next = value.charAt(++i);
+                out.append(next == 't' ? '\t' : next == 'n' ? '\n' : next == 'r' ? '\r' : next);
+            } else {
+                out.append(c);
+            }
+        }
+        return out.toString();
+    }
+}
@@ -0,0 +1,305 @@
+package model;
+
+import util.VarInt;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Kelas SnapshotCodec mengubah FrameSnapshot menjadi delta biner terhadap snapshot dasar
+ * (baseline) yang sudah dimiliki penerima, dan sebaliknya. Dipakai untuk mengirim tampilan
+ * permainan ke layar jarak jauh: yang dikirim hanya kelompok field yang berubah, selisih
+ * posisi (dalam piksel, zigzag varint), serta daftar kristal yang hilang, muncul, dan
+ * berpindah berdasarkan id-nya. Tanpa baseline, delta dihitung terhadap snapshot kosong.
+ *
+ * <pre>
+ * seq(varlong) jarakBaseline(varint, 0 = tanpa baseline) tick(varlong) mask(1)
+ * [SCORE]    dSkor dCount
+ * [PLAYER]   dx dy arah(1)
+ * [BASKET]   dx dy
+ * [LASSO]    aktif(1) dStartX dStartY dEndX dEndY
+ * [PULLED]   tipe dx dy
+ * [HELD]     tipe dx dy
+ * [CRYSTALS] nHilang {id} nMuncul {id tipe x y} nPindah {id dx dy}
+ * </pre>
+ *
+ * Setelah decode, isi snapshot penerima sama persis dengan snapshot pengirim (urutan kristal
+ * boleh berbeda), sehingga snapshot hasil decode sah dipakai sebagai baseline berikutnya.
+ * Satu instance hanya boleh dipakai satu thread karena menyimpan array kerja.
+ */
+public final class SnapshotCodec {
+    private static final int SCORE = 1, PLAYER = 2, BASKET = 4, LASSO = 8, PULLED = 16, HELD = 32, CRYSTALS = 64;
+
+    /** Baseline kosong untuk snapshot penuh. */
+    public static final FrameSnapshot EMPTY = new FrameSnapshot();
+
+    // Pemetaan id kristal -> indeks di baseline + 1 (0 = tidak ada), ditandai per generasi
+    private int[] baseSlotOfId = new int[64];
+    private int[] baseStamp = new int[64];
+    private int[] seenStamp = new int[64];
+    private int stamp;
+
+    // Indeks kristal (di snapshot saat ini) yang muncul/berpindah, dan id yang hilang
+    private int[] added = new int[64];
+    private int[] moved = new int[64];
+    private int[] removed = new int[64];
+
+    /**
+     * Menulis delta snapshot cur terhadap base.
+     * @param seq Nomor urut snapshot cur.
+     * @param baseSeq Nomor urut base, diabaikan jika base null.
+     * @param base Snapshot yang sudah dimiliki penerima, atau null untuk snapshot penuh.
+     */
+    public void encode(long seq, long baseSeq, FrameSnapshot base, FrameSnapshot cur, ByteBuffer out) {
+        if (base == null) base = EMPTY;
+        VarInt.putVarLong(out, seq);
+        VarInt.putVarInt(out, base == EMPTY ? 0 : (int) (seq - baseSeq));
+        VarInt.putVarLong(out, cur.getTick());
+
+        int maskPosition = out.position();
+        out.put((byte) 0);
+        int mask = 0;
+
+        if (cur.getScore() != base.getScore() || cur.getCount() != base.getCount()) {
+            mask |= SCORE;
+            VarInt.putSignedVarInt(out, cur.getScore() - base.getScore());
+            VarInt.putSignedVarInt(out, cur.getCount() - base.getCount());
+        }
+        if (cur.getPlayerX() != base.getPlayerX() || cur.getPlayerY() != base.getPlayerY()
+                || cur.getPlayerFacing() != base.getPlayerFacing()) {
+            mask |= PLAYER;
+            VarInt.putSignedVarInt(out, cur.getPlayerX() - base.getPlayerX());
+            VarInt.putSignedVarInt(out, cur.getPlayerY() - base.getPlayerY());
+            out.put((byte) cur.getPlayerFacing().ordinal());
+        }
+        if (cur.getBasketX() != base.getBasketX() || cur.getBasketY() != base.getBasketY()) {
+            mask |= BASKET;
+            VarInt.putSignedVarInt(out, cur.getBasketX() - base.getBasketX());
+            VarInt.putSignedVarInt(out, cur.getBasketY() - base.getBasketY());
+        }
+        if (cur.isLassoActive() != base.isLassoActive()
+                || cur.getLassoStartX() != base.getLassoStartX() || cur.getLassoStartY() != base.getLassoStartY()
+                || cur.getLassoEndX() != base.getLassoEndX() || cur.getLassoEndY() != base.getLassoEndY()) {
+            mask |= LASSO;
+            out.put((byte) (cur.isLassoActive() ? 1 : 0));
+            VarInt.putSignedVarInt(out, cur.getLassoStartX() - base.getLassoStartX());
+            VarInt.putSignedVarInt(out, cur.getLassoStartY() - base.getLassoStartY());
+            VarInt.putSignedVarInt(out, cur.getLassoEndX() - base.getLassoEndX());
+            VarInt.putSignedVarInt(out, cur.getLassoEndY() - base.getLassoEndY());
+        }
+        if (cur.getPulledType() != base.getPulledType()
+                || cur.getPulledX() != base.getPulledX() || cur.getPulledY() != base.getPulledY()) {
+            mask |= PULLED;
+            VarInt.putSignedVarInt(out, cur.getPulledType());
+            VarInt.putSignedVarInt(out, cur.getPulledX() - base.getPulledX());
+            VarInt.putSignedVarInt(out, cur.getPulledY() - base.getPulledY());
+        }
+        if (cur.getHeldType() != base.getHeldType()
+                || cur.getHeldX() != base.getHeldX() || cur.getHeldY() != base.getHeldY()) {
+            mask |= HELD;
+            VarInt.putSignedVarInt(out, cur.getHeldType());
+            VarInt.putSignedVarInt(out, cur.getHeldX() - base.getHeldX());
+            VarInt.putSignedVarInt(out, cur.getHeldY() - base.getHeldY());
+        }
+        if (encodeCrystals(base, cur, out)) {
+            mask |= CRYSTALS;
+        }
+        out.put(maskPosition, (byte) mask);
+    }
+
+    /**
+     * Membandingkan kristal berdasarkan id dan menulis bagian CRYSTALS bila ada perubahan.
+     * @return true jika ada yang ditulis.
+     */
+    private boolean encodeCrystals(FrameSnapshot base, FrameSnapshot cur, ByteBuffer out) {
+        int generation = ++stamp;
+        int baseCount = base.getCrystalCount();
+        for (int i = 0; i < baseCount; i++) {
+            int id = base.getCrystalId(i);
+            ensureIdCapacity(id);
+            baseSlotOfId[id] = i + 1;
+            baseStamp[id] = generation;
+        }
+
+        int curCount = cur.getCrystalCount();
+        ensureListCapacity(Math.max(curCount, baseCount));
+        int addedCount = 0, movedCount = 0, removedCount = 0;
+        for (int i = 0; i < curCount; i++) {
+            int id = cur.getCrystalId(i);
+            ensureIdCapacity(id);
+            seenStamp[id] = generation;
+            int baseIndex = baseStamp[id] == generation ? baseSlotOfId[id] - 1 : -1;
+            if (baseIndex < 0 || base.getCrystalType(baseIndex) != cur.getCrystalType(i)) {
+                // Id yang didaur ulang untuk tipe lain dikirim sebagai kristal baru
+                if (baseIndex >= 0) removed[removedCount++] = id;
+                added[addedCount++] = i;
+            } else if (base.getCrystalX(baseIndex) != cur.getCrystalX(i) || base.getCrystalY(baseIndex) != cur.getCrystalY(i)) {
+                moved[movedCount++] = i;
+            }
+        }
+        for (int i = 0; i < baseCount; i++) {
+            int id = base.getCrystalId(i);
+            if (seenStamp[id] != generation) removed[removedCount++] = id;
+        }
+        if (addedCount == 0 && movedCount == 0 && removedCount == 0) return false;
+
+        VarInt.putVarInt(out, removedCount);
+        for (int i = 0; i < removedCount; i++) {
+            VarInt.putVarInt(out, removed[i]);
+        }
+        VarInt.putVarInt(out, addedCount);
+        for (int k = 0; k < addedCount; k++) {
+            int i = added[k];
+            VarInt.putVarInt(out, cur.getCrystalId(i));
+            out.put((byte) cur.getCrystalType(i));
+            VarInt.putSignedVarInt(out, cur.getCrystalX(i));
+            VarInt.putSignedVarInt(out, cur.getCrystalY(i));
+        }
+        VarInt.putVarInt(out, movedCount);
+        for (int k = 0; k < movedCount; k++) {
+            int i = moved[k];
+            int baseIndex = baseSlotOfId[cur.getCrystalId(i)] - 1;
+            VarInt.putVarInt(out, cur.getCrystalId(i));
+            VarInt.putSignedVarInt(out, cur.getCrystalX(i) - base.getCrystalX(baseIndex));
+            VarInt.putSignedVarInt(out, cur.getCrystalY(i) - base.getCrystalY(baseIndex));
+        }
+        return true;
+    }
+
+    /**
+     * Membaca nomor urut baseline yang dirujuk delta tanpa menggeser posisi buffer.
+     * @return Nomor urut baseline, atau -1 jika delta dihitung terhadap snapshot kosong.
+     */
+    public static long peekBaseSeq(ByteBuffer in) {
+        ByteBuffer header = in.duplicate();
+        long seq = VarInt.getVarLong(header);
+        int baseDistance = VarInt.getVarInt(header);
+        return baseDistance == 0 ? -1 : seq - baseDistance;
+    }
+
+    /**
+     * Membangun ulang snapshot dari delta.
+     * @param base Baseline yang dirujuk delta (null atau {@link #EMPTY} untuk snapshot penuh).
+     * @param target Snapshot tujuan; boleh bukan objek yang sama dengan base.
+     * @return Nomor urut snapshot hasil decode.
+     * @throws IllegalArgumentException jika isi delta tidak konsisten dengan base.
+     */
+    public long decode(FrameSnapshot base, ByteBuffer in, FrameSnapshot target) {
+        if (base == null) base = EMPTY;
+        long seq = VarInt.getVarLong(in);
+        VarInt.getVarInt(in);
+        target.copyFrom(base);
+        target.setTick(VarInt.getVarLong(in));
+        int mask = in.get();
+
+        if ((mask & SCORE) != 0) {
+            int score = base.getScore() + VarInt.getSignedVarInt(in);
+            int count = base.getCount() + VarInt.getSignedVarInt(in);
+            target.setScoreAndCount(score, count);
+        }
+        if ((mask & PLAYER) != 0) {
+            int x = base.getPlayerX() + VarInt.getSignedVarInt(in);
+            int y = base.getPlayerY() + VarInt.getSignedVarInt(in);
+            target.setPlayer(x, y, Player.Direction.values()[in.get()]);
+        }
+        if ((mask & BASKET) != 0) {
+            int x = base.getBasketX() + VarInt.getSignedVarInt(in);
+            int y = base.getBasketY() + VarInt.getSignedVarInt(in);
+            target.setBasket(x, y);
+        }
+        if ((mask & LASSO) != 0) {
+            boolean active = in.get() != 0;
+            int startX = base.getLassoStartX() + VarInt.getSignedVarInt(in);
+            int startY = base.getLassoStartY() + VarInt.getSignedVarInt(in);
+            int endX = base.getLassoEndX() + VarInt.getSignedVarInt(in);
+            int endY = base.getLassoEndY() + VarInt.getSignedVarInt(in);
+            target.setLasso(active, startX, startY, endX, endY);
+        }
+        if ((mask & PULLED) != 0) {
+            int type = VarInt.getSignedVarInt(in);
+            target.setPulledBall(type, base.getPulledX() + VarInt.getSignedVarInt(in), base.getPulledY() + VarInt.getSignedVarInt(in));
+        }
+        if ((mask & HELD) != 0) {
+            int type = VarInt.getSignedVarInt(in);
+            target.setHeldBall(type, base.getHeldX() + VarInt.getSignedVarInt(in), base.getHeldY() + VarInt.getSignedVarInt(in));
+        }
+        if ((mask & CRYSTALS) != 0) {
+            decodeCrystals(in, target);
+        }
+        return seq;
+    }
+
+    private void decodeCrystals(ByteBuffer in, FrameSnapshot target) {
+        // target berisi salinan base; indeks kristal dipetakan dari id-nya
+        int generation = ++stamp;
+        int n = target.getCrystalCount();
+        for (int i = 0; i < n; i++) {
+            indexCrystal(target.getCrystalId(i), i, generation);
+        }
+
+        int removedCount = VarInt.getVarInt(in);
+        for (int k = 0; k < removedCount; k++) {
+            int id = VarInt.getVarInt(in);
+            int index = indexOf(id, generation);
+            baseStamp[id] = 0;
+            // Hapus dengan menukar elemen terakhir ke posisi yang kosong
+            int last = --n;
+            if (index != last) {
+                target.setCrystal(index, target.getCrystalId(last), target.getCrystalX(last),
+                        target.getCrystalY(last), target.getCrystalType(last));
+                indexCrystal(target.getCrystalId(index), index, generation);
+            }
+        }
+        target.setCrystalCount(n);
+
+        int addedCount = VarInt.getVarInt(in);
+        target.setCrystalCount(n + addedCount);
+        for (int k = 0; k < addedCount; k++) {
+            int id = VarInt.getVarInt(in);
+            int type = in.get();
+            int x = VarInt.getSignedVarInt(in);
+            int y = VarInt.getSignedVarInt(in);
+            target.setCrystal(n, id, x, y, type);
+            indexCrystal(id, n++, generation);
+        }
+
+        int movedCount = VarInt.getVarInt(in);
+        for (int k = 0; k < movedCount; k++) {
+            int id = VarInt.getVarInt(in);
+            int index = indexOf(id, generation);
+            target.setCrystal(index, id, target.getCrystalX(index) + VarInt.getSignedVarInt(in),
+                    target.getCrystalY(index) + VarInt.getSignedVarInt(in), target.getCrystalType(index));
+        }
+    }
+
+    private void indexCrystal(int id, int index, int generation) {
+        ensureIdCapacity(id);
+        baseSlotOfId[id] = index + 1;
+        baseStamp[id] = generation;
+    }
+
+    private int indexOf(int id, int generation) {
+        if (id >= baseStamp.length || baseStamp[id] != generation) {
+            throw new IllegalArgumentException("Kristal " + id + " tidak ada di baseline");
+        }
+        return baseSlotOfId[id] - 1;
+    }
+
+    private void ensureIdCapacity(int id) {
+        if (id >= baseSlotOfId.length) {
+            int capacity = Math.max(id + 1, baseSlotOfId.length * 2);
+            baseSlotOfId = Arrays.copyOf(baseSlotOfId, capacity);
+            baseStamp = Arrays.copyOf(baseStamp, capacity);
+            seenStamp = Arrays.copyOf(seenStamp, capacity);
+        }
+    }
+
+    private void ensureListCapacity(int n) {
+        if (n > added.length) {
+            int capacity = Math.max(n, added.length * 2);
+            added = new int[capacity];
+            moved = new int[capacity];
+            removed = new int[capacity];
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package model;
+
+import java.util.Arrays;
+
+/**
+ * Kelas SpatialGrid adalah indeks spasial berbentuk grid seragam di atas area permainan 800x600.
+ * Setiap kristal terdaftar (berdasarkan id-nya) di sel yang memuat titik PUSAT-nya dan
+ * berpindah sel secara inkremental saat bergerak, sehingga tali lasso cukup memeriksa
+ * kristal di sekitar sel-sel yang dilewati segmennya, bukan seluruh kristal yang ada.
+ */
+public class SpatialGrid {
+    public static final int FIELD_WIDTH = 800;
+    public static final int FIELD_HEIGHT = 600;
+
+    // Ukuran sel minimal setengah hitbox terbesar (60 / 2), sehingga kristal yang menyentuh
+    // segmen pasti berpusat di sel yang dilewati segmen atau di salah satu tetangganya.
+    private static final int CELL_SIZE = 32;
+    private static final int COLS = (FIELD_WIDTH + CELL_SIZE - 1) / CELL_SIZE;
+    private static final int ROWS = (FIELD_HEIGHT + CELL_SIZE - 1) / CELL_SIZE;
+
+    // Isi setiap sel disimpan sebagai array id primitif beserta jumlahnya
+    private final int[][] cellIds = new int[COLS * ROWS][];
+    private final int[] cellCounts = new int[COLS * ROWS];
+
+    // Penanda kunjungan per sel agar satu sel tidak diperiksa dua kali dalam satu query
+    private final int[] visitStamp = new int[COLS * ROWS];
+    private int currentStamp = 0;
+
+    // Buffer kandidat hasil query, dipakai ulang agar tidak ada alokasi per tick
+    private int[] candidates = new int[64];
+    private int candidateCount = 0;
+
+    public SpatialGrid() {
+        for (int i = 0; i < cellIds.length; i++) {
+            cellIds[i] = new int[8];
+        }
+    }
+
+    /**
+     * Menghitung indeks sel untuk sebuah titik. Titik di luar area dipetakan ke sel tepi.
+     * @param x Posisi x pusat.
+     * @param y Posisi y pusat.
+     * @return Indeks sel.
+     */
+    public static int cellOf(int x, int y) {
+        return clamp(Math.floorDiv(y, CELL_SIZE), ROWS) * COLS + clamp(Math.floorDiv(x, CELL_SIZE), COLS);
+    }
+
+    /**
+     * Mendaftarkan id kristal ke sebuah sel.
+     */
+    public void insert(int id, int cell) {
+        int count = cellCounts[cell];
+        if (count == cellIds[cell].length) {
+            cellIds[cell] = Arrays.copyOf(cellIds[cell], count * 2);
+        }
+        cellIds[cell][count] = id;
+        cellCounts[cell] = count + 1;
+    }
+
+    /**
+     * Mengeluarkan id kristal dari sebuah sel (swap-remove di dalam sel).
+     */
+    public void remove(int id, int cell) {
+        int[] ids = cellIds[cell];
+        int last = cellCounts[cell] - 1;
+        for (int i = 0; i <= last; i++) {
+            if (ids[i] == id) {
+                ids[i] = ids[last];
+                cellCounts[cell] = last;
+                return;
+            }
+        }
+    }
+
+    /**
+     * Memindahkan id kristal dari satu sel ke sel lain.
+     */
+    public void move(int id, int fromCell, int toCell) {
+        if (fromCell == toCell) return;
+        remove(id, fromCell);
+        insert(id, toCell);
+    }
+
+    /**
+     * Mengosongkan seluruh grid saat sesi permainan baru dimulai.
+     */
+    public void clear() {
+        Arrays.fill(cellCounts, 0);
+    }
+
+    /**
+     * Mengumpulkan id semua kristal yang mungkin bersinggungan dengan segmen (x1,y1)-(x2,y2).
+     * Sel yang dilewati segmen ditelusuri dengan algoritma DDA (Amanatides-Woo),
+     * lalu setiap sel beserta tetangganya diperiksa tepat satu kali.
+     * Hasilnya dibaca melalui {@link #getCandidates()}.
+     * @return Jumlah kandidat yang ditemukan.
+     */
+    public int collectAlongSegment(int x1, int y1, int x2, int y2) {
+        candidateCount = 0;
+        currentStamp++;
+
+        int cx = Math.floorDiv(x1, CELL_SIZE);
+        int cy = Math.floorDiv(y1, CELL_SIZE);
+        int endCx = Math.floorDiv(x2, CELL_SIZE);
+        int endCy = Math.floorDiv(y2, CELL_SIZE);
+
+        int stepX = Integer.signum(x2 - x1);
+        int stepY = Integer.signum(y2 - y1);
+        double dx = x2 - x1;
+        double dy = y2 - y1;
+
+        // Jarak parametrik (t pada [0,1]) hingga batas sel berikutnya di tiap sumbu
+        double tMaxX = stepX == 0 ? Double.POSITIVE_INFINITY
+                : ((stepX > 0 ? (cx + 1) * CELL_SIZE : cx * CELL_SIZE) - x1) / dx;
+        double tMaxY = stepY == 0 ? Double.POSITIVE_INFINITY
+                : ((stepY > 0 ? (cy + 1) * CELL_SIZE : cy * CELL_SIZE) - y1) / dy;
+        double tDeltaX = stepX == 0 ? Double.POSITIVE_INFINITY : CELL_SIZE / Math.abs(dx);
+        double tDeltaY = stepY == 0 ? Double.POSITIVE_INFINITY : CELL_SIZE / Math.abs(dy);
+
+        collectNeighborhood(cx, cy);
+        int remainingSteps = Math.abs(endCx - cx) + Math.abs(endCy - cy);
+        while (remainingSteps-- > 0) {
+            if (tMaxX < tMaxY) {
+                cx += stepX;
+                tMaxX += tDeltaX;
+            } else {
+                cy += stepY;
+                tMaxY += tDeltaY;
+            }
+            collectNeighborhood(cx, cy);
+        }
+        return candidateCount;
+    }
+
+    /**
+     * @return Buffer id kandidat dari query terakhir (hanya indeks 0..jumlah-1 yang valid).
+     */
+    public int[] getCandidates() {
+        return candidates;
+    }
+
+    private void collectNeighborhood(int cx, int cy) {
+        for (int ny = cy - 1; ny <= cy + 1; ny++) {
+            for (int nx = cx - 1; nx <= cx + 1; nx++) {
+                // Sel di luar area dipetakan ke sel tepi, sama seperti saat kristal didaftarkan
+                int cell = clamp(ny, ROWS) * COLS + clamp(nx, COLS);
+                if (visitStamp[cell] != currentStamp) {
+                    visitStamp[cell] = currentStamp;
+                    appendCell(cell);
+                }
+            }
+        }
+    }
+
+    private void appendCell(int cell) {
+        int count = cellCounts[cell];
+        if (count == 0) return;
+        if (candidateCount + count > candidates.length) {
+            candidates = Arrays.copyOf(candidates, Math.max(candidates.length * 2, candidateCount + count));
+        }
+        System.arraycopy(cellIds[cell], 0, candidates, candidateCount, count);
+        candidateCount += count;
+    }
+
+    private static int clamp(int index, int size) {
+        return Math.max(0, Math.min(size - 1, index));
+    }
+}
@@ -0,0 +1,181 @@
+package presenter;
+
+import model.Ball;
+import model.FrameSnapshot;
+import model.Player;
+import util.DirtyRegionTracker;
+
+import java.util.Arrays;
+
+/**
+ * Kelas DirtyMarker membandingkan snapshot yang baru diterbitkan dengan snapshot sebelumnya
+ * dan menandai posisi lama serta baru dari setiap elemen yang berubah (kristal per id, pemain,
+ * bola yang ditarik/dipegang, segmen lasso, keranjang, dan HUD) di DirtyRegionTracker.
+ * Hanya dipakai oleh game thread.
+ */
+final class DirtyMarker {
+    // Batas gambar di sekitar titik pusat, sesuai ukuran sprite dan tata letak FrameRenderer.
+    // Kristal diperlebar untuk label skornya yang digambar di atas sprite.
+    private static final int CRYSTAL_HALF_WIDTH = Ball.WIDTH / 2 + 24;
+    private static final int CRYSTAL_TOP = Ball.HEIGHT / 2 + 30;
+    private static final int CRYSTAL_BOTTOM = Ball.HEIGHT / 2 + 2;
+    private static final int PLAYER_HALF_WIDTH = 36, PLAYER_HALF_HEIGHT = 47;
+    private static final int BASKET_HALF_WIDTH = 68, BASKET_HALF_HEIGHT = 101;
+    private static final int LASSO_PAD = 2;
+    // Baris "Score" dan "Count" di pojok kiri atas
+    private static final int HUD_X = 0, HUD_Y = 0, HUD_WIDTH = 280, HUD_HEIGHT = 70;
+
+    private final DirtyRegionTracker dirty;
+    private boolean hasPrevious;
+
+    private int score, count;
+    private int playerX, playerY;
+    private Player.Direction facing;
+    private int basketX, basketY;
+    private boolean lassoActive;
+    private int lassoStartX, lassoStartY, lassoEndX, lassoEndY;
+    private int pulledType, pulledX, pulledY;
+    private int heldType, heldX, heldY;
+
+    // Kristal frame sebelumnya, diindeks id; lastSeen berisi nomor frame terakhir id itu terlihat,
+    // visited menandai id yang ada di frame yang sedang dibandingkan
+    private int frameNumber;
+    private int[] crystalX = new int[64], crystalY = new int[64], crystalType = new int[64];
+    private int[] lastSeen = new int[64];
+    private int[] visited = new int[64];
+    private int[] previousIds = new int[64];
+    private int previousCount;
+
+    DirtyMarker(DirtyRegionTracker dirty) {
+        this.dirty = dirty;
+    }
+
+    DirtyRegionTracker getTracker() {
+        return dirty;
+    }
+
+    /**
+     * Melupakan snapshot sebelumnya; frame berikutnya menandai seluruh layar.
+     */
+    void reset() {
+        hasPrevious = false;
+    }
+
+    /**
+     * Menandai semua perubahan dari snapshot sebelumnya ke frame.
+     */
+    void mark(FrameSnapshot frame) {
+        if (!hasPrevious) {
+            dirty.markAll();
+        } else {
+            markChanges(frame);
+        }
+        remember(frame);
+        hasPrevious = true;
+    }
+
+    private void markChanges(FrameSnapshot frame) {
+        if (frame.getScore() != score || frame.getCount() != count) {
+            dirty.mark(HUD_X, HUD_Y, HUD_WIDTH, HUD_HEIGHT);
+        }
+        if (frame.getPlayerX() != playerX || frame.getPlayerY() != playerY || frame.getPlayerFacing() != facing) {
+            markPlayer(playerX, playerY);
+            markPlayer(frame.getPlayerX(), frame.getPlayerY());
+        }
+        if (frame.getBasketX() != basketX || frame.getBasketY() != basketY) {
+            dirty.mark(basketX - BASKET_HALF_WIDTH, basketY - BASKET_HALF_HEIGHT, BASKET_HALF_WIDTH * 2, BASKET_HALF_HEIGHT * 2);
+            dirty.mark(frame.getBasketX() - BASKET_HALF_WIDTH, frame.getBasketY() - BASKET_HALF_HEIGHT,
+                    BASKET_HALF_WIDTH * 2, BASKET_HALF_HEIGHT * 2);
+        }
+        if (frame.isLassoActive() != lassoActive || frame.getLassoStartX() != lassoStartX || frame.getLassoStartY() != lassoStartY
+                || frame.getLassoEndX() != lassoEndX || frame.getLassoEndY() != lassoEndY) {
+            if (lassoActive) dirty.markSegment(lassoStartX, lassoStartY, lassoEndX, lassoEndY, LASSO_PAD);
+            if (frame.isLassoActive()) {
+                dirty.markSegment(frame.getLassoStartX(), frame.getLassoStartY(), frame.getLassoEndX(), frame.getLassoEndY(), LASSO_PAD);
+            }
+        }
+        if (frame.getPulledType() != pulledType || frame.getPulledX() != pulledX || frame.getPulledY() != pulledY) {
+            if (pulledType != FrameSnapshot.NONE) markCrystal(pulledX, pulledY);
+            if (frame.getPulledType() != FrameSnapshot.NONE) markCrystal(frame.getPulledX(), frame.getPulledY());
+        }
+        if (frame.getHeldType() != heldType || frame.getHeldX() != heldX || frame.getHeldY() != heldY) {
+            if (heldType != FrameSnapshot.NONE) markCrystal(heldX, heldY);
+            if (frame.getHeldType() != FrameSnapshot.NONE) markCrystal(frame.getHeldX(), frame.getHeldY());
+        }
+
+        int previousFrame = frameNumber;
+        int currentFrame = frameNumber + 1;
+        int n = frame.getCrystalCount();
+        for (int i = 0; i < n; i++) {
+            int id = frame.getCrystalId(i);
+            ensureIdCapacity(id);
+            visited[id] = currentFrame;
+            int x = frame.getCrystalX(i), y = frame.getCrystalY(i), type = frame.getCrystalType(i);
+            boolean existed = lastSeen[id] == previousFrame;
+            if (existed && crystalX[id] == x && crystalY[id] == y && crystalType[id] == type) {
+                continue;
+            }
+            if (existed) markCrystal(crystalX[id], crystalY[id]);
+            markCrystal(x, y);
+        }
+        // Kristal yang hilang sejak frame sebelumnya (tertangkap atau keluar layar)
+        for (int i = 0; i < previousCount; i++) {
+            int id = previousIds[i];
+            if (visited[id] != currentFrame) markCrystal(crystalX[id], crystalY[id]);
+        }
+    }
+
+    private void remember(FrameSnapshot frame) {
+        score = frame.getScore();
+        count = frame.getCount();
+        playerX = frame.getPlayerX();
+        playerY = frame.getPlayerY();
+        facing = frame.getPlayerFacing();
+        basketX = frame.getBasketX();
+        basketY = frame.getBasketY();
+        lassoActive = frame.isLassoActive();
+        lassoStartX = frame.getLassoStartX();
+        lassoStartY = frame.getLassoStartY();
+        lassoEndX = frame.getLassoEndX();
+        lassoEndY = frame.getLassoEndY();
+        pulledType = frame.getPulledType();
+        pulledX = frame.getPulledX();
+        pulledY = frame.getPulledY();
+        heldType = frame.getHeldType();
+        heldX = frame.getHeldX();
+        heldY = frame.getHeldY();
+
+        frameNumber++;
+        int n = frame.getCrystalCount();
+        if (n > previousIds.length) previousIds = new int[Math.max(n, previousIds.length * 2)];
+        for (int i = 0; i < n; i++) {
+            int id = frame.getCrystalId(i);
+            ensureIdCapacity(id);
+            crystalX[id] = frame.getCrystalX(i);
+            crystalY[id] = frame.getCrystalY(i);
+            crystalType[id] = frame.getCrystalType(i);
+            lastSeen[id] = frameNumber;
+            previousIds[i] = id;
+        }
+        previousCount = n;
+    }
+
+    private void markCrystal(int x, int y) {
+        dirty.mark(x - CRYSTAL_HALF_WIDTH, y - CRYSTAL_TOP, CRYSTAL_HALF_WIDTH * 2, CRYSTAL_TOP + CRYSTAL_BOTTOM);
+    }
+
+    private void markPlayer(int x, int y) {
+        dirty.mark(x - PLAYER_HALF_WIDTH, y - PLAYER_HALF_HEIGHT, PLAYER_HALF_WIDTH * 2, PLAYER_HALF_HEIGHT * 2);
+    }
+
+    private void ensureIdCapacity(int id) {
+        if (id >= lastSeen.length) {
+            int capacity = Math.max(id + 1, lastSeen.length * 2);
+            crystalX = Arrays.copyOf(crystalX, capacity);
+            crystalY = Arrays.copyOf(crystalY, capacity);
+            crystalType = Arrays.copyOf(crystalType, capacity);
+            lastSeen = Arrays.copyOf(lastSeen, capacity);
+            visited = Arrays.copyOf(visited, capacity);
+        }
+    }
+}
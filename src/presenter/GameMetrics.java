@@ -0,0 +1,200 @@
+package presenter;
+
+import model.ScoreSink;
+import util.LatencyHistogram;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+
+/**
+ * Kelas GameMetrics mengumpulkan counter dan histogram latensi permainan untuk dibaca lewat
+ * JMX dan overlay debug. Pencatatan hanya berupa penambahan counter dan satu entri histogram
+ * (tanpa alokasi); persentil baru dihitung saat ada yang membaca.
+ *
+ * Setiap counter dan histogram hanya ditulis oleh satu thread: data tick oleh game thread,
+ * data paint dan keterlambatan EDT oleh thread yang menggambar. Pembaca di thread lain
+ * mungkin melihat nilai yang tertinggal sedikit, tetapi tidak pernah rusak.
+ */
+public class GameMetrics implements GameMetricsMXBean {
+    public static final String OBJECT_NAME = "ctc:type=GameMetrics";
+
+    private final GamePresenter presenter;
+
+    // Salinan state permainan per tick (ditulis game thread)
+    private volatile int crystalsAlive;
+    private volatile int score;
+    private volatile long spawned;
+    private volatile long caught;
+    private volatile int ballPoolFree;
+
+    // Render: permintaan repaint dari game thread, paint yang benar-benar terjadi di EDT
+    private volatile long repaintRequests;
+    private volatile long paints;
+    private final LatencyHistogram paintDurations = new LatencyHistogram();
+    // Jarak dari repaint diminta sampai paintComponent mulai: panjang antrean EDT yang dirasakan
+    private final LatencyHistogram edtLag = new LatencyHistogram();
+
+    GameMetrics(GamePresenter presenter) {
+        this.presenter = presenter;
+    }
+
+    /**
+     * Mendaftarkan objek ini ke MBean server platform.
+     */
+    public void register() {
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this, new ObjectName(OBJECT_NAME));
+        } catch (JMException e) {
+            System.err.println("Gagal mendaftarkan metrik JMX: " + e.getMessage());
+        }
+    }
+
+    // --- Pencatatan ---
+
+    /**
+     * Menyalin state simulasi setelah satu tick. Dipanggil game thread.
+     */
+    void onTick(Simulation simulation) {
+        crystalsAlive = simulation.getCrystals().size();
+        score = simulation.getScore();
+        spawned = simulation.getSpawnedCount();
+        caught = simulation.getCaughtCount();
+        ballPoolFree = simulation.getBallPool().getFreeCount();
+    }
+
+    /**
+     * Dipanggil View setiap kali presenter meminta tampilan diperbarui.
+     */
+    public void recordRepaintRequest() {
+        repaintRequests++;
+    }
+
+    /**
+     * Dipanggil View setelah satu frame digambar.
+     * @param requestedAt Waktu repaint pertama yang belum dilayani diminta, atau 0 jika tidak diketahui.
+     * @param start Waktu mulai menggambar.
+     * @param end Waktu selesai menggambar.
+     */
+    public void recordPaint(long requestedAt, long start, long end) {
+        paints++;
+        paintDurations.record(end - start);
+        if (requestedAt != 0) {
+            edtLag.record(start - requestedAt);
+        }
+    }
+
+    // --- JMX ---
+
+    private LoopScheduler loop() {
+        return presenter.getScheduler();
+    }
+
+    private static double micros(long nanos) {
+        return nanos / 1_000.0;
+    }
+
+    @Override
+    public long getTickCount() {
+        LoopScheduler loop = loop();
+        return loop == null ? 0 : loop.getTickCount();
+    }
+
+    @Override
+    public long getOverrunCount() {
+        LoopScheduler loop = loop();
+        return loop == null ? 0 : loop.getOverrunCount();
+    }
+
+    @Override
+    public long getDroppedTickCount() {
+        LoopScheduler loop = loop();
+        return loop == null ? 0 : loop.getDroppedTickCount();
+    }
+
+    @Override
+    public double getTickP50Micros() {
+        LoopScheduler loop = loop();
+        return loop == null ? 0 : micros(loop.getTickDurations().getValueAtPercentile(50));
+    }
+
+    @Override
+    public double getTickP99Micros() {
+        LoopScheduler loop = loop();
+        return loop == null ? 0 : micros(loop.getTickDurations().getValueAtPercentile(99));
+    }
+
+    @Override
+    public double getTickMaxMicros() {
+        LoopScheduler loop = loop();
+        return loop == null ? 0 : micros(loop.getTickDurations().getMax());
+    }
+
+    @Override
+    public double getTickLatenessP99Micros() {
+        LoopScheduler loop = loop();
+        return loop == null ? 0 : micros(loop.getTickLateness().getValueAtPercentile(99));
+    }
+
+    @Override
+    public double getPublishP99Micros() {
+        LoopScheduler loop = loop();
+        return loop == null ? 0 : micros(loop.getRenderDurations().getValueAtPercentile(99));
+    }
+
+    @Override
+    public long getPaintCount() { return paints; }
+
+    @Override
+    public double getPaintP50Micros() { return micros(paintDurations.getValueAtPercentile(50)); }
+
+    @Override
+    public double getPaintP99Micros() { return micros(paintDurations.getValueAtPercentile(99)); }
+
+    @Override
+    public long getRepaintRequests() { return repaintRequests; }
+
+    /**
+     * @return Rata-rata permintaan repaint per frame yang benar-benar digambar (1 = tidak ada yang digabung).
+     */
+    @Override
+    public double getRepaintCoalescingRatio() {
+        long painted = paints;
+        return painted == 0 ? 0 : (double) repaintRequests / painted;
+    }
+
+    @Override
+    public double getEdtLagP50Micros() { return micros(edtLag.getValueAtPercentile(50)); }
+
+    @Override
+    public double getEdtLagP99Micros() { return micros(edtLag.getValueAtPercentile(99)); }
+
+    @Override
+    public int getCrystalsAlive() { return crystalsAlive; }
+
+    @Override
+    public int getScore() { return score; }
+
+    @Override
+    public long getSpawnedCount() { return spawned; }
+
+    @Override
+    public long getCaughtCount() { return caught; }
+
+    @Override
+    public int getBallPoolFree() { return ballPoolFree; }
+
+    @Override
+    public int getScoreQueueDepth() { return ScoreSink.getDefault().getPendingCount(); }
+
+    @Override
+    public long getDbSaveCount() { return ScoreSink.getDefault().getSaveDurations().getCount(); }
+
+    @Override
+    public long getDbSaveFailures() { return ScoreSink.getDefault().getFailedSaveCount(); }
+
+    @Override
+    public double getDbSaveP99Micros() {
+        return micros(ScoreSink.getDefault().getSaveDurations().getValueAtPercentile(99));
+    }
+}
@@ -0,0 +1,39 @@
+package presenter;
+
+/**
+ * Antarmuka JMX untuk {@link GameMetrics}. Semua durasi dalam mikrodetik.
+ * Dapat dibaca dengan JConsole/VisualVM di bawah nama objek "ctc:type=GameMetrics".
+ */
+public interface GameMetricsMXBean {
+    // Game loop
+    long getTickCount();
+    long getOverrunCount();
+    long getDroppedTickCount();
+    double getTickP50Micros();
+    double getTickP99Micros();
+    double getTickMaxMicros();
+    double getTickLatenessP99Micros();
+    double getPublishP99Micros();
+
+    // Render dan EDT
+    long getPaintCount();
+    double getPaintP50Micros();
+    double getPaintP99Micros();
+    long getRepaintRequests();
+    double getRepaintCoalescingRatio();
+    double getEdtLagP50Micros();
+    double getEdtLagP99Micros();
+
+    // State permainan
+    int getCrystalsAlive();
+    int getScore();
+    long getSpawnedCount();
+    long getCaughtCount();
+    int getBallPoolFree();
+
+    // Penyimpanan skor
+    int getScoreQueueDepth();
+    long getDbSaveCount();
+    long getDbSaveFailures();
+    double getDbSaveP99Micros();
+}
@@ -1,51 +1,80 @@
 package presenter;
 
-import model.Ball;
-import model.Basket;
-import model.DatabaseConnection;
-import model.Lasso;
+import model.FrameSnapshot;
 import model.Player;
+import model.ScoreSink;
+import model.SpatialGrid;
+import util.DirtyRegionTracker;
+import util.GameEvents;
+import util.InputRingBuffer;
+import util.TripleBuffer;
 import view.GameView;
 
-import javax.swing.*;
 import java.awt.event.KeyEvent;
-import java.sql.*; 
-import java.util.List;
-import java.util.Random;
-import java.util.concurrent.CopyOnWriteArrayList;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
 
 /**
  * Kelas GamePresenter adalah inti dari logika permainan.
  * Bertanggung jawab untuk mengelola state (Model), menerima input dari (View),
  * dan menjalankan game loop dalam sebuah Thread terpisah.
+ * Logika per tick sendiri berada di {@link Simulation}; presenter hanya mengatur waktu,
+ * meneruskan input, dan menerbitkan snapshot ke View.
  */
 public class GamePresenter implements Runnable {
 
     // Komponen dari arsitektur MVP
     private final GameView view;
-    private final Player player;
-    private final Basket basket;
-    private final List<Ball> balls;
-    private final Lasso lasso;
-
-    // State permainan
-    private int score;
-    private int count;
+    private final Simulation simulation;
+    private final TickInput input = new TickInput();
+
+    // Snapshot frame yang diserahkan ke View (tiga buffer yang dipakai ulang)
+    private final TripleBuffer<FrameSnapshot> frames;
+    // Area layar yang berubah antar frame, untuk View yang hanya menggambar ulang bagian itu
+    private final DirtyMarker dirtyMarker = new DirtyMarker(
+            new DirtyRegionTracker(SpatialGrid.FIELD_WIDTH, SpatialGrid.FIELD_HEIGHT));
+
     private String currentUsername;
 
     // Kontrol Thread dan game loop
     private volatile boolean isRunning = false;
     private Thread gameThread;
-
-    // Kontrol pergerakan pemain
-    private boolean moveUp, moveDown, moveLeft, moveRight;
+    // Laju tick logika dan render, bisa diganti lewat -Dctc.loop.tickRate dan -Dctc.loop.renderRate
+    private static final int TICK_RATE = Integer.getInteger("ctc.loop.tickRate", Simulation.TICKS_PER_SECOND);
+    private static final int RENDER_RATE = Integer.getInteger("ctc.loop.renderRate", Simulation.TICKS_PER_SECOND);
+    // Laporan loop di akhir sesi hanya dicetak dengan -Dctc.loop.stats=true; metriknya selalu ada di JMX dan overlay F3
+    private static final boolean LOOP_STATS = Boolean.getBoolean("ctc.loop.stats");
+    private volatile LoopScheduler scheduler; // Penjadwal sesi yang sedang (atau terakhir) berjalan
+    private final GameMetrics metrics = new GameMetrics(this);
+
+    // Jenis kejadian input di antrean
+    private static final int EVENT_KEY_DOWN = 0;
+    private static final int EVENT_KEY_UP = 1;
+    private static final int EVENT_FIRE = 2;
+    // Bit tombol arah untuk argumen kejadian tombol
+    private static final int KEY_UP = 1, KEY_DOWN = 2, KEY_LEFT = 4, KEY_RIGHT = 8;
+
+    // Kejadian input dari EDT (penulis) ke game thread (pembaca), diberi waktu System.nanoTime()
+    private final InputRingBuffer inputEvents = new InputRingBuffer(256);
+    private final InputRingBuffer.Handler eventHandler = this::applyEvent;
+    // Tombol arah yang sedang ditahan, dan yang sempat ditekan selama tick ini (hanya game thread)
+    private int heldKeys;
+    private int pressedKeys;
+
+    // Folder rekaman replay (-Dctc.replay.dir); null berarti sesi tidak direkam
+    private static final String REPLAY_DIR = System.getProperty("ctc.replay.dir");
+    private ReplayWriter replay; // Hanya diakses game thread
 
     public GamePresenter(GameView view) {
         this.view = view;
-        this.player = new Player(375, 275); // Pemeran utama game muncul dari tengah. 
-        this.basket = new Basket(740, 280, 30, 80);
-        this.balls = new CopyOnWriteArrayList<>(); // Gunakan list yang thread-safe
-        this.lasso = new Lasso(player);
+        this.simulation = new Simulation(System.nanoTime());
+        this.frames = new TripleBuffer<>(FrameSnapshot::new);
+        view.bindFrames(frames);
+        view.bindDirtyRegions(dirtyMarker.getTracker());
     }
 
     /**
@@ -59,12 +88,8 @@ public class GamePresenter implements Runnable {
 
         this.currentUsername = username;
 
-        // Reset state permainan
-        score = 0;
-        count = 0;
-        balls.clear();
-        player.setPosition(375, 275);
-        lasso.resetAfterRetraction();
+        // Reset state permainan dengan seed baru
+        simulation.reset(System.nanoTime());
 
         isRunning = true;
         gameThread = new Thread(this);
@@ -76,151 +101,179 @@ public class GamePresenter implements Runnable {
      */
     public void stopGame() {
         isRunning = false;
+        LoopScheduler loop = scheduler;
+        if (loop != null) loop.stop();
         gameThread = null;
     }
 
     /**
      * Metode utama yang dijalankan oleh Thread. Berisi game loop.
+     * Waktu nyata hanya dipakai untuk menentukan kapan tick berikutnya jatuh tempo (oleh
+     * LoopScheduler); semua logika (termasuk jadwal munculnya bola) dihitung dalam tick oleh Simulation.
      */
     @Override
     public void run() {
-        long lastTime = System.nanoTime();
-        final double ticksPerSecond = 60.0;
-        final double ns = 1000000000 / ticksPerSecond;
-        double delta = 0;
-        long ballSpawnTimer = System.currentTimeMillis();
-
-        while (isRunning) {
-            long now = System.nanoTime();
-            delta += (now - lastTime) / ns;
-            lastTime = now;
-
-            while (delta >= 1) {
-                updateGameLogic();
-                delta--;
-            }
+        // Input dari sesi sebelumnya tidak berlaku lagi
+        inputEvents.discard();
+        heldKeys = 0;
+        dirtyMarker.reset();
+        openReplay();
+
+        LoopScheduler loop = new LoopScheduler(TICK_RATE, RENDER_RATE, new GameLoop());
+        scheduler = loop;
+        if (isRunning) {
+            // Frame awal diterbitkan oleh loop agar View tidak menampilkan sisa sesi sebelumnya
+            loop.run();
+        }
+        closeReplay();
+        if (LOOP_STATS) {
+            System.out.println("[Loop] " + loop.report());
+        }
+    }
 
-            // Perintahkan View untuk menggambar ulang (render) dari game thread.
-            // Harus menggunakan invokeLater agar aman untuk Swing.
-            SwingUtilities.invokeLater(() -> {
-                view.setGameElements(player, balls, lasso, basket);
-                view.setScoreAndCount(score, count);
-                view.updateDisplay();
-            });
-
-            // Munculkan bola baru setiap 2 detik
-            if (System.currentTimeMillis() - ballSpawnTimer > 2000) {
-                spawnBall();
-                ballSpawnTimer = System.currentTimeMillis();
+    /**
+     * Pekerjaan per tick dan per frame yang dijadwalkan LoopScheduler di game thread.
+     */
+    private final class GameLoop implements LoopScheduler.Callbacks {
+        @Override
+        public void tick(long deadline) {
+            GameEvents.Tick event = new GameEvents.Tick();
+            event.begin();
+            // Hanya input sebelum tenggat tick ini yang ikut tick ini
+            collectInput(deadline);
+            recordInput();
+            simulation.step(input);
+            input.clearEvents();
+            metrics.onTick(simulation);
+            event.end();
+            if (event.shouldCommit()) {
+                event.tick = simulation.getTick();
+                event.crystals = simulation.getCrystals().size();
+                event.commit();
             }
+        }
 
-            // Jeda singkat untuk mencegah penggunaan CPU 100%
-            try {
-                Thread.sleep(5);
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                e.printStackTrace();
-            }
+        @Override
+        public void render() {
+            // Serahkan snapshot ke View. View sendiri yang menjadwalkan repaint,
+            // jadi tidak ada invokeLater di setiap putaran loop.
+            publishFrame();
         }
     }
 
+    /**
+     * @return Penjadwal loop sesi yang sedang atau terakhir berjalan, atau null sebelum sesi pertama.
+     */
+    public LoopScheduler getScheduler() {
+        return scheduler;
+    }
 
-    private void updateGameLogic() {
-        // 1. Pergerakan dasar pemain dan tali lasso
-        player.move(moveUp, moveDown, moveLeft, moveRight);
-        lasso.update();
-
-        // 2. Logika untuk bola-bola yang masih bebas
-        for (Ball ball : balls) {
-            ball.move();
-            // Cek jika lasso mengenai bola yang bebas
-            if (lasso.isExtending() && !ball.isCaught() && player.getHeldBall() == null) {
-                if (lasso.intersects(ball)) {
-                    lasso.catchBall(ball);
-                    break;
-                }
-            }
-        }
+    /**
+     * @return Metrik permainan (untuk JMX dan overlay debug).
+     */
+    public GameMetrics getMetrics() {
+        return metrics;
+    }
 
-        // 3. Logika Tali Lasso & Menangkap Bola
-        // Jika tali sudah kembali ke pemain sambil membawa bola...
-        if (lasso.hasReturnedToPlayer()) {
-            Ball caughtBall = lasso.getRetractedBall();
-            balls.remove(caughtBall); // Hapus bola dari daftar bola bebas
-            player.holdBall(caughtBall); // Serahkan bola untuk dipegang pemain
-            lasso.resetAfterRetraction(); // Reset tali lasso
-        }
+    /**
+     * Menguras kejadian input yang terjadi sebelum tick ini ke TickInput.
+     * Tombol yang ditekan lalu dilepas di antara dua tick tetap menggerakkan pemain satu tick.
+     * @param tickTime Waktu (System.nanoTime()) saat tick ini jatuh tempo.
+     */
+    private void collectInput(long tickTime) {
+        pressedKeys = 0;
+        inputEvents.drain(tickTime, eventHandler);
+        int keys = heldKeys | pressedKeys;
+        input.setMovement((keys & KEY_UP) != 0, (keys & KEY_DOWN) != 0,
+                (keys & KEY_LEFT) != 0, (keys & KEY_RIGHT) != 0);
+    }
 
-        // 4. Logika Bola yang Dipegang Pemain
-        // Jika pemain sedang memegang bola, buat posisi bola mengikuti pemain
-        if (player.getHeldBall() != null) {
-            Ball currentHeldBall = player.getHeldBall();
-            // Posisikan bola sedikit di atas kepala pemain
-            currentHeldBall.setPosition(player.getX() + 30, player.getY() + 5);
+    /**
+     * Menerapkan satu kejadian input. Dipanggil di game thread saat antrean dikuras.
+     */
+    private void applyEvent(long timestamp, int type, int a, int b) {
+        switch (type) {
+            case EVENT_KEY_DOWN:
+                heldKeys |= a;
+                pressedKeys |= a;
+                if (a == KEY_LEFT) input.setFacing(Player.Direction.LEFT);
+                else if (a == KEY_RIGHT) input.setFacing(Player.Direction.RIGHT);
+                break;
+            case EVENT_KEY_UP:
+                heldKeys &= ~a;
+                break;
+            case EVENT_FIRE:
+                // Tembakan diterapkan oleh Simulation pada tick ini
+                input.fireAt(a, b);
+                break;
         }
-        
-        // 5. Logika Mencetak Skor (Tabrakan KRISTAL & Keranjang) - INI PERUBAHANNYA
-        // Jika pemain memegang bola DAN bola tersebut menyentuh keranjang...
-        Ball heldBall = player.getHeldBall();
-        if (heldBall != null && heldBall.getBounds().intersects(basket.getBounds())) {
-            score += heldBall.getScore(); // Tambah skor
-            count++; // Tambah hitungan
-            player.releaseBall(); // Lepaskan bola (bola hilang dan skor tercatat)
+    }
+
+    /**
+     * Membuka rekaman replay untuk sesi ini jika -Dctc.replay.dir diisi.
+     */
+    private void openReplay() {
+        if (REPLAY_DIR == null) return;
+        String name = "session-" + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"))
+                + "-" + Long.toHexString(simulation.getSeed()) + ".ctcr";
+        try {
+            Path dir = Paths.get(REPLAY_DIR);
+            Files.createDirectories(dir);
+            replay = new ReplayWriter(dir.resolve(name), simulation.getSeed(), simulation.getSpawnSettings());
+        } catch (IOException e) {
+            System.err.println("Gagal membuat rekaman replay: " + e.getMessage());
+            replay = null;
         }
     }
 
     /**
-     * Membuat bola baru dengan posisi dan skor acak.
+     * Mencatat input tick berikutnya ke rekaman. Jika penulisan gagal, perekaman dihentikan
+     * tanpa mengganggu permainan.
      */
-    private void spawnBall() {
-        Random rand = new Random();
-        
-        // Tentukan tipe bola secara acak (logika ini tetap sama)
-        int chance = rand.nextInt(100);
-        Ball.BallType randomType;
-        if (chance < 40) randomType = Ball.BallType.RED;
-        else if (chance < 70) randomType = Ball.BallType.BLUE;
-        else if (chance < 95) randomType = Ball.BallType.GREEN;
-        else randomType = Ball.BallType.PURPLE;
-
-        // --- LOGIKA BARU UNTUK MENGHINDARI KERANJANG ---
-
-        // 1. Tentukan "zona terlarang" berdasarkan posisi dan ukuran keranjang
-        // Kita tambahkan 'padding' agar ada jarak aman antara bola dan keranjang
-        int padding = 50; // Jarak aman (bisa diubah)
-        int basketTopY = basket.getBounds().y - padding;
-        int basketBottomY = basket.getBounds().y + basket.getBounds().height + padding;
-
-        // 2. Tentukan area spawn yang valid
-        int topZoneHeight = basketTopY;
-        int bottomZoneStart = basketBottomY;
-        // Asumsi tinggi game panel adalah 600, dan kita batasi spawn hingga y=550
-        int bottomZoneHeight = 550 - bottomZoneStart; 
-        
-        int yPos;
-
-        // 3. Pilih secara acak mau spawn di zona atas atau bawah
-        if (rand.nextBoolean()) {
-            // Muncul di zona atas
-            // Hasilkan angka acak dari 0 hingga setinggi zona atas
-            yPos = rand.nextInt(topZoneHeight);
-        } else {
-            // Muncul di zona bawah
-            // Hasilkan angka acak dari 0 hingga setinggi zona bawah, lalu geser ke bawah
-            yPos = rand.nextInt(bottomZoneHeight) + bottomZoneStart;
+    private void recordInput() {
+        if (replay == null) return;
+        try {
+            replay.record(simulation.getTick() + 1, input);
+        } catch (IOException e) {
+            System.err.println("Gagal menulis rekaman replay: " + e.getMessage());
+            closeQuietly();
         }
+    }
 
-        // --- AKHIR LOGIKA BARU ---
+    /**
+     * Menutup rekaman dengan skor dan count akhir sesi.
+     */
+    private void closeReplay() {
+        if (replay == null) return;
+        try {
+            replay.finish(simulation.getTick(), simulation.getScore(), simulation.getCount());
+        } catch (IOException e) {
+            System.err.println("Gagal menutup rekaman replay: " + e.getMessage());
+        }
+        closeQuietly();
+    }
 
-        // Logika arah bola (kanan-kiri atau kiri-kanan) tetap sama
-        int middleY = 300;
-        if (yPos < middleY) {
-            // Kanan ke Kiri (atas)
-            balls.add(new Ball(800, yPos, -2, randomType));
-        } else {
-            // Kiri ke Kanan (bawah)
-            balls.add(new Ball(0, yPos, 2, randomType));
+    private void closeQuietly() {
+        try {
+            replay.close();
+        } catch (IOException e) {
+            e.printStackTrace();
         }
+        replay = null;
+    }
+
+    /**
+     * Menyalin state permainan saat ini ke buffer snapshot, menerbitkannya, menandai area
+     * yang berubah, lalu memberi tahu View bahwa ada frame baru.
+     */
+    private void publishFrame() {
+        FrameSnapshot frame = frames.getWriteBuffer();
+        simulation.writeSnapshot(frame);
+        frames.publish();
+        // Ditandai setelah publish: area kotor yang diambil View selalu sudah ada di frame terbitan.
+        // Snapshot ini baru akan ditulis ulang dua publish lagi, jadi aman dibaca di sini.
+        dirtyMarker.mark(frame);
+        view.updateDisplay();
     }
 
     /**
@@ -228,6 +281,8 @@ public class GamePresenter implements Runnable {
      * Jika username sudah ada, skor akan diakumulasikan. Jika tidak, data baru akan dibuat.
      */
     private void saveCurrentScore() {
+        int score = simulation.getScore();
+        int count = simulation.getCount();
         if (score == 0) return; // Jangan simpan jika tidak ada skor
 
         String usernameToSave = this.currentUsername;
@@ -235,76 +290,9 @@ public class GamePresenter implements Runnable {
             usernameToSave = "Player"; // Username default
         }
 
-        Connection conn = null;
-        try {
-            conn = DatabaseConnection.getConnection();
-            // Mematikan auto-commit untuk manajemen transaksi manual
-            conn.setAutoCommit(false);
-
-            // 1. Cek apakah username sudah ada dan ambil data lamanya
-            String checkSql = "SELECT skor, count FROM thasil WHERE username = ?";
-            int oldSkor = 0;
-            int oldCount = 0;
-            boolean userExists = false;
-
-            try (PreparedStatement checkStmt = conn.prepareStatement(checkSql)) {
-                checkStmt.setString(1, usernameToSave);
-                try (ResultSet rs = checkStmt.executeQuery()) {
-                    if (rs.next()) {
-                        // Jika user ditemukan, simpan data lamanya
-                        userExists = true;
-                        oldSkor = rs.getInt("skor");
-                        oldCount = rs.getInt("count");
-                    }
-                }
-            }
-
-            // 2. Putuskan untuk UPDATE (jika ada) atau INSERT (jika tidak ada)
-            if (userExists) {
-                // Pengguna sudah ada, lakukan UPDATE dengan menambahkan skor baru
-                String updateSql = "UPDATE thasil SET skor = ?, count = ? WHERE username = ?";
-                try (PreparedStatement updateStmt = conn.prepareStatement(updateSql)) {
-                    updateStmt.setInt(1, oldSkor + this.score);
-                    updateStmt.setInt(2, oldCount + this.count);
-                    updateStmt.setString(3, usernameToSave);
-                    updateStmt.executeUpdate();
-                }
-            } else {
-                // Pengguna baru, lakukan INSERT seperti biasa
-                String insertSql = "INSERT INTO thasil(username, skor, count) VALUES(?, ?, ?)";
-                try (PreparedStatement insertStmt = conn.prepareStatement(insertSql)) {
-                    insertStmt.setString(1, usernameToSave);
-                    insertStmt.setInt(2, this.score);
-                    insertStmt.setInt(3, this.count);
-                    insertStmt.executeUpdate();
-                }
-            }
-
-            // Jika semua operasi berhasil, commit transaksi
-            conn.commit();
-
-        } catch (SQLException e) {
-            // Jika terjadi error, batalkan semua perubahan dalam transaksi ini
-            if (conn != null) {
-                try {
-                    conn.rollback();
-                } catch (SQLException ex) {
-                    ex.printStackTrace();
-                }
-            }
-            JOptionPane.showMessageDialog(null, "Gagal menyimpan skor ke database:\n" + e.getMessage(), "Error Database", JOptionPane.ERROR_MESSAGE);
-            e.printStackTrace();
-        } finally {
-            // Selalu pastikan koneksi ditutup pada akhirnya
-            if (conn != null) {
-                try {
-                    conn.setAutoCommit(true); // Kembalikan ke mode auto-commit
-                    conn.close();
-                } catch (SQLException e) {
-                    e.printStackTrace();
-                }
-            }
-        }
+        // Hanya dimasukkan ke antrean; penulisan ke database dilakukan worker di latar belakang
+        // sehingga EDT tidak pernah menunggu JDBC maupun menampilkan dialog error
+        ScoreSink.getDefault().submit(usernameToSave, score, count);
     }
 
 
@@ -316,16 +304,10 @@ public class GamePresenter implements Runnable {
      */
     public void onKeyPressed(int keyCode) {
         switch (keyCode) {
-            case KeyEvent.VK_UP: moveUp = true; break;
-            case KeyEvent.VK_DOWN: moveDown = true; break;
-            case KeyEvent.VK_LEFT: 
-                moveLeft = true; 
-                player.setFacingDirection(Player.Direction.LEFT); // TAMBAHKAN BARIS INI
-                break;
-            case KeyEvent.VK_RIGHT: 
-                moveRight = true; 
-                player.setFacingDirection(Player.Direction.RIGHT); // TAMBAHKAN BARIS INI
-                break;
+            case KeyEvent.VK_UP: inputEvents.offer(System.nanoTime(), EVENT_KEY_DOWN, KEY_UP, 0); break;
+            case KeyEvent.VK_DOWN: inputEvents.offer(System.nanoTime(), EVENT_KEY_DOWN, KEY_DOWN, 0); break;
+            case KeyEvent.VK_LEFT: inputEvents.offer(System.nanoTime(), EVENT_KEY_DOWN, KEY_LEFT, 0); break;
+            case KeyEvent.VK_RIGHT: inputEvents.offer(System.nanoTime(), EVENT_KEY_DOWN, KEY_RIGHT, 0); break;
             case KeyEvent.VK_SPACE:
                 stopGame();
                 saveCurrentScore();
@@ -340,10 +322,10 @@ public class GamePresenter implements Runnable {
      */
     public void onKeyReleased(int keyCode) {
         switch (keyCode) {
-            case KeyEvent.VK_UP: moveUp = false; break;
-            case KeyEvent.VK_DOWN: moveDown = false; break;
-            case KeyEvent.VK_LEFT: moveLeft = false; break;
-            case KeyEvent.VK_RIGHT: moveRight = false; break;
+            case KeyEvent.VK_UP: inputEvents.offer(System.nanoTime(), EVENT_KEY_UP, KEY_UP, 0); break;
+            case KeyEvent.VK_DOWN: inputEvents.offer(System.nanoTime(), EVENT_KEY_UP, KEY_DOWN, 0); break;
+            case KeyEvent.VK_LEFT: inputEvents.offer(System.nanoTime(), EVENT_KEY_UP, KEY_LEFT, 0); break;
+            case KeyEvent.VK_RIGHT: inputEvents.offer(System.nanoTime(), EVENT_KEY_UP, KEY_RIGHT, 0); break;
         }
     }
 
@@ -353,9 +335,7 @@ public class GamePresenter implements Runnable {
      * @param y Posisi y mouse.
      */
     public void onMousePressed(int x, int y) {
-        // Tali lasso dapat memendek dan memanjang sesuai klik dari layar. 
-        if (!lasso.isActive()) {
-            lasso.activate(x, y);
-        }
+        // Diantrekan; game thread menerapkannya pada tick berikutnya
+        inputEvents.offer(System.nanoTime(), EVENT_FIRE, x, y);
     }
 }
\ No newline at end of file
@@ -0,0 +1,341 @@
+package presenter;
+
+import model.LeaderboardRepository;
+import model.ScoreData;
+import model.ScoreSink;
+
+import javax.swing.*;
+import javax.swing.table.DefaultTableModel;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.IntConsumer;
+
+/**
+ * Kelas LeaderboardService menyimpan baris leaderboard yang sedang ditampilkan di memori dan
+ * menjaga tabel skor di menu utama tetap segar tanpa query ulang ke database.
+ * Halaman pertama dimuat di thread latar belakang, halaman berikutnya dimuat saat pengguna
+ * menggulir ke bawah ({@link #loadNextPage()}). Setiap hasil yang di-commit oleh
+ * {@link ScoreSink} diterapkan secara inkremental ke daftar terurut, dan hanya perubahan
+ * barisnya (ubah, sisip, hapus) yang dikirim ke DefaultTableModel di EDT.
+ *
+ * Karena skor hanya bisa bertambah, pemain di luar jendela yang sudah dimuat hanya dapat
+ * masuk lewat sebuah pembaruan, sehingga jendela di memori tetap tepat selama semua simpanan
+ * melewati sink ini. Perubahan dari klien lain ditangkap oleh reconcile berkala pada
+ * index peringkat di {@link LeaderboardRepository}.
+ */
+public class LeaderboardService implements ScoreSink.Listener {
+    public static final int PAGE_SIZE = 20;
+    // Jeda antar pemuatan ulang index peringkat dari database
+    private static final long RECONCILE_INTERVAL_MS = 5 * 60_000L;
+
+    // Urutan tabel: skor terbesar dulu, lalu kunci urut username dari database (sama dengan query)
+    private static final Comparator<ScoreData> RANKING = LeaderboardRepository.RANKING;
+
+    private final DefaultTableModel tableModel;
+    private final int pageSize;
+    // Baris yang sudah dimuat, selalu terurut menurut RANKING; diakses di bawah lock objek ini
+    private final List<ScoreData> entries = new ArrayList<>();
+    // Jumlah baris yang dijaga tepat; bertambah satu halaman setiap kali halaman baru dimuat
+    private int windowSize;
+    private boolean pageLoading = false;
+    private boolean exhausted = false;
+    // Kegagalan memuat halaman lanjutan hanya dilaporkan sekali sampai ada halaman yang berhasil
+    private boolean pageFailureReported = false;
+    // Halaman lanjutan dimuat satu per satu oleh satu thread latar belakang
+    private final ExecutorService pageLoader = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "leaderboard-page");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * @param tableModel Model tabel yang diperbarui (kolom: Username, Score, Count).
+     * @param pageSize Jumlah baris per halaman.
+     */
+    public LeaderboardService(DefaultTableModel tableModel, int pageSize) {
+        this.tableModel = tableModel;
+        this.pageSize = pageSize;
+        this.windowSize = 0;
+    }
+
+    /**
+     * Mendaftar ke sink skor, lalu di thread latar belakang memuat halaman pertama dan
+     * membangun (serta secara berkala memperbarui) index peringkat.
+     * @param sink Sink yang memberi tahu setiap simpanan yang berhasil.
+     */
+    public void start(ScoreSink sink) {
+        sink.addListener(this);
+        Thread loader = new Thread(() -> {
+            if (!loadFirstPage()) {
+                return;
+            }
+            while (true) {
+                try {
+                    LeaderboardRepository.reconcile();
+                } catch (SQLException | RuntimeException e) {
+                    System.err.println("Gagal memuat index peringkat: " + e.getMessage());
+                }
+                try {
+                    Thread.sleep(RECONCILE_INTERVAL_MS);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        }, "leaderboard-loader");
+        loader.setDaemon(true);
+        loader.start();
+    }
+
+    /**
+     * Memuat halaman berikutnya di thread latar belakang, kecuali sedang memuat
+     * atau semua baris sudah ditampilkan. Aman dipanggil berulang kali dari EDT
+     * (misalnya setiap AdjustmentEvent scrollbar): penanda pemuatan dipasang di sini,
+     * sehingga hanya satu pemuatan yang berjalan pada satu waktu.
+     */
+    public void loadNextPage() {
+        synchronized (this) {
+            if (pageLoading || exhausted || windowSize == 0) return;
+            pageLoading = true;
+        }
+        pageLoader.execute(() -> {
+            try {
+                loadPage();
+                synchronized (this) {
+                    pageFailureReported = false;
+                }
+            } catch (SQLException | RuntimeException e) {
+                synchronized (this) {
+                    if (pageFailureReported) return;
+                    pageFailureReported = true;
+                }
+                System.err.println("Halaman leaderboard berikutnya gagal dimuat (dicoba lagi saat tabel digulir): "
+                        + e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Mencari peringkat seorang pemain di thread latar belakang.
+     * @param username Nama pemain.
+     * @param onRank Dipanggil di EDT dengan peringkat (1 = teratas), 0 jika tidak ditemukan,
+     *               atau -1 jika database tidak dapat diakses.
+     */
+    public void requestRank(String username, IntConsumer onRank) {
+        Thread lookup = new Thread(() -> {
+            int rank;
+            try {
+                rank = LeaderboardRepository.findRank(username);
+            } catch (SQLException | RuntimeException e) {
+                System.err.println("Gagal mencari peringkat: " + e.getMessage());
+                rank = -1;
+            }
+            int result = rank;
+            SwingUtilities.invokeLater(() -> onRank.accept(result));
+        }, "leaderboard-rank");
+        lookup.setDaemon(true);
+        lookup.start();
+    }
+
+    /**
+     * Dipanggil dari worker ScoreSink dengan total absolut terbaru.
+     */
+    @Override
+    public void onScoresCommitted(List<ScoreData> totals) {
+        LeaderboardRepository.applyTotals(totals);
+
+        List<RowChange> changes = new ArrayList<>();
+        synchronized (this) {
+            for (ScoreData data : totals) {
+                applyUpdate(data, changes);
+            }
+            postChanges(changes);
+        }
+    }
+
+    /**
+     * @return Salinan baris yang sedang dimuat.
+     */
+    public synchronized List<ScoreData> getEntries() {
+        return new ArrayList<>(entries);
+    }
+
+    /**
+     * Memuat halaman pertama; jika database gagal diakses, pengguna diberi tahu sekali lewat dialog.
+     * @return false jika database gagal diakses.
+     */
+    private boolean loadFirstPage() {
+        synchronized (this) {
+            if (pageLoading || exhausted) return true;
+            pageLoading = true;
+        }
+        try {
+            loadPage();
+            return true;
+        } catch (SQLException | RuntimeException e) {
+            e.printStackTrace();
+            SwingUtilities.invokeLater(() -> JOptionPane.showMessageDialog(null,
+                    "Gagal memuat skor dari database:\n" + e.getMessage(), "Error Database", JOptionPane.ERROR_MESSAGE));
+            return false;
+        }
+    }
+
+    /**
+     * Membaca satu halaman setelah baris terakhir yang sudah dimuat dan menggabungkannya.
+     * Pemanggil sudah memasang pageLoading; penanda itu dilepas di sini, berhasil atau tidak.
+     * @throws SQLException jika database gagal diakses.
+     */
+    private void loadPage() throws SQLException {
+        ScoreData after;
+        synchronized (this) {
+            after = entries.isEmpty() ? null : entries.get(entries.size() - 1);
+        }
+
+        List<ScoreData> page;
+        try {
+            page = LeaderboardRepository.findPage(after, pageSize);
+        } catch (SQLException | RuntimeException e) {
+            synchronized (this) {
+                pageLoading = false;
+            }
+            throw e;
+        }
+
+        List<RowChange> changes = new ArrayList<>();
+        synchronized (this) {
+            for (ScoreData data : page) {
+                int existing = indexOf(data.getUsername());
+                // Pembaruan yang tiba selama halaman dimuat lebih baru; jangan ditimpa
+                if (existing >= 0 && entries.get(existing).getScore() >= data.getScore()) continue;
+                applyUpdate(data, changes);
+            }
+            pageLoading = false;
+
+            if (page.size() < pageSize) {
+                // Seluruh tabel sudah di memori: setiap pemain baru bisa langsung dimasukkan
+                exhausted = true;
+                windowSize = Integer.MAX_VALUE;
+            } else {
+                // Baris yang masuk selama pemuatan tetapi berada di bawah baris terakhir halaman
+                // dibuang; baris di antaranya belum dibaca dan akan datang di halaman berikutnya
+                ScoreData boundary = page.get(page.size() - 1);
+                while (!entries.isEmpty() && RANKING.compare(entries.get(entries.size() - 1), boundary) > 0) {
+                    int last = entries.size() - 1;
+                    entries.remove(last);
+                    changes.add(RowChange.remove(last));
+                }
+                windowSize = entries.size();
+            }
+            postChanges(changes);
+        }
+    }
+
+    /**
+     * Menerapkan satu total baru ke jendela dan mencatat perubahan baris yang setara
+     * untuk model tabel (urutan perubahan harus diterapkan apa adanya).
+     */
+    private void applyUpdate(ScoreData data, List<RowChange> changes) {
+        int oldIndex = indexOf(data.getUsername());
+        if (oldIndex >= 0) {
+            entries.remove(oldIndex);
+        }
+        int newIndex = insertionPoint(data);
+        if (newIndex >= windowSize && !pageLoading) {
+            // Berada di bawah jendela yang dimuat; akan terbaca saat halaman berikutnya dimuat
+            if (oldIndex >= 0) {
+                entries.add(oldIndex, data);
+            }
+            return;
+        }
+        entries.add(newIndex, data);
+
+        if (oldIndex == newIndex) {
+            changes.add(RowChange.update(newIndex, data));
+            return;
+        }
+        if (oldIndex >= 0) {
+            changes.add(RowChange.remove(oldIndex));
+        }
+        changes.add(RowChange.insert(newIndex, data));
+        // Selama halaman dimuat, baris terbawah dibiarkan; batasnya dirapikan setelah halaman digabung
+        if (!pageLoading && entries.size() > windowSize) {
+            int last = entries.size() - 1;
+            entries.remove(last);
+            changes.add(RowChange.remove(last));
+        }
+    }
+
+    /**
+     * Menjadwalkan perubahan ke EDT. Dipanggil selagi memegang lock agar urutan di EDT
+     * sama dengan urutan perubahan jendela.
+     */
+    private void postChanges(List<RowChange> changes) {
+        if (changes.isEmpty()) return;
+        SwingUtilities.invokeLater(() -> {
+            for (RowChange change : changes) {
+                change.applyTo(tableModel);
+            }
+        });
+    }
+
+    private int indexOf(String username) {
+        for (int i = 0; i < entries.size(); i++) {
+            // Semua baris berasal dari database dengan ejaan username yang tersimpan
+            if (entries.get(i).getUsername().equals(username)) return i;
+        }
+        return -1;
+    }
+
+    private int insertionPoint(ScoreData data) {
+        int low = 0, high = entries.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (RANKING.compare(entries.get(mid), data) < 0) low = mid + 1;
+            else high = mid;
+        }
+        return low;
+    }
+
+    private static Object[] toRow(ScoreData data) {
+        return new Object[]{data.getUsername(), data.getScore(), data.getCount()};
+    }
+
+    /**
+     * Satu perubahan baris pada model tabel.
+     */
+    private static final class RowChange {
+        private static final int UPDATE = 0, INSERT = 1, REMOVE = 2;
+
+        private final int kind;
+        private final int row;
+        private final ScoreData data;
+
+        private RowChange(int kind, int row, ScoreData data) {
+            this.kind = kind;
+            this.row = row;
+            this.data = data;
+        }
+
+        static RowChange update(int row, ScoreData data) { return new RowChange(UPDATE, row, data); }
+        static RowChange insert(int row, ScoreData data) { return new RowChange(INSERT, row, data); }
+        static RowChange remove(int row) { return new RowChange(REMOVE, row, null); }
+
+        void applyTo(DefaultTableModel model) {
+            switch (kind) {
+                case UPDATE:
+                    model.setValueAt(data.getScore(), row, 1);
+                    model.setValueAt(data.getCount(), row, 2);
+                    break;
+                case INSERT:
+                    model.insertRow(row, toRow(data));
+                    break;
+                case REMOVE:
+                    model.removeRow(row);
+                    break;
+            }
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package presenter;
+
+import util.LatencyHistogram;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Kelas LoopScheduler menjalankan game loop dengan langkah waktu tetap: tick logika dijalankan
+ * tepat pada tenggatnya dan frame diterbitkan pada laju render tersendiri. Di antara tenggat,
+ * thread tidur dengan LockSupport.parkNanos sampai sesaat sebelum tenggat berikutnya, lalu
+ * menunggu sisa waktunya dengan spin singkat agar tick tidak terlambat karena ketidaktepatan
+ * timer sistem operasi.
+ *
+ * Jika satu putaran tertinggal lebih dari {@link #MAX_CATCH_UP_TICKS} tick (misalnya karena GC
+ * atau mesin sibuk), sisa tick dibuang dan dihitung sebagai tick yang hilang, sehingga
+ * permainan tidak berlari cepat untuk mengejar. Durasi tick, durasi render, dan keterlambatan
+ * bangun dicatat di LatencyHistogram.
+ */
+public class LoopScheduler {
+
+    /**
+     * Pekerjaan yang dijadwalkan oleh loop. Dipanggil di thread yang menjalankan {@link #run}.
+     */
+    public interface Callbacks {
+        /**
+         * Menjalankan satu tick logika.
+         * @param deadline Waktu (System.nanoTime()) saat tick ini jatuh tempo.
+         */
+        void tick(long deadline);
+
+        /**
+         * Menerbitkan satu frame. Hanya dipanggil jika ada tick baru sejak frame sebelumnya.
+         */
+        void render();
+    }
+
+    public static final int MAX_CATCH_UP_TICKS = 5;
+    // Sisa waktu sebelum tenggat yang ditunggu dengan spin, bukan park
+    private static final long SPIN_TAIL_NANOS = 200_000;
+
+    private final long tickPeriod;
+    private final long renderPeriod;
+    private final Callbacks callbacks;
+
+    private volatile boolean running = true;
+    private volatile Thread loopThread;
+
+    private final LatencyHistogram tickDurations = new LatencyHistogram();
+    private final LatencyHistogram renderDurations = new LatencyHistogram();
+    private final LatencyHistogram tickLateness = new LatencyHistogram();
+    private volatile long ticks;
+    private volatile long overruns;     // Tick yang berjalan lebih lama dari periodenya
+    private volatile long droppedTicks; // Tick yang dibuang karena loop tertinggal terlalu jauh
+
+    /**
+     * @param ticksPerSecond Laju tick logika.
+     * @param framesPerSecond Laju render maksimum (tidak melebihi laju tick yang berarti).
+     * @param callbacks Pekerjaan tick dan render.
+     */
+    public LoopScheduler(int ticksPerSecond, int framesPerSecond, Callbacks callbacks) {
+        if (ticksPerSecond <= 0 || framesPerSecond <= 0) {
+            throw new IllegalArgumentException("Laju tick dan render harus lebih dari 0");
+        }
+        this.tickPeriod = 1_000_000_000L / ticksPerSecond;
+        this.renderPeriod = 1_000_000_000L / framesPerSecond;
+        this.callbacks = callbacks;
+    }
+
+    /**
+     * Menjalankan loop di thread pemanggil sampai {@link #stop()} dipanggil
+     * (langsung kembali jika stop() sudah dipanggil lebih dulu).
+     * Satu frame awal diterbitkan sebelum tick pertama. Setiap objek hanya dijalankan sekali.
+     */
+    public void run() {
+        loopThread = Thread.currentThread();
+        if (!running) return;
+        callbacks.render();
+
+        long nextTick = System.nanoTime() + tickPeriod;
+        long nextRender = nextTick;
+        boolean ticked = false;
+
+        while (running) {
+            long now = System.nanoTime();
+
+            if (now - nextTick >= 0) {
+                long due = (now - nextTick) / tickPeriod + 1;
+                if (due > MAX_CATCH_UP_TICKS) {
+                    long skipped = due - MAX_CATCH_UP_TICKS;
+                    droppedTicks += skipped;
+                    nextTick += skipped * tickPeriod;
+                    due = MAX_CATCH_UP_TICKS;
+                }
+                tickLateness.record(now - nextTick);
+                for (long i = 0; i < due && running; i++) {
+                    long start = System.nanoTime();
+                    callbacks.tick(nextTick);
+                    long duration = System.nanoTime() - start;
+                    tickDurations.record(duration);
+                    if (duration > tickPeriod) overruns++;
+                    ticks++;
+                    nextTick += tickPeriod;
+                }
+                ticked = true;
+            }
+
+            now = System.nanoTime();
+            if (ticked && now - nextRender >= 0) {
+                long start = now;
+                callbacks.render();
+                renderDurations.record(System.nanoTime() - start);
+                ticked = false;
+                // Frame yang terlewat tidak dikejar; frame berikutnya dijadwalkan dari sekarang
+                nextRender = Math.max(nextRender + renderPeriod, now);
+            }
+
+            waitUntil(ticked && nextRender - nextTick < 0 ? nextRender : nextTick);
+        }
+        loopThread = null;
+    }
+
+    /**
+     * Menghentikan loop; putaran yang sedang berjalan diselesaikan lebih dulu.
+     */
+    public void stop() {
+        running = false;
+        Thread thread = loopThread;
+        if (thread != null) LockSupport.unpark(thread);
+    }
+
+    /**
+     * Park sampai sesaat sebelum tenggat, lalu spin sisanya.
+     */
+    private void waitUntil(long deadline) {
+        while (running) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) return;
+            if (remaining > SPIN_TAIL_NANOS) {
+                LockSupport.parkNanos(this, remaining - SPIN_TAIL_NANOS);
+            } else {
+                Thread.onSpinWait();
+            }
+        }
+    }
+
+    /**
+     * @return Ringkasan statistik loop untuk dicetak ke konsol.
+     */
+    public String report() {
+        return "tick " + ticks + ", overrun " + overruns + ", tick hilang " + droppedTicks
+                + "\n  durasi tick: " + tickDurations.summaryMillis()
+                + "\n  keterlambatan tick: " + tickLateness.summaryMillis()
+                + "\n  durasi render: " + renderDurations.summaryMillis();
+    }
+
+    public long getTickPeriodNanos() { return tickPeriod; }
+    public long getRenderPeriodNanos() { return renderPeriod; }
+    public long getTickCount() { return ticks; }
+    public long getOverrunCount() { return overruns; }
+    public long getDroppedTickCount() { return droppedTicks; }
+    public LatencyHistogram getTickDurations() { return tickDurations; }
+    public LatencyHistogram getRenderDurations() { return renderDurations; }
+    public LatencyHistogram getTickLateness() { return tickLateness; }
+}
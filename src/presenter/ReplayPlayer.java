@@ -0,0 +1,224 @@
+package presenter;
+
+import model.Player;
+import util.VarInt;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Kelas ReplayPlayer memutar ulang file replay dari {@link ReplayWriter} tanpa tampilan dan
+ * secepat mungkin (tanpa jeda antar tick), lalu membandingkan skor dan count akhirnya dengan
+ * yang tercatat saat sesi dimainkan. Perbedaan berarti logika Simulation tidak lagi
+ * menghasilkan sesi yang sama dari input yang sama.
+ *
+ * Cara menjalankan (dari root proyek, setelah src/ dikompilasi ke out/):
+ *   java -cp out presenter.ReplayPlayer file.ctcr|folder [...]
+ * Kode keluar 1 jika ada replay yang tidak cocok atau gagal dibaca.
+ */
+public class ReplayPlayer {
+
+    /**
+     * Hasil pemutaran satu replay.
+     */
+    public static final class Result {
+        private final long seed;
+        private final long ticks;
+        private final int score;
+        private final int count;
+        private final boolean verified;
+        private final int expectedScore;
+        private final int expectedCount;
+        private final long elapsedNanos;
+
+        Result(long seed, long ticks, int score, int count, boolean verified,
+               int expectedScore, int expectedCount, long elapsedNanos) {
+            this.seed = seed;
+            this.ticks = ticks;
+            this.score = score;
+            this.count = count;
+            this.verified = verified;
+            this.expectedScore = expectedScore;
+            this.expectedCount = expectedCount;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        public long getSeed() { return seed; }
+        public long getTicks() { return ticks; }
+        public int getScore() { return score; }
+        public int getCount() { return count; }
+        public long getElapsedNanos() { return elapsedNanos; }
+
+        /**
+         * @return true jika rekaman memiliki hasil akhir (sesi ditutup dengan benar).
+         */
+        public boolean isVerified() { return verified; }
+
+        /**
+         * @return true jika hasil pemutaran sama dengan hasil yang direkam.
+         */
+        public boolean matches() {
+            return verified && score == expectedScore && count == expectedCount;
+        }
+
+        public int getExpectedScore() { return expectedScore; }
+        public int getExpectedCount() { return expectedCount; }
+    }
+
+    /**
+     * Memutar ulang satu file replay.
+     * @param file Lokasi file .ctcr.
+     * @return Hasil pemutaran.
+     * @throws IOException jika file tidak dapat dibaca atau formatnya tidak dikenali.
+     */
+    public static Result play(Path file) throws IOException {
+        ByteBuffer data;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            data = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        try {
+            return play(data);
+        } catch (BufferUnderflowException | IllegalArgumentException e) {
+            throw new IOException("Replay rusak: " + file, e);
+        }
+    }
+
+    /**
+     * Memutar ulang replay yang sudah ada di memori (dari posisi buffer saat ini).
+     */
+    public static Result play(ByteBuffer data) throws IOException {
+        for (byte b : ReplayWriter.MAGIC) {
+            if (data.get() != b) throw new IOException("Bukan file replay");
+        }
+        int version = VarInt.getVarInt(data);
+        if (version != ReplayWriter.VERSION) {
+            throw new IOException("Versi replay " + version + " tidak didukung (versi saat ini " + ReplayWriter.VERSION + ")");
+        }
+        long seed = data.getLong();
+        int[] weights = new int[VarInt.getVarInt(data)];
+        for (int i = 0; i < weights.length; i++) {
+            weights[i] = VarInt.getVarInt(data);
+        }
+        int speed = VarInt.getVarInt(data);
+        int interval = VarInt.getVarInt(data);
+        int burst = VarInt.getVarInt(data);
+
+        long start = System.nanoTime();
+        Simulation simulation = new Simulation(seed, new SpawnSettings(weights, speed, interval, burst));
+        TickInput input = new TickInput();
+        Player.Direction[] directions = Player.Direction.values();
+        long recordTick = 0;
+        boolean verified = false;
+        int expectedScore = 0, expectedCount = 0;
+
+        while (data.hasRemaining()) {
+            recordTick += VarInt.getVarLong(data);
+            int type = data.get();
+            // Jalankan tick-tick tanpa kejadian sampai tepat sebelum tick record ini
+            while (simulation.getTick() < recordTick - 1) {
+                simulation.step(input);
+                input.clearEvents();
+            }
+            if (type == ReplayWriter.RECORD_END) {
+                expectedScore = VarInt.getVarInt(data);
+                expectedCount = VarInt.getVarInt(data);
+                verified = true;
+                // Tick terakhir sudah dijalankan saat sesi direkam; tidak ada input baru
+                if (simulation.getTick() < recordTick) {
+                    simulation.step(input);
+                    input.clearEvents();
+                }
+                break;
+            }
+            switch (type) {
+                case ReplayWriter.RECORD_MOVE:
+                    int keys = VarInt.getVarInt(data);
+                    input.setMovement((keys & ReplayWriter.KEY_UP) != 0, (keys & ReplayWriter.KEY_DOWN) != 0,
+                            (keys & ReplayWriter.KEY_LEFT) != 0, (keys & ReplayWriter.KEY_RIGHT) != 0);
+                    break;
+                case ReplayWriter.RECORD_FACING:
+                    input.setFacing(directions[VarInt.getVarInt(data)]);
+                    break;
+                case ReplayWriter.RECORD_FIRE:
+                    int x = VarInt.getSignedVarInt(data);
+                    int y = VarInt.getSignedVarInt(data);
+                    input.fireAt(x, y);
+                    break;
+                default:
+                    throw new IOException("Jenis record tidak dikenal: " + type);
+            }
+        }
+        // Rekaman yang terpotong: jalankan record terakhir yang belum diproses
+        if (!verified && simulation.getTick() < recordTick) {
+            simulation.step(input);
+        }
+
+        return new Result(seed, simulation.getTick(), simulation.getScore(), simulation.getCount(),
+                verified, expectedScore, expectedCount, System.nanoTime() - start);
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            System.err.println("Pemakaian: java presenter.ReplayPlayer file.ctcr|folder [...]");
+            System.exit(2);
+        }
+        List<Path> files = new ArrayList<>();
+        for (String arg : args) {
+            Path path = Paths.get(arg);
+            if (Files.isDirectory(path)) {
+                try (DirectoryStream<Path> stream = Files.newDirectoryStream(path, "*.ctcr")) {
+                    stream.forEach(files::add);
+                }
+            } else {
+                files.add(path);
+            }
+        }
+        files.sort(null);
+
+        int failures = 0;
+        long totalTicks = 0, totalNanos = 0;
+        for (Path file : files) {
+            Result result;
+            try {
+                result = play(file);
+            } catch (IOException e) {
+                System.out.println("GAGAL  " + file + ": " + e.getMessage());
+                failures++;
+                continue;
+            }
+            totalTicks += result.getTicks();
+            totalNanos += result.getElapsedNanos();
+            String status;
+            if (!result.isVerified()) {
+                status = "??    ";
+            } else if (result.matches()) {
+                status = "OK    ";
+            } else {
+                status = "BEDA  ";
+                failures++;
+            }
+            System.out.printf(Locale.ROOT, "%s%s: %,d tick, skor %d count %d", status, file.getFileName(),
+                    result.getTicks(), result.getScore(), result.getCount());
+            if (result.isVerified() && !result.matches()) {
+                System.out.printf(Locale.ROOT, " (direkam: skor %d count %d)",
+                        result.getExpectedScore(), result.getExpectedCount());
+            }
+            System.out.println();
+        }
+        if (totalNanos > 0) {
+            System.out.printf(Locale.ROOT, "%d replay, %,d tick dalam %.2f s = %,.0f tick/s%n",
+                    files.size(), totalTicks, totalNanos / 1e9, totalTicks / (totalNanos / 1e9));
+        }
+        System.exit(failures == 0 ? 0 : 1);
+    }
+}
@@ -0,0 +1,151 @@
+package presenter;
+
+import util.VarInt;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Kelas ReplayWriter merekam satu sesi ke file replay biner (.ctcr) yang dapat diputar ulang
+ * oleh {@link ReplayPlayer}. Karena Simulation deterministik, cukup menyimpan seed,
+ * pengaturan kemunculan, dan input per tick; seluruh state permainan dapat dihitung ulang.
+ *
+ * Format (semua bilangan varint, bilangan bertanda memakai zigzag):
+ * <pre>
+ *   header : "CTCR" versi seed(8 byte, big-endian) jumlahBobot bobot... kecepatan jeda burst
+ *   record : selisihTick jenis data
+ *            MOVE   = bitmask tombol arah (1 atas, 2 bawah, 4 kiri, 8 kanan)
+ *            FACING = 0 kiri, 1 kanan
+ *            FIRE   = x y
+ *            END    = tickAkhir skor count   (hanya di akhir file)
+ * </pre>
+ * selisihTick dihitung dari record sebelumnya; record dengan tick T berlaku untuk tick
+ * ke-T (nilai getTick() setelah step). Arah gerak hanya dicatat saat berubah.
+ *
+ * Data ditampung di ByteBuffer dan ditulis ke FileChannel hanya saat buffer hampir penuh,
+ * sehingga perekaman dari game thread tidak mengalokasi objek dan jarang menyentuh disk.
+ * Kelas ini tidak thread-safe; gunakan dari satu thread (game thread).
+ */
+public class ReplayWriter implements AutoCloseable {
+    public static final byte[] MAGIC = {'C', 'T', 'C', 'R'};
+    // Versi 2: gerakan lasso dan kristal yang ditarik memakai bilangan tetap 16.16, jadi rekaman versi 1 tidak bisa diputar ulang sama persis
+    // Versi 3: header menyimpan jumlah kristal per kemunculan
+    public static final int VERSION = 3;
+
+    static final int RECORD_MOVE = 0;
+    static final int RECORD_FACING = 1;
+    static final int RECORD_FIRE = 2;
+    static final int RECORD_END = 3;
+
+    static final int KEY_UP = 1, KEY_DOWN = 2, KEY_LEFT = 4, KEY_RIGHT = 8;
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    // Ukuran terbesar satu record (selisih tick, jenis, dua varint), sebelum buffer harus dikosongkan
+    private static final int MAX_RECORD_SIZE = 32;
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    private long lastTick;
+    private int lastKeys;
+    private boolean finished;
+
+    /**
+     * Membuat file replay baru dan menulis header-nya.
+     * @param file Lokasi file (ditimpa jika sudah ada).
+     * @param seed Seed Simulation untuk sesi ini.
+     * @param settings Pengaturan kemunculan kristal yang dipakai sesi ini.
+     * @throws IOException jika file tidak dapat dibuat.
+     */
+    public ReplayWriter(Path file, long seed, SpawnSettings settings) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        buffer.put(MAGIC);
+        VarInt.putVarInt(buffer, VERSION);
+        buffer.putLong(seed);
+        int[] weights = settings.getWeights();
+        VarInt.putVarInt(buffer, weights.length);
+        for (int weight : weights) {
+            VarInt.putVarInt(buffer, weight);
+        }
+        VarInt.putVarInt(buffer, settings.getSpeed());
+        VarInt.putVarInt(buffer, settings.getIntervalTicks());
+        VarInt.putVarInt(buffer, settings.getBurst());
+    }
+
+    /**
+     * Mencatat input yang akan dipakai untuk satu tick. Dipanggil sebelum Simulation.step(input).
+     * @param tick Nomor tick yang akan dijalankan (getTick() + 1).
+     * @param input Input untuk tick tersebut.
+     * @throws IOException jika penulisan ke file gagal.
+     */
+    public void record(long tick, TickInput input) throws IOException {
+        int keys = (input.isUp() ? KEY_UP : 0) | (input.isDown() ? KEY_DOWN : 0)
+                | (input.isLeft() ? KEY_LEFT : 0) | (input.isRight() ? KEY_RIGHT : 0);
+        if (keys != lastKeys) {
+            beginRecord(tick, RECORD_MOVE);
+            VarInt.putVarInt(buffer, keys);
+            lastKeys = keys;
+        }
+        if (input.getFacing() != null) {
+            beginRecord(tick, RECORD_FACING);
+            VarInt.putVarInt(buffer, input.getFacing().ordinal());
+        }
+        if (input.isFiring()) {
+            beginRecord(tick, RECORD_FIRE);
+            VarInt.putSignedVarInt(buffer, input.getFireX());
+            VarInt.putSignedVarInt(buffer, input.getFireY());
+        }
+    }
+
+    /**
+     * Menutup rekaman dengan hasil akhir sesi, yang diperiksa oleh ReplayPlayer.
+     * @param tick Tick terakhir yang dijalankan.
+     * @param score Skor akhir sesi.
+     * @param count Jumlah kristal akhir sesi.
+     * @throws IOException jika penulisan ke file gagal.
+     */
+    public void finish(long tick, int score, int count) throws IOException {
+        beginRecord(tick, RECORD_END);
+        VarInt.putVarInt(buffer, score);
+        VarInt.putVarInt(buffer, count);
+        finished = true;
+        flush();
+    }
+
+    public boolean isFinished() {
+        return finished;
+    }
+
+    /**
+     * Menulis sisa buffer lalu menutup file. Rekaman tanpa {@link #finish} tetap bisa diputar,
+     * tetapi hasil akhirnya tidak dapat diverifikasi.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            channel.close();
+        }
+    }
+
+    private void beginRecord(long tick, int type) throws IOException {
+        if (buffer.remaining() < MAX_RECORD_SIZE) {
+            flush();
+        }
+        VarInt.putVarLong(buffer, tick - lastTick);
+        buffer.put((byte) type);
+        lastTick = tick;
+    }
+
+    private void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+}
@@ -0,0 +1,115 @@
+package presenter;
+
+import model.CrystalStore;
+import model.Lasso;
+import model.Player;
+
+import java.util.Random;
+
+/**
+ * Kelas ScriptedBot adalah pemain otomatis untuk simulasi tanpa tampilan.
+ * Setiap tick bot mengisi TickInput seperti yang dilakukan GamePresenter dari keyboard dan
+ * mouse: menembakkan lasso ke posisi perkiraan kristal terdekat (setara onMousePressed),
+ * lalu membawa kristal yang tertangkap ke keranjang (setara tombol arah).
+ * Keputusan bot hanya bergantung pada state simulasi dan Random miliknya sendiri,
+ * sehingga seed yang sama selalu menghasilkan sesi yang sama.
+ */
+public class ScriptedBot {
+    // Sama dengan kecepatan tali pada Lasso (piksel per tick)
+    private static final int LASSO_SPEED = 15;
+    // Posisi pemain yang membuat kristal yang dipegang menyentuh keranjang di (740, 280)
+    private static final int DELIVER_X = 710;
+    private static final int DELIVER_Y = 275;
+    // Posisi tunggu di tengah arena selagi tidak ada yang bisa ditangkap
+    private static final int HOME_X = 375;
+    private static final int HOME_Y = 275;
+    // Jarak dianggap sudah sampai (kecepatan pemain 4 piksel per tick)
+    private static final int TOLERANCE = 4;
+
+    private final Random random;
+    private final int aimError;
+    private final int reactionTicks;
+    private int cooldown;
+
+    /**
+     * @param seed Seed untuk kesalahan bidikan bot.
+     * @param aimError Simpangan baku kesalahan bidikan dalam piksel (0 = selalu tepat).
+     * @param reactionTicks Jeda dalam tick sebelum bot menembak lagi setelah lasso kembali.
+     */
+    public ScriptedBot(long seed, int aimError, int reactionTicks) {
+        this.random = new Random(seed);
+        this.aimError = aimError;
+        this.reactionTicks = reactionTicks;
+    }
+
+    /**
+     * Mengatur ulang bot untuk sesi baru.
+     */
+    public void reset(long seed) {
+        random.setSeed(seed);
+        cooldown = 0;
+    }
+
+    /**
+     * Menentukan input untuk tick berikutnya.
+     * @param simulation Simulasi yang sedang dimainkan.
+     * @param input Input yang diisi (kejadian sekali-pakai harus sudah dihapus).
+     */
+    public void decide(Simulation simulation, TickInput input) {
+        Player player = simulation.getPlayer();
+        Lasso lasso = simulation.getLasso();
+
+        if (player.getHeldBall() != null) {
+            moveToward(player, DELIVER_X, DELIVER_Y, input);
+            return;
+        }
+        if (lasso.isActive()) {
+            input.setMovement(false, false, false, false);
+            cooldown = reactionTicks;
+            return;
+        }
+
+        moveToward(player, HOME_X, HOME_Y, input);
+        if (cooldown > 0) {
+            cooldown--;
+            return;
+        }
+
+        CrystalStore crystals = simulation.getCrystals();
+        int originX = player.getX() + 10; // Titik awal tali, sama dengan Lasso.activate
+        int originY = player.getY() + 10;
+        int target = -1;
+        long bestDistance = Long.MAX_VALUE;
+        for (int slot = 0; slot < crystals.size(); slot++) {
+            long dx = crystals.getX(slot) - originX;
+            long dy = crystals.getY(slot) - originY;
+            long distance = dx * dx + dy * dy;
+            if (distance < bestDistance) {
+                bestDistance = distance;
+                target = slot;
+            }
+        }
+        if (target < 0) return;
+
+        // Bidik ke posisi kristal saat tali diperkirakan sampai
+        int travelTicks = (int) (Math.sqrt(bestDistance) / LASSO_SPEED);
+        int aimX = crystals.getX(target) + crystals.getSpeedX(target) * travelTicks;
+        int aimY = crystals.getY(target);
+        if (aimError > 0) {
+            aimX += (int) Math.round(random.nextGaussian() * aimError);
+            aimY += (int) Math.round(random.nextGaussian() * aimError);
+        }
+        input.setFacing(aimX < player.getX() ? Player.Direction.LEFT : Player.Direction.RIGHT);
+        input.fireAt(aimX, aimY);
+    }
+
+    private static void moveToward(Player player, int targetX, int targetY, TickInput input) {
+        int dx = targetX - player.getX();
+        int dy = targetY - player.getY();
+        boolean left = dx < -TOLERANCE;
+        boolean right = dx > TOLERANCE;
+        input.setMovement(dy < -TOLERANCE, dy > TOLERANCE, left, right);
+        if (left) input.setFacing(Player.Direction.LEFT);
+        else if (right) input.setFacing(Player.Direction.RIGHT);
+    }
+}
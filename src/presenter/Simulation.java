@@ -0,0 +1,272 @@
+package presenter;
+
+import model.Ball;
+import model.BallPool;
+import model.Basket;
+import model.CrystalStore;
+import model.FrameSnapshot;
+import model.Lasso;
+import model.Player;
+import util.GameEvents;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Kelas Simulation adalah mesin logika permainan tanpa tampilan (headless).
+ * Seluruh state satu sesi (pemain, kristal, lasso, skor) dimajukan secara deterministik
+ * lewat {@link #step(TickInput)}: hasilnya hanya bergantung pada seed dan urutan input,
+ * tidak pada jam dinding. Game loop, tes, maupun benchmark dapat menjalankannya
+ * dengan kecepatan berapa pun, tanpa Swing sama sekali.
+ */
+public class Simulation {
+    public static final int TICKS_PER_SECOND = 60;
+
+    private final Player player;
+    private final Basket basket;
+    private final CrystalStore crystals;
+    private final Lasso lasso;
+    private final SpawnSettings spawnSettings;
+    private final BallPool ballPool = new BallPool(); // Bola tertangkap dipakai ulang, bukan dibuat baru
+    private Random random;
+    private long seed;
+
+    // State permainan
+    private long tick;
+    private int score;
+    private int count;
+    private final int[] scoredByType = new int[Ball.BallType.values().length];
+    private long spawned;
+    private long caught;
+
+    /**
+     * @param seed Seed untuk generator acak; seed dan input yang sama menghasilkan sesi yang sama.
+     */
+    public Simulation(long seed) {
+        this(seed, SpawnSettings.DEFAULT);
+    }
+
+    /**
+     * @param seed Seed untuk generator acak.
+     * @param spawnSettings Peluang, kecepatan, dan jeda kemunculan kristal.
+     */
+    public Simulation(long seed, SpawnSettings spawnSettings) {
+        this.spawnSettings = spawnSettings;
+        this.player = new Player(375, 275); // Pemeran utama game muncul dari tengah. 
+        this.basket = new Basket(740, 280, 30, 80);
+        this.crystals = new CrystalStore(); // Kristal bebas disimpan sebagai array primitif
+        this.lasso = new Lasso(player);
+        reset(seed);
+    }
+
+    /**
+     * Mengembalikan simulasi ke awal sesi baru dengan seed yang diberikan.
+     * @param seed Seed untuk sesi baru.
+     */
+    public void reset(long seed) {
+        this.seed = seed;
+        this.random = new Random(seed);
+        tick = 0;
+        score = 0;
+        count = 0;
+        Arrays.fill(scoredByType, 0);
+        spawned = 0;
+        caught = 0;
+        crystals.clear();
+        // Bola yang masih ditarik atau dipegang dari sesi sebelumnya dikembalikan ke pool
+        ballPool.release(lasso.getRetractedBall());
+        ballPool.release(player.getHeldBall());
+        player.setPosition(375, 275);
+        player.releaseBall();
+        player.setFacingDirection(Player.Direction.RIGHT);
+        lasso.resetAfterRetraction();
+    }
+
+    /**
+     * Memajukan simulasi tepat satu tick.
+     * @param input Input pemain yang berlaku untuk tick ini.
+     */
+    public void step(TickInput input) {
+        tick++;
+
+        // 0. Terapkan kejadian input sekali-pakai
+        if (input.getFacing() != null) {
+            player.setFacingDirection(input.getFacing());
+        }
+        // Tali lasso dapat memendek dan memanjang sesuai klik dari layar. 
+        if (input.isFiring() && !lasso.isActive()) {
+            lasso.activate(input.getFireX(), input.getFireY());
+        }
+
+        // 1. Pergerakan dasar pemain dan tali lasso
+        player.move(input.isUp(), input.isDown(), input.isLeft(), input.isRight());
+        lasso.update();
+
+        // 2. Logika untuk bola-bola yang masih bebas (posisi di grid ikut diperbarui,
+        //    kristal yang keluar arena langsung dibuang)
+        crystals.moveAll();
+
+        // Cek jika lasso mengenai bola yang bebas, hanya di sel-sel yang dilewati tali
+        if (lasso.isExtending() && player.getHeldBall() == null) {
+            int hitSlot = lasso.findHit(crystals);
+            if (hitSlot >= 0) {
+                // Kristal yang tertangkap dikeluarkan dari penyimpanan dan menjadi objek Ball dari pool
+                Ball caughtBall = ballPool.acquire(crystals.getX(hitSlot), crystals.getY(hitSlot),
+                        crystals.getSpeedX(hitSlot), crystals.getType(hitSlot));
+                crystals.removeAt(hitSlot);
+                lasso.catchBall(caughtBall);
+                caught++;
+                emitCatchEvent(caughtBall);
+            }
+        }
+
+        // 3. Logika Tali Lasso & Menangkap Bola
+        // Jika tali sudah kembali ke pemain sambil membawa bola...
+        if (lasso.hasReturnedToPlayer()) {
+            Ball caughtBall = lasso.getRetractedBall();
+            player.holdBall(caughtBall); // Serahkan bola untuk dipegang pemain
+            lasso.resetAfterRetraction(); // Reset tali lasso
+        }
+
+        // 4. Logika Bola yang Dipegang Pemain
+        // Jika pemain sedang memegang bola, buat posisi bola mengikuti pemain
+        if (player.getHeldBall() != null) {
+            Ball currentHeldBall = player.getHeldBall();
+            // Posisikan bola sedikit di atas kepala pemain
+            currentHeldBall.setPosition(player.getX() + 30, player.getY() + 5);
+        }
+        
+        // 5. Logika Mencetak Skor (Tabrakan KRISTAL & Keranjang) - INI PERUBAHANNYA
+        // Jika pemain memegang bola DAN bola tersebut menyentuh keranjang...
+        Ball heldBall = player.getHeldBall();
+        if (heldBall != null && heldBall.getHitbox().intersects(basket.getHitbox())) {
+            score += heldBall.getScore(); // Tambah skor
+            count++; // Tambah hitungan
+            scoredByType[heldBall.getType().ordinal()]++;
+            emitScoreEvent(heldBall);
+            player.releaseBall(); // Lepaskan bola (bola hilang dan skor tercatat)
+            ballPool.release(heldBall); // Objek bola dipakai lagi untuk tangkapan berikutnya
+        }
+
+        // 6. Munculkan bola baru secara berkala
+        if (tick % spawnSettings.getIntervalTicks() == 0) {
+            for (int i = spawnSettings.getBurst(); i > 0; i--) {
+                spawnBall();
+            }
+        }
+    }
+
+    /**
+     * Menyalin state simulasi saat ini ke sebuah snapshot untuk digambar.
+     * @param frame Snapshot tujuan (dipakai ulang).
+     */
+    public void writeSnapshot(FrameSnapshot frame) {
+        frame.setTick(tick);
+        frame.setScoreAndCount(score, count);
+        frame.setPlayer(player.getX(), player.getY(), player.getFacingDirection());
+        frame.setBasket(basket.getX(), basket.getY());
+        frame.setLasso(lasso.isActive(), player.getX() + 10, player.getY() + 10, lasso.getEndX(), lasso.getEndY());
+        frame.setPulledBall(lasso.getRetractedBall());
+        frame.setHeldBall(player.getHeldBall());
+        frame.setCrystals(crystals);
+    }
+
+    // Event JFR dipisah ke metode kecil agar step() tetap ringkas untuk JIT
+    private static void emitCatchEvent(Ball ball) {
+        GameEvents.Catch event = new GameEvents.Catch();
+        if (event.shouldCommit()) {
+            event.crystalType = ball.getType().name();
+            event.commit();
+        }
+    }
+
+    private void emitScoreEvent(Ball ball) {
+        GameEvents.Score event = new GameEvents.Score();
+        if (event.shouldCommit()) {
+            event.crystalType = ball.getType().name();
+            event.value = ball.getScore();
+            event.totalScore = score;
+            event.commit();
+        }
+    }
+
+    /**
+     * Membuat bola baru dengan posisi dan skor acak.
+     * Dipanggil otomatis sesuai jeda pada SpawnSettings, dan boleh dipanggil langsung
+     * oleh benchmark atau mode uji beban untuk mengisi arena.
+     */
+    public void spawnBall() {
+        GameEvents.Spawn event = new GameEvents.Spawn();
+        event.begin();
+        Random rand = random;
+
+        // Tentukan tipe bola secara acak sesuai bobot peluang (bawaan 40/30/25/5)
+        int chance = rand.nextInt(spawnSettings.getTotalWeight());
+        Ball.BallType randomType = spawnSettings.pickType(chance);
+
+        // --- LOGIKA BARU UNTUK MENGHINDARI KERANJANG ---
+
+        // 1. Tentukan "zona terlarang" berdasarkan posisi dan ukuran keranjang
+        // Kita tambahkan 'padding' agar ada jarak aman antara bola dan keranjang
+        int padding = 50; // Jarak aman (bisa diubah)
+        int basketTopY = basket.getHitbox().getMinY() - padding;
+        int basketBottomY = basket.getHitbox().getMaxY() + padding;
+
+        // 2. Tentukan area spawn yang valid
+        int topZoneHeight = basketTopY;
+        int bottomZoneStart = basketBottomY;
+        // Asumsi tinggi game panel adalah 600, dan kita batasi spawn hingga y=550
+        int bottomZoneHeight = 550 - bottomZoneStart; 
+        
+        int yPos;
+
+        // 3. Pilih secara acak mau spawn di zona atas atau bawah
+        if (rand.nextBoolean()) {
+            // Muncul di zona atas
+            // Hasilkan angka acak dari 0 hingga setinggi zona atas
+            yPos = rand.nextInt(topZoneHeight);
+        } else {
+            // Muncul di zona bawah
+            // Hasilkan angka acak dari 0 hingga setinggi zona bawah, lalu geser ke bawah
+            yPos = rand.nextInt(bottomZoneHeight) + bottomZoneStart;
+        }
+
+        // --- AKHIR LOGIKA BARU ---
+
+        // Logika arah bola (kanan-kiri atau kiri-kanan) tetap sama
+        int middleY = 300;
+        int speedX;
+        if (yPos < middleY) {
+            // Kanan ke Kiri (atas)
+            speedX = -spawnSettings.getSpeed();
+            crystals.add(800, yPos, speedX, randomType);
+        } else {
+            // Kiri ke Kanan (bawah)
+            speedX = spawnSettings.getSpeed();
+            crystals.add(0, yPos, speedX, randomType);
+        }
+        spawned++;
+
+        event.end();
+        if (event.shouldCommit()) {
+            event.crystalType = randomType.name();
+            event.speedX = speedX;
+            event.commit();
+        }
+    }
+
+    // --- Getter state simulasi ---
+    public long getSeed() { return seed; }
+    public long getTick() { return tick; }
+    public int getScore() { return score; }
+    public int getCount() { return count; }
+    public int getScoredCount(Ball.BallType type) { return scoredByType[type.ordinal()]; }
+    public SpawnSettings getSpawnSettings() { return spawnSettings; }
+    public long getSpawnedCount() { return spawned; }
+    public long getCaughtCount() { return caught; }
+    public Player getPlayer() { return player; }
+    public Lasso getLasso() { return lasso; }
+    public Basket getBasket() { return basket; }
+    public CrystalStore getCrystals() { return crystals; }
+    public BallPool getBallPool() { return ballPool; }
+}
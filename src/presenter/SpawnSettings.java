@@ -0,0 +1,78 @@
+package presenter;
+
+import model.Ball;
+
+import java.util.Arrays;
+
+/**
+ * Kelas SpawnSettings berisi parameter keseimbangan kemunculan kristal:
+ * bobot peluang tiap jenis kristal, kecepatan horizontal, jeda antar kemunculan, dan jumlah
+ * kristal per kemunculan (lebih dari 1 hanya untuk uji beban dengan populasi kristal besar).
+ * Nilai bawaan sama dengan permainan asli (40/30/25/5, kecepatan 2, setiap 2 detik),
+ * sehingga simulasi dengan pengaturan bawaan tetap menghasilkan sesi yang sama.
+ */
+public class SpawnSettings {
+    public static final SpawnSettings DEFAULT = new SpawnSettings(new int[]{40, 30, 25, 5}, 2, 2 * Simulation.TICKS_PER_SECOND);
+
+    private final int[] weights;
+    private final int totalWeight;
+    private final int speed;
+    private final int intervalTicks;
+    private final int burst;
+
+    /**
+     * @param weights Bobot peluang per jenis kristal, diindeks dengan ordinal BallType.
+     * @param speed Kecepatan horizontal kristal (piksel per tick).
+     * @param intervalTicks Jeda antar kemunculan dalam tick.
+     */
+    public SpawnSettings(int[] weights, int speed, int intervalTicks) {
+        this(weights, speed, intervalTicks, 1);
+    }
+
+    /**
+     * @param burst Jumlah kristal yang dimunculkan sekaligus setiap jeda.
+     */
+    public SpawnSettings(int[] weights, int speed, int intervalTicks, int burst) {
+        if (weights.length != Ball.BallType.values().length) {
+            throw new IllegalArgumentException("Jumlah bobot harus " + Ball.BallType.values().length);
+        }
+        int total = 0;
+        for (int weight : weights) {
+            if (weight < 0) throw new IllegalArgumentException("Bobot tidak boleh negatif");
+            total += weight;
+        }
+        if (total <= 0) throw new IllegalArgumentException("Total bobot harus lebih dari 0");
+        if (intervalTicks <= 0) throw new IllegalArgumentException("Jeda kemunculan harus lebih dari 0");
+        if (burst <= 0) throw new IllegalArgumentException("Jumlah kristal per kemunculan harus lebih dari 0");
+        this.weights = weights.clone();
+        this.totalWeight = total;
+        this.speed = speed;
+        this.intervalTicks = intervalTicks;
+        this.burst = burst;
+    }
+
+    /**
+     * Memilih jenis kristal dari sebuah angka acak 0..getTotalWeight()-1.
+     */
+    public Ball.BallType pickType(int roll) {
+        Ball.BallType[] types = Ball.BallType.values();
+        int cumulative = 0;
+        for (int i = 0; i < types.length; i++) {
+            cumulative += weights[i];
+            if (roll < cumulative) return types[i];
+        }
+        return types[types.length - 1];
+    }
+
+    public int getTotalWeight() { return totalWeight; }
+    public int getSpeed() { return speed; }
+    public int getIntervalTicks() { return intervalTicks; }
+    public int getBurst() { return burst; }
+    public int[] getWeights() { return weights.clone(); }
+
+    @Override
+    public String toString() {
+        return "odds=" + Arrays.toString(weights) + " speed=" + speed + " interval=" + intervalTicks + " tick"
+                + (burst > 1 ? " burst=" + burst : "");
+    }
+}
@@ -0,0 +1,53 @@
+package presenter;
+
+import model.Player;
+
+/**
+ * Kelas TickInput berisi semua input pemain yang berlaku untuk satu tick simulasi:
+ * tombol arah yang sedang ditahan, perubahan arah hadap, dan tembakan lasso.
+ * Objek ini dipakai ulang dari tick ke tick; kejadian sekali-pakai (arah hadap
+ * dan tembakan) dihapus dengan {@link #clearEvents()} setelah tick diproses.
+ */
+public class TickInput {
+    private boolean up, down, left, right;
+    private Player.Direction facing; // null berarti arah hadap tidak berubah
+    private boolean fire;
+    private int fireX, fireY;
+
+    public void setMovement(boolean up, boolean down, boolean left, boolean right) {
+        this.up = up;
+        this.down = down;
+        this.left = left;
+        this.right = right;
+    }
+
+    public void setFacing(Player.Direction facing) {
+        this.facing = facing;
+    }
+
+    /**
+     * Meminta lasso ditembakkan ke titik (x, y) pada tick ini.
+     */
+    public void fireAt(int x, int y) {
+        this.fire = true;
+        this.fireX = x;
+        this.fireY = y;
+    }
+
+    /**
+     * Menghapus kejadian sekali-pakai; tombol yang sedang ditahan tetap berlaku.
+     */
+    public void clearEvents() {
+        this.facing = null;
+        this.fire = false;
+    }
+
+    public boolean isUp() { return up; }
+    public boolean isDown() { return down; }
+    public boolean isLeft() { return left; }
+    public boolean isRight() { return right; }
+    public Player.Direction getFacing() { return facing; }
+    public boolean isFiring() { return fire; }
+    public int getFireX() { return fireX; }
+    public int getFireY() { return fireY; }
+}
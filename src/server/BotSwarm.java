@@ -0,0 +1,218 @@
+package server;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Kelas BotSwarm membuka banyak klien bot sekaligus ke GameServer (satu thread, satu Selector)
+ * untuk menguji server di localhost. Setiap bot meminta room, lalu bermain berdasarkan pesan
+ * STATE: membawa kristal yang dipegang ke keranjang, dan selain itu bergerak ke tengah arena
+ * sambil menembakkan lasso ke titik acak. Di akhir dicetak jumlah bot yang diterima/ditolak,
+ * laju STATE yang diterima, dan skor rata-rata.
+ *
+ * Cara menjalankan:
+ *   java -cp out server.BotSwarm [--host localhost] [--port 7777] [--bots 200] [--seconds 30] [--seed 1]
+ */
+public class BotSwarm {
+    // Keputusan bot dikirim setiap 50 ms (sekitar 3 tick), seperti pemain sungguhan
+    private static final long DECISION_INTERVAL_NANOS = 50_000_000L;
+    // Posisi pemain yang membuat kristal yang dipegang menyentuh keranjang (lihat ScriptedBot)
+    private static final int DELIVER_X = 710, DELIVER_Y = 275;
+    private static final int HOME_X = 375, HOME_Y = 275;
+
+    private static final class Bot {
+        final SocketChannel channel;
+        final ByteBuffer in = ByteBuffer.allocate(4 * Protocol.MAX_FRAME);
+        // Selalu dalam mode tulis; berisi byte yang belum terkirim, mungkin sisa sebuah frame
+        final ByteBuffer out = ByteBuffer.allocate(Protocol.MAX_FRAME);
+        final String name;
+        boolean welcomed, rejected, closed;
+        long states;
+        long tick;
+        int score, count, x, y, flags;
+        int lastKeys = -1;
+
+        Bot(SocketChannel channel, String name) {
+            this.channel = channel;
+            this.name = name;
+        }
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        String host = "localhost";
+        int port = 7777;
+        int botCount = 200;
+        int seconds = 30;
+        long seed = 1;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--host": host = args[++i]; break;
+                case "--port": port = Integer.parseInt(args[++i]); break;
+                case "--bots": botCount = Integer.parseInt(args[++i]); break;
+                case "--seconds": seconds = Integer.parseInt(args[++i]); break;
+                case "--seed": seed = Long.parseLong(args[++i]); break;
+                default:
+                    System.err.println("Argumen tidak dikenal: " + args[i]);
+                    System.exit(2);
+            }
+        }
+        run(new InetSocketAddress(host, port), botCount, seconds * 1_000_000_000L, seed);
+    }
+
+    /**
+     * Menjalankan bot sampai durasi habis, lalu mencetak ringkasan.
+     */
+    public static void run(InetSocketAddress address, int botCount, long durationNanos, long seed) throws IOException {
+        Random random = new Random(seed);
+        List<Bot> bots = new ArrayList<>(botCount);
+        try (Selector selector = Selector.open()) {
+            for (int i = 0; i < botCount; i++) {
+                SocketChannel channel = SocketChannel.open(address);
+                channel.socket().setTcpNoDelay(true);
+                channel.configureBlocking(false);
+                Bot bot = new Bot(channel, "bot-" + i);
+                channel.register(selector, SelectionKey.OP_READ, bot);
+                bots.add(bot);
+
+                int start = Protocol.beginFrame(bot.out, Protocol.JOIN);
+                Protocol.putString(bot.out, bot.name);
+                Protocol.endFrame(bot.out, start);
+                flush(bot);
+            }
+
+            long begin = System.nanoTime();
+            long nextDecision = begin;
+            while (System.nanoTime() - begin < durationNanos) {
+                selector.select(5);
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    if (key.isValid() && key.isReadable()) {
+                        read((Bot) key.attachment(), key);
+                    }
+                }
+                long now = System.nanoTime();
+                if (now - nextDecision >= 0) {
+                    for (Bot bot : bots) {
+                        if (bot.welcomed && !bot.closed) decide(bot, random);
+                    }
+                    nextDecision = now + DECISION_INTERVAL_NANOS;
+                }
+            }
+            long elapsed = System.nanoTime() - begin;
+
+            for (Bot bot : bots) {
+                if (bot.closed) continue;
+                int start = Protocol.beginFrame(bot.out, Protocol.QUIT);
+                Protocol.endFrame(bot.out, start);
+                flush(bot);
+                bot.channel.close();
+            }
+            report(bots, elapsed);
+        }
+    }
+
+    private static void read(Bot bot, SelectionKey key) {
+        try {
+            if (bot.channel.read(bot.in) < 0) {
+                bot.closed = true;
+                key.cancel();
+                return;
+            }
+            bot.in.flip();
+            ByteBuffer frame;
+            while ((frame = Protocol.nextFrame(bot.in)) != null) {
+                byte type = frame.get();
+                if (type == Protocol.WELCOME) {
+                    bot.welcomed = true;
+                } else if (type == Protocol.REJECT) {
+                    bot.rejected = true;
+                } else if (type == Protocol.STATE) {
+                    bot.states++;
+                    bot.tick = frame.getLong();
+                    bot.score = frame.getInt();
+                    bot.count = frame.getInt();
+                    bot.x = frame.getShort();
+                    bot.y = frame.getShort();
+                    bot.flags = frame.get();
+                }
+            }
+            bot.in.compact();
+        } catch (IOException | RuntimeException e) {
+            bot.closed = true;
+            key.cancel();
+        }
+    }
+
+    private static void decide(Bot bot, Random random) {
+        boolean holding = (bot.flags & Protocol.FLAG_HOLDING) != 0;
+        int targetX = holding ? DELIVER_X : HOME_X;
+        int targetY = holding ? DELIVER_Y : HOME_Y;
+        int keys = (bot.y > targetY + 4 ? Protocol.KEY_UP : 0) | (bot.y < targetY - 4 ? Protocol.KEY_DOWN : 0)
+                | (bot.x > targetX + 4 ? Protocol.KEY_LEFT : 0) | (bot.x < targetX - 4 ? Protocol.KEY_RIGHT : 0);
+
+        // Sisa frame sebelumnya dikirim lebih dulu; jika server masih belum membaca,
+        // keputusan ini dilewati utuh sehingga aliran frame tidak pernah terpotong
+        if (bot.out.position() > 0) {
+            flush(bot);
+            if (bot.out.position() > 0) return;
+        }
+        if (keys != bot.lastKeys) {
+            int start = Protocol.beginFrame(bot.out, Protocol.KEYS);
+            bot.out.put((byte) keys);
+            Protocol.endFrame(bot.out, start);
+            bot.lastKeys = keys;
+        }
+        if (!holding && (bot.flags & Protocol.FLAG_LASSO) == 0) {
+            int start = Protocol.beginFrame(bot.out, Protocol.FIRE);
+            bot.out.putShort((short) random.nextInt(800));
+            bot.out.putShort((short) random.nextInt(600));
+            Protocol.endFrame(bot.out, start);
+        }
+        flush(bot);
+    }
+
+    /**
+     * Mengirim sebanyak mungkin tanpa menunggu; byte yang belum terkirim (buffer socket penuh)
+     * tetap di bot.out dan dikirim lebih dulu pada flush berikutnya.
+     */
+    private static void flush(Bot bot) {
+        bot.out.flip();
+        try {
+            bot.channel.write(bot.out);
+        } catch (IOException e) {
+            bot.closed = true;
+        }
+        bot.out.compact();
+    }
+
+    private static void report(List<Bot> bots, long elapsedNanos) {
+        int welcomed = 0, rejected = 0, closed = 0;
+        long states = 0, scoreSum = 0, countSum = 0;
+        for (Bot bot : bots) {
+            if (bot.welcomed) welcomed++;
+            if (bot.rejected) rejected++;
+            if (bot.closed) closed++;
+            states += bot.states;
+            scoreSum += bot.score;
+            countSum += bot.count;
+        }
+        double seconds = elapsedNanos / 1e9;
+        System.out.printf(Locale.ROOT, "%d bot: %d mendapat room, %d ditolak, %d terputus%n",
+                bots.size(), welcomed, rejected, closed);
+        System.out.printf(Locale.ROOT, "STATE diterima: %,d (%.1f per bot per detik)%n",
+                states, welcomed == 0 ? 0.0 : states / seconds / welcomed);
+        System.out.printf(Locale.ROOT, "Skor rata-rata %.1f, count rata-rata %.1f setelah %.1f s%n",
+                welcomed == 0 ? 0.0 : (double) scoreSum / welcomed, welcomed == 0 ? 0.0 : (double) countSum / welcomed, seconds);
+    }
+}
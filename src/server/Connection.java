@@ -0,0 +1,92 @@
+package server;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+
+/**
+ * Kelas Connection mewakili satu klien yang terhubung. Buffer baca hanya dipakai thread I/O
+ * server; buffer tulis dipakai bersama oleh thread I/O (WELCOME/REJECT) dan tick worker
+ * pemilik room (STATE), sehingga pengirimannya disinkronkan per koneksi.
+ *
+ * Penulisan tidak pernah menunggu: sisa yang belum terkirim disimpan dan dicoba lagi
+ * pada pengiriman berikutnya. Pesan STATE boleh dibuang jika klien lambat, karena
+ * STATE berikutnya selalu berisi keadaan terbaru.
+ */
+final class Connection {
+    private static final int OUT_CAPACITY = 16 * 1024;
+
+    final SocketChannel channel;
+    final ByteBuffer in = ByteBuffer.allocate(4 * Protocol.MAX_FRAME);
+    private final ByteBuffer out = ByteBuffer.allocateDirect(OUT_CAPACITY);
+
+    private volatile Room room;
+    private volatile boolean closed;
+    private long droppedFrames; // Ditulis di bawah lock objek ini
+
+    Connection(SocketChannel channel) {
+        this.channel = channel;
+    }
+
+    /**
+     * Mengirim satu frame lengkap (posisi sampai limit).
+     * @param droppable true jika frame boleh dibuang saat klien belum menerima data sebelumnya.
+     * @return true jika frame masuk ke antrean kirim.
+     */
+    synchronized boolean send(ByteBuffer frame, boolean droppable) {
+        if (closed) return false;
+        try {
+            if (out.position() > 0) {
+                flush();
+                if (droppable && out.position() > 0) {
+                    droppedFrames++;
+                    return false;
+                }
+            }
+            if (out.remaining() < frame.remaining()) {
+                if (droppable) {
+                    droppedFrames++;
+                    return false;
+                }
+                // Klien tidak membaca sama sekali: lebih baik diputus daripada menahan memori
+                close();
+                return false;
+            }
+            out.put(frame);
+            flush();
+            return true;
+        } catch (IOException e) {
+            close();
+            return false;
+        }
+    }
+
+    private void flush() throws IOException {
+        out.flip();
+        channel.write(out);
+        out.compact();
+    }
+
+    /**
+     * Menutup koneksi dan menandai room-nya selesai. Aman dipanggil berulang kali dari thread mana pun.
+     */
+    void close() {
+        if (closed) return;
+        closed = true;
+        Room current = room;
+        if (current != null) current.close();
+        try {
+            channel.close();
+        } catch (IOException e) {
+            // Koneksi memang sedang ditutup
+        }
+    }
+
+    boolean isClosed() { return closed; }
+    Room getRoom() { return room; }
+    void setRoom(Room room) { this.room = room; }
+
+    synchronized long getDroppedFrames() {
+        return droppedFrames;
+    }
+}
@@ -0,0 +1,372 @@
+package server;
+
+import model.ScoreSink;
+import presenter.Simulation;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Kelas GameServer menjalankan banyak sesi permainan (room) tanpa tampilan dalam satu proses.
+ * Satu thread I/O melayani semua koneksi dengan NIO Selector: menerima klien, membaca pesan
+ * input, dan meneruskannya ke room. Room dijalankan oleh sekumpulan tetap {@link TickWorker},
+ * satu per core; setiap room dimiliki tepat satu worker selama hidupnya.
+ *
+ * Admission control: permintaan JOIN ditolak (REJECT) jika semua worker sudah mencapai batas
+ * room atau sisa anggaran tick-nya (headroom) di bawah batas minimum, sehingga room yang sudah
+ * berjalan tidak ikut melambat.
+ *
+ * Cara menjalankan (dari root proyek, setelah src/ dikompilasi ke out/):
+ *   java -Djava.awt.headless=true -cp out:mysql-connector-j-9.3.0.jar server.GameServer
+ *        [--port 7777] [--workers N] [--max-rooms-per-worker 500] [--min-headroom 0.25]
+ *        [--state-rate 20] [--save-scores]
+ */
+public class GameServer implements GameServerMXBean {
+    public static final String OBJECT_NAME = "ctc:type=GameServer";
+    private static final long REPORT_INTERVAL_MS = 5_000;
+
+    private final int port;
+    private final TickWorker[] workers;
+    private final int maxRoomsPerWorker;
+    private final double minHeadroom;
+    private final boolean saveScores;
+    private final int tickRate;
+
+    private final Set<Connection> connections = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger nextRoomId = new AtomicInteger(1);
+    private final AtomicLong acceptedJoins = new AtomicLong();
+    private final AtomicLong rejectedJoins = new AtomicLong();
+    // Buffer kerja thread I/O untuk pesan WELCOME/REJECT
+    private final ByteBuffer scratch = ByteBuffer.allocate(Protocol.MAX_FRAME);
+
+    private Selector selector;
+    private ServerSocketChannel serverChannel;
+    private volatile boolean running;
+
+    public GameServer(int port, int workerCount, int maxRoomsPerWorker, double minHeadroom,
+                      int tickRate, int stateRate, boolean saveScores) {
+        this.port = port;
+        this.maxRoomsPerWorker = maxRoomsPerWorker;
+        this.minHeadroom = minHeadroom;
+        this.saveScores = saveScores;
+        this.tickRate = tickRate;
+        this.workers = new TickWorker[workerCount];
+        for (int i = 0; i < workerCount; i++) {
+            workers[i] = new TickWorker(i, tickRate, stateRate, this::onRoomClosed);
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        int port = 7777;
+        int workers = Runtime.getRuntime().availableProcessors();
+        int maxRooms = 500;
+        double minHeadroom = 0.25;
+        int stateRate = 20;
+        boolean saveScores = false;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--port": port = Integer.parseInt(args[++i]); break;
+                case "--workers": workers = Integer.parseInt(args[++i]); break;
+                case "--max-rooms-per-worker": maxRooms = Integer.parseInt(args[++i]); break;
+                case "--min-headroom": minHeadroom = Double.parseDouble(args[++i]); break;
+                case "--state-rate": stateRate = Integer.parseInt(args[++i]); break;
+                case "--save-scores": saveScores = true; break;
+                default:
+                    System.err.println("Argumen tidak dikenal: " + args[i]);
+                    System.exit(2);
+            }
+        }
+        if (saveScores) {
+            ScoreSink.getDefault().start();
+        }
+        GameServer server = new GameServer(port, workers, maxRooms, minHeadroom,
+                Simulation.TICKS_PER_SECOND, stateRate, saveScores);
+        server.register();
+        server.startReporter();
+        server.run();
+    }
+
+    /**
+     * Membuka port, memulai worker, lalu menjalankan loop I/O di thread pemanggil sampai {@link #stop()}.
+     */
+    public void run() throws IOException {
+        selector = Selector.open();
+        serverChannel = ServerSocketChannel.open();
+        serverChannel.bind(new InetSocketAddress(port));
+        serverChannel.configureBlocking(false);
+        serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+        for (TickWorker worker : workers) {
+            worker.start();
+        }
+        running = true;
+        System.out.println("GameServer mendengarkan di port " + getPort() + " dengan " + workers.length + " tick worker.");
+
+        while (running) {
+            selector.select();
+            Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+            while (keys.hasNext()) {
+                SelectionKey key = keys.next();
+                keys.remove();
+                if (!key.isValid()) continue;
+                if (key.isAcceptable()) {
+                    accept();
+                } else if (key.isReadable()) {
+                    read(key);
+                }
+            }
+        }
+
+        for (Connection connection : connections) {
+            connection.close();
+        }
+        for (TickWorker worker : workers) {
+            worker.stop();
+        }
+        serverChannel.close();
+        selector.close();
+    }
+
+    public void stop() {
+        running = false;
+        if (selector != null) selector.wakeup();
+    }
+
+    /**
+     * @return Port yang benar-benar dipakai (berguna jika dibuat dengan port 0).
+     */
+    public int getPort() {
+        try {
+            return serverChannel == null ? port : ((InetSocketAddress) serverChannel.getLocalAddress()).getPort();
+        } catch (IOException e) {
+            return port;
+        }
+    }
+
+    private void accept() throws IOException {
+        SocketChannel channel;
+        while ((channel = serverChannel.accept()) != null) {
+            channel.configureBlocking(false);
+            channel.socket().setTcpNoDelay(true);
+            Connection connection = new Connection(channel);
+            connections.add(connection);
+            channel.register(selector, SelectionKey.OP_READ, connection);
+        }
+    }
+
+    private void read(SelectionKey key) {
+        Connection connection = (Connection) key.attachment();
+        try {
+            int read = connection.channel.read(connection.in);
+            if (read < 0) {
+                disconnect(key, connection);
+                return;
+            }
+            connection.in.flip();
+            ByteBuffer frame;
+            while ((frame = Protocol.nextFrame(connection.in)) != null) {
+                handle(connection, frame);
+            }
+            connection.in.compact();
+        } catch (IOException | RuntimeException e) {
+            // Pesan rusak atau koneksi putus: hanya klien ini yang terdampak
+            disconnect(key, connection);
+        }
+    }
+
+    private void handle(Connection connection, ByteBuffer frame) {
+        byte type = frame.get();
+        Room room = connection.getRoom();
+        switch (type) {
+            case Protocol.JOIN:
+                if (room == null) join(connection, Protocol.getString(frame));
+                break;
+            case Protocol.KEYS:
+                if (room != null) room.offerKeys(frame.get());
+                break;
+            case Protocol.FIRE:
+                if (room != null) room.offerFire(frame.getShort(), frame.getShort());
+                break;
+            case Protocol.QUIT:
+                connection.close();
+                connections.remove(connection);
+                break;
+            default:
+                throw new IllegalArgumentException("Jenis pesan tidak dikenal: " + type);
+        }
+    }
+
+    /**
+     * Admission control: pilih worker dengan room paling sedikit yang masih punya headroom.
+     */
+    private void join(Connection connection, String username) {
+        TickWorker target = null;
+        for (TickWorker worker : workers) {
+            if (worker.getRoomCount() >= maxRoomsPerWorker || worker.getHeadroom() < minHeadroom) continue;
+            if (target == null || worker.getRoomCount() < target.getRoomCount()) {
+                target = worker;
+            }
+        }
+
+        scratch.clear();
+        if (target == null) {
+            rejectedJoins.incrementAndGet();
+            int start = Protocol.beginFrame(scratch, Protocol.REJECT);
+            Protocol.putString(scratch, "Server penuh");
+            Protocol.endFrame(scratch, start);
+            scratch.flip();
+            connection.send(scratch, false);
+            return;
+        }
+
+        int roomId = nextRoomId.getAndIncrement();
+        long seed = System.nanoTime() ^ ((long) roomId << 32);
+        Room room = new Room(roomId, username, seed, connection);
+        connection.setRoom(room);
+        int start = Protocol.beginFrame(scratch, Protocol.WELCOME);
+        scratch.putInt(roomId);
+        scratch.putLong(seed);
+        scratch.putShort((short) tickRate);
+        Protocol.endFrame(scratch, start);
+        scratch.flip();
+        if (connection.send(scratch, false)) {
+            acceptedJoins.incrementAndGet();
+            target.add(room);
+        }
+    }
+
+    private void disconnect(SelectionKey key, Connection connection) {
+        key.cancel();
+        connection.close();
+        connections.remove(connection);
+    }
+
+    /**
+     * Dipanggil tick worker saat sebuah room dilepas.
+     */
+    private void onRoomClosed(Room room) {
+        connections.remove(room.getClient());
+        int score = room.getSimulation().getScore();
+        if (saveScores && score > 0) {
+            ScoreSink.getDefault().submit(room.getUsername(), score, room.getSimulation().getCount());
+        }
+    }
+
+    // --- Metrik ---
+
+    /**
+     * Mendaftarkan server ke MBean server platform.
+     */
+    public void register() {
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this, new ObjectName(OBJECT_NAME));
+        } catch (JMException e) {
+            System.err.println("Gagal mendaftarkan metrik JMX: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Mencetak ringkasan beban ke konsol secara berkala.
+     */
+    public void startReporter() {
+        Thread reporter = new Thread(() -> {
+            while (true) {
+                try {
+                    Thread.sleep(REPORT_INTERVAL_MS);
+                } catch (InterruptedException e) {
+                    return;
+                }
+                System.out.println(report());
+            }
+        }, "server-report");
+        reporter.setDaemon(true);
+        reporter.start();
+    }
+
+    public String report() {
+        StringBuilder text = new StringBuilder(String.format(Locale.ROOT,
+                "[Server] %d koneksi, %d room (%.1f room/core), diterima %d, ditolak %d, STATE dibuang %d",
+                getConnectionCount(), getRoomCount(), getRoomsPerCore(), getAcceptedJoins(),
+                getRejectedJoins(), getDroppedStates()));
+        for (TickWorker worker : workers) {
+            text.append(String.format(Locale.ROOT,
+                    "%n  worker %d: %d room, beban %.1f%%, tick p99 %.3f ms, headroom %.1f%%, overrun %d, tick hilang %d",
+                    worker.getIndex(), worker.getRoomCount(), worker.getLoad() * 100,
+                    worker.getRecentTickP99Nanos() / 1e6, worker.getHeadroom() * 100,
+                    worker.getScheduler().getOverrunCount(), worker.getScheduler().getDroppedTickCount()));
+        }
+        return text.toString();
+    }
+
+    @Override
+    public int getConnectionCount() { return connections.size(); }
+
+    @Override
+    public int getRoomCount() {
+        int rooms = 0;
+        for (TickWorker worker : workers) rooms += worker.getRoomCount();
+        return rooms;
+    }
+
+    @Override
+    public int getWorkerCount() { return workers.length; }
+
+    @Override
+    public double getRoomsPerCore() {
+        return (double) getRoomCount() / Runtime.getRuntime().availableProcessors();
+    }
+
+    @Override
+    public double getMinHeadroom() {
+        double min = 1.0;
+        for (TickWorker worker : workers) min = Math.min(min, worker.getHeadroom());
+        return min;
+    }
+
+    @Override
+    public double getAverageLoad() {
+        double sum = 0;
+        for (TickWorker worker : workers) sum += worker.getLoad();
+        return sum / workers.length;
+    }
+
+    @Override
+    public long getAcceptedJoins() { return acceptedJoins.get(); }
+
+    @Override
+    public long getRejectedJoins() { return rejectedJoins.get(); }
+
+    @Override
+    public long getDroppedStates() {
+        long dropped = 0;
+        for (Connection connection : connections) dropped += connection.getDroppedFrames();
+        return dropped;
+    }
+
+    @Override
+    public long getOverrunCount() {
+        long overruns = 0;
+        for (TickWorker worker : workers) overruns += worker.getScheduler().getOverrunCount();
+        return overruns;
+    }
+
+    @Override
+    public long getDroppedTickCount() {
+        long dropped = 0;
+        for (TickWorker worker : workers) dropped += worker.getScheduler().getDroppedTickCount();
+        return dropped;
+    }
+}
@@ -0,0 +1,27 @@
+package server;
+
+/**
+ * Antarmuka JMX untuk {@link GameServer}, terdaftar sebagai "ctc:type=GameServer".
+ */
+public interface GameServerMXBean {
+    int getConnectionCount();
+    int getRoomCount();
+    int getWorkerCount();
+    double getRoomsPerCore();
+
+    /**
+     * @return Sisa anggaran tick terkecil di antara semua worker (0..1).
+     */
+    double getMinHeadroom();
+
+    /**
+     * @return Beban rata-rata semua worker (bagian waktu yang terpakai, 0..1).
+     */
+    double getAverageLoad();
+
+    long getAcceptedJoins();
+    long getRejectedJoins();
+    long getDroppedStates();
+    long getOverrunCount();
+    long getDroppedTickCount();
+}
@@ -0,0 +1,93 @@
+package server;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Kelas Protocol berisi format pesan biner antara GameServer dan klien.
+ * Setiap frame diawali panjang 2 byte (tidak termasuk dirinya sendiri), lalu 1 byte jenis
+ * pesan dan isinya. Bilangan ditulis big-endian, string sebagai panjang 2 byte + UTF-8.
+ *
+ * <pre>
+ * Klien ke server:
+ *   JOIN  username          meminta room baru
+ *   KEYS  mask(1)           tombol arah yang ditahan (1 atas, 2 bawah, 4 kiri, 8 kanan)
+ *   FIRE  x(2) y(2)         menembakkan lasso (setara klik mouse)
+ *   QUIT                    keluar dari room
+ * Server ke klien:
+ *   WELCOME roomId(4) seed(8) tickRate(2)
+ *   REJECT  alasan
+ *   STATE   tick(8) skor(4) count(4) x(2) y(2) flags(1) kristal(2)
+ *           flags: 1 = memegang kristal, 2 = lasso aktif
+ * </pre>
+ */
+final class Protocol {
+    static final int MAX_FRAME = 1024;
+
+    // Klien ke server
+    static final byte JOIN = 1;
+    static final byte KEYS = 2;
+    static final byte FIRE = 3;
+    static final byte QUIT = 4;
+
+    // Server ke klien
+    static final byte WELCOME = 10;
+    static final byte REJECT = 11;
+    static final byte STATE = 12;
+
+    static final int KEY_UP = 1, KEY_DOWN = 2, KEY_LEFT = 4, KEY_RIGHT = 8;
+    static final int FLAG_HOLDING = 1, FLAG_LASSO = 2;
+
+    private Protocol() {
+    }
+
+    /**
+     * Memulai frame baru di posisi buffer saat ini.
+     * @return Posisi awal frame, untuk diberikan ke {@link #endFrame}.
+     */
+    static int beginFrame(ByteBuffer buffer, byte type) {
+        int start = buffer.position();
+        buffer.putShort((short) 0);
+        buffer.put(type);
+        return start;
+    }
+
+    /**
+     * Mengisi panjang frame yang dimulai di posisi start.
+     */
+    static void endFrame(ByteBuffer buffer, int start) {
+        buffer.putShort(start, (short) (buffer.position() - start - 2));
+    }
+
+    /**
+     * Mengambil satu frame lengkap dari buffer baca (mode baca, setelah flip).
+     * @return Isi frame mulai dari byte jenis, atau null jika frame belum lengkap.
+     * @throws IllegalArgumentException jika panjang frame tidak masuk akal.
+     */
+    static ByteBuffer nextFrame(ByteBuffer in) {
+        if (in.remaining() < 2) return null;
+        int length = in.getShort(in.position()) & 0xFFFF;
+        if (length == 0 || length > MAX_FRAME) {
+            throw new IllegalArgumentException("Panjang frame tidak valid: " + length);
+        }
+        if (in.remaining() < 2 + length) return null;
+        int start = in.position() + 2;
+        ByteBuffer frame = in.duplicate();
+        frame.position(start).limit(start + length);
+        in.position(start + length);
+        return frame;
+    }
+
+    static void putString(ByteBuffer buffer, String text) {
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        buffer.putShort((short) bytes.length);
+        buffer.put(bytes);
+    }
+
+    static String getString(ByteBuffer buffer) {
+        int length = buffer.getShort() & 0xFFFF;
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,102 @@
+package server;
+
+import model.Player;
+import presenter.Simulation;
+import presenter.TickInput;
+import util.InputRingBuffer;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Kelas Room adalah satu sesi permainan di server, setara GamePresenter tanpa View:
+ * satu Simulation, satu TickInput, dan satu klien. Room hanya dijalankan oleh tick worker
+ * pemiliknya; input dari thread I/O masuk lewat InputRingBuffer (satu penulis, satu pembaca),
+ * sehingga state simulasi tidak pernah disentuh dua thread.
+ */
+final class Room {
+    private static final int EVENT_KEYS = 0;
+    private static final int EVENT_FIRE = 1;
+
+    private final int id;
+    private final String username;
+    private final Simulation simulation;
+    private final Connection client;
+    private final TickInput input = new TickInput();
+    private final InputRingBuffer inputs = new InputRingBuffer(64);
+    private final InputRingBuffer.Handler handler = this::applyEvent;
+    private volatile boolean closed;
+
+    Room(int id, String username, long seed, Connection client) {
+        this.id = id;
+        this.username = username;
+        this.simulation = new Simulation(seed);
+        this.client = client;
+    }
+
+    // --- Dipanggil thread I/O ---
+
+    void offerKeys(int mask) {
+        inputs.offer(System.nanoTime(), EVENT_KEYS, mask, 0);
+    }
+
+    void offerFire(int x, int y) {
+        inputs.offer(System.nanoTime(), EVENT_FIRE, x, y);
+    }
+
+    // --- Dipanggil tick worker pemilik ---
+
+    /**
+     * Menjalankan satu tick dengan semua input yang sudah diterima.
+     */
+    void tick() {
+        inputs.drain(Long.MAX_VALUE, handler);
+        simulation.step(input);
+        input.clearEvents();
+    }
+
+    private void applyEvent(long timestamp, int type, int a, int b) {
+        if (type == EVENT_KEYS) {
+            input.setMovement((a & Protocol.KEY_UP) != 0, (a & Protocol.KEY_DOWN) != 0,
+                    (a & Protocol.KEY_LEFT) != 0, (a & Protocol.KEY_RIGHT) != 0);
+            if ((a & Protocol.KEY_LEFT) != 0) input.setFacing(Player.Direction.LEFT);
+            else if ((a & Protocol.KEY_RIGHT) != 0) input.setFacing(Player.Direction.RIGHT);
+        } else if (type == EVENT_FIRE) {
+            input.fireAt(a, b);
+        }
+    }
+
+    /**
+     * Mengirim keadaan room ke kliennya.
+     * @param scratch Buffer kerja milik worker (dipakai ulang).
+     */
+    void sendState(ByteBuffer scratch) {
+        Player player = simulation.getPlayer();
+        scratch.clear();
+        int start = Protocol.beginFrame(scratch, Protocol.STATE);
+        scratch.putLong(simulation.getTick());
+        scratch.putInt(simulation.getScore());
+        scratch.putInt(simulation.getCount());
+        scratch.putShort((short) player.getX());
+        scratch.putShort((short) player.getY());
+        int flags = (player.getHeldBall() != null ? Protocol.FLAG_HOLDING : 0)
+                | (simulation.getLasso().isActive() ? Protocol.FLAG_LASSO : 0);
+        scratch.put((byte) flags);
+        scratch.putShort((short) Math.min(simulation.getCrystals().size(), Short.MAX_VALUE));
+        Protocol.endFrame(scratch, start);
+        scratch.flip();
+        client.send(scratch, true);
+    }
+
+    /**
+     * Menandai room selesai; tick worker melepasnya pada tick berikutnya.
+     */
+    void close() {
+        closed = true;
+    }
+
+    boolean isClosed() { return closed; }
+    int getId() { return id; }
+    String getUsername() { return username; }
+    Connection getClient() { return client; }
+    Simulation getSimulation() { return simulation; }
+}
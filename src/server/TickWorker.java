@@ -0,0 +1,143 @@
+package server;
+
+import presenter.LoopScheduler;
+import util.LatencyHistogram;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Kelas TickWorker adalah satu thread platform yang memiliki sekelompok room dan menjalankan
+ * semuanya pada setiap tick dengan LoopScheduler yang sama seperti GamePresenter. Keadaan
+ * room dikirim ke klien pada laju render scheduler. Room baru diserahkan lewat antrean dan
+ * baru diambil worker di awal tick, sehingga daftar room hanya disentuh oleh thread ini.
+ *
+ * Worker mengukur beban dalam jendela {@link #WINDOW_TICKS} tick: bagian waktu yang terpakai
+ * untuk tick dan pengiriman, serta p99 durasi tick dibanding anggaran satu tick. Nilai
+ * "headroom" (sisa anggaran) dipakai GameServer untuk admission control.
+ */
+final class TickWorker implements LoopScheduler.Callbacks {
+    private static final int WINDOW_TICKS = 120;
+
+    private final int index;
+    private final LoopScheduler scheduler;
+    private final Consumer<Room> onRoomClosed;
+
+    private final List<Room> rooms = new ArrayList<>();           // Hanya diakses thread worker
+    private final Queue<Room> incoming = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger roomCount = new AtomicInteger();  // Termasuk room yang masih di antrean
+    private final ByteBuffer scratch = ByteBuffer.allocate(Protocol.MAX_FRAME);
+
+    // Pengukuran jendela berjalan (hanya thread worker) dan hasil terakhirnya (dibaca thread lain)
+    private final LatencyHistogram window = new LatencyHistogram();
+    private long windowStart;
+    private long windowBusy;
+    private int windowTicks;
+    private volatile double load;
+    private volatile long recentTickP99;
+    private volatile double headroom = 1.0;
+    private volatile long roomFailures;
+
+    TickWorker(int index, int ticksPerSecond, int statesPerSecond, Consumer<Room> onRoomClosed) {
+        this.index = index;
+        this.scheduler = new LoopScheduler(ticksPerSecond, statesPerSecond, this);
+        this.onRoomClosed = onRoomClosed;
+    }
+
+    /**
+     * Memulai thread worker.
+     */
+    void start() {
+        Thread thread = new Thread(scheduler::run, "tick-worker-" + index);
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    void stop() {
+        scheduler.stop();
+    }
+
+    /**
+     * Menyerahkan room baru ke worker ini. Aman dipanggil dari thread mana pun.
+     */
+    void add(Room room) {
+        roomCount.incrementAndGet();
+        incoming.add(room);
+    }
+
+    @Override
+    public void tick(long deadline) {
+        long start = System.nanoTime();
+        if (windowStart == 0) windowStart = start;
+
+        Room added;
+        while ((added = incoming.poll()) != null) {
+            rooms.add(added);
+        }
+
+        for (int i = rooms.size() - 1; i >= 0; i--) {
+            Room room = rooms.get(i);
+            if (!room.isClosed()) {
+                try {
+                    room.tick();
+                    continue;
+                } catch (RuntimeException e) {
+                    // Kesalahan satu room tidak boleh menghentikan room lain di worker yang sama
+                    roomFailures++;
+                    System.err.println("Room " + room.getId() + " dihentikan: " + e);
+                    room.getClient().close();
+                }
+            }
+            int last = rooms.size() - 1;
+            rooms.set(i, rooms.get(last));
+            rooms.remove(last);
+            roomCount.decrementAndGet();
+            onRoomClosed.accept(room);
+        }
+
+        long duration = System.nanoTime() - start;
+        window.record(duration);
+        windowBusy += duration;
+        if (++windowTicks == WINDOW_TICKS) {
+            publishWindow();
+        }
+    }
+
+    @Override
+    public void render() {
+        long start = System.nanoTime();
+        for (Room room : rooms) {
+            if (!room.isClosed()) {
+                room.sendState(scratch);
+            }
+        }
+        windowBusy += System.nanoTime() - start;
+    }
+
+    private void publishWindow() {
+        long now = System.nanoTime();
+        long period = scheduler.getTickPeriodNanos();
+        double busyFraction = (double) windowBusy / Math.max(1, now - windowStart);
+        long p99 = window.getValueAtPercentile(99);
+        load = busyFraction;
+        recentTickP99 = p99;
+        headroom = 1.0 - Math.max(busyFraction, (double) p99 / period);
+        window.reset();
+        windowStart = now;
+        windowBusy = 0;
+        windowTicks = 0;
+    }
+
+    int getIndex() { return index; }
+    int getRoomCount() { return roomCount.get(); }
+    double getLoad() { return load; }
+    long getRecentTickP99Nanos() { return recentTickP99; }
+    double getHeadroom() { return headroom; }
+    long getRoomFailures() { return roomFailures; }
+    LoopScheduler getScheduler() { return scheduler; }
+}
@@ -1,40 +1,140 @@
 package util;
 
 import javax.imageio.ImageIO;
+import java.awt.*;
+import java.awt.geom.AffineTransform;
 import java.awt.image.BufferedImage;
 import java.io.File;
 import java.io.IOException;
 
 public class AssetLoader {
 
-    // Variabel statis untuk menyimpan setiap gambar agar bisa diakses dari mana saja
-    public static BufferedImage backgroundSprite, playerSprite, crystalBlueSprite, cargoBaySprite, crystalRedSprite, crystalGreenSprite, crystalPurpleSprite;
+    // Jarak antar sprite di dalam atlas agar filtering tidak "bocor" ke sprite tetangga
+    private static final int ATLAS_PADDING = 1;
+
+    // Satu atlas berisi semua sprite, dibuat dalam format yang kompatibel dengan layar
+    public static BufferedImage atlas;
+
+    // Variabel statis untuk menyimpan setiap sprite agar bisa diakses dari mana saja
+    public static Sprite playerSprite, playerMirroredSprite, cargoBaySprite,
+            crystalBlueSprite, crystalRedSprite, crystalGreenSprite, crystalPurpleSprite;
+
+    // Latar belakang asli dan salinannya yang sudah diskalakan ke ukuran panel
+    private static BufferedImage backgroundSource;
+    private static BufferedImage scaledBackground;
 
     /**
      * Metode utama untuk memuat semua gambar ke dalam memori saat game dimulai.
+     * Semua sprite dikonversi ke format yang kompatibel dengan perangkat layar dan dikemas
+     * ke satu atlas, termasuk versi cermin dari sprite pemain, sehingga setiap frame
+     * hanya melakukan blit tanpa skala maupun konversi format.
      */
     public static void loadImages() {
         System.out.println("Memuat aset gambar...");
         try {
-            backgroundSprite = loadImage("assets/images/bg.png");
-            playerSprite = loadImage("assets/images/Char.png");
-            cargoBaySprite = loadImage("assets/images/Blackhole.png");
+            backgroundSource = loadImage("assets/images/bg.png");
+            BufferedImage player = loadImage("assets/images/Char.png");
+            BufferedImage cargoBay = loadImage("assets/images/Blackhole.png");
 
             // Gambar Crystal
-            crystalBlueSprite = loadImage("assets/images/BlueCrystal.png");
-            crystalRedSprite = loadImage("assets/images/RedCrystal.png");
-            crystalGreenSprite = loadImage("assets/images/GreenCrystal.png");
-            crystalPurpleSprite = loadImage("assets/images/PurpleCrystal.png");
+            BufferedImage crystalBlue = loadImage("assets/images/BlueCrystal.png");
+            BufferedImage crystalRed = loadImage("assets/images/RedCrystal.png");
+            BufferedImage crystalGreen = loadImage("assets/images/GreenCrystal.png");
+            BufferedImage crystalPurple = loadImage("assets/images/PurpleCrystal.png");
+
+            // Atlas disusun dalam satu baris; urutan di sini menentukan posisi sprite
+            BufferedImage[] images = {player, player, cargoBay, crystalBlue, crystalRed, crystalGreen, crystalPurple};
+            int atlasWidth = 0, atlasHeight = 0;
+            for (BufferedImage image : images) {
+                atlasWidth += image.getWidth() + ATLAS_PADDING;
+                atlasHeight = Math.max(atlasHeight, image.getHeight());
+            }
+            atlas = createCompatibleImage(atlasWidth, atlasHeight, Transparency.TRANSLUCENT);
+
+            Graphics2D g2d = atlas.createGraphics();
+            try {
+                g2d.setComposite(AlphaComposite.Src);
+                int x = 0;
+                playerSprite = pack(g2d, player, x, false);
+                x += player.getWidth() + ATLAS_PADDING;
+                playerMirroredSprite = pack(g2d, player, x, true);
+                x += player.getWidth() + ATLAS_PADDING;
+                cargoBaySprite = pack(g2d, cargoBay, x, false);
+                x += cargoBay.getWidth() + ATLAS_PADDING;
+                crystalBlueSprite = pack(g2d, crystalBlue, x, false);
+                x += crystalBlue.getWidth() + ATLAS_PADDING;
+                crystalRedSprite = pack(g2d, crystalRed, x, false);
+                x += crystalRed.getWidth() + ATLAS_PADDING;
+                crystalGreenSprite = pack(g2d, crystalGreen, x, false);
+                x += crystalGreen.getWidth() + ATLAS_PADDING;
+                crystalPurpleSprite = pack(g2d, crystalPurple, x, false);
+            } finally {
+                g2d.dispose();
+            }
 
             System.out.println("Aset berhasil dimuat.");
         } catch (IOException e) {
             System.err.println("Gagal memuat aset gambar!");
             e.printStackTrace();
             // Keluar dari program jika aset penting gagal dimuat
-            System.exit(1); 
+            System.exit(1);
         }
     }
-    
+
+    /**
+     * Mengembalikan latar belakang yang sudah diskalakan tepat ke ukuran yang diminta.
+     * Penskalaan hanya dilakukan sekali per ukuran, bukan setiap frame.
+     * @param width Lebar area gambar.
+     * @param height Tinggi area gambar.
+     * @return Gambar latar belakang siap blit, atau null jika aset belum dimuat.
+     */
+    public static synchronized BufferedImage getBackground(int width, int height) {
+        if (backgroundSource == null || width <= 0 || height <= 0) return null;
+        if (scaledBackground == null || scaledBackground.getWidth() != width || scaledBackground.getHeight() != height) {
+            BufferedImage scaled = createCompatibleImage(width, height, Transparency.OPAQUE);
+            Graphics2D g2d = scaled.createGraphics();
+            try {
+                g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                g2d.drawImage(backgroundSource, 0, 0, width, height, null);
+            } finally {
+                g2d.dispose();
+            }
+            scaledBackground = scaled;
+        }
+        return scaledBackground;
+    }
+
+    /**
+     * Menyalin satu gambar ke atlas pada posisi x dan membuat Sprite yang menunjuk ke sana.
+     * @param mirrored true untuk menyimpan versi yang dibalik secara horizontal.
+     */
+    private static Sprite pack(Graphics2D g2d, BufferedImage image, int x, boolean mirrored) {
+        if (mirrored) {
+            AffineTransform original = g2d.getTransform();
+            g2d.translate(x + image.getWidth(), 0);
+            g2d.scale(-1, 1);
+            g2d.drawImage(image, 0, 0, null);
+            g2d.setTransform(original);
+        } else {
+            g2d.drawImage(image, x, 0, null);
+        }
+        return new Sprite(atlas, x, 0, image.getWidth(), image.getHeight());
+    }
+
+    /**
+     * Membuat gambar dengan format piksel yang sama dengan layar, sehingga Java2D dapat
+     * menyimpannya di memori grafis (managed image). Pada mode headless dipakai ARGB biasa.
+     */
+    public static BufferedImage createCompatibleImage(int width, int height, int transparency) {
+        if (GraphicsEnvironment.isHeadless()) {
+            int type = transparency == Transparency.OPAQUE ? BufferedImage.TYPE_INT_RGB : BufferedImage.TYPE_INT_ARGB_PRE;
+            return new BufferedImage(width, height, type);
+        }
+        GraphicsConfiguration config = GraphicsEnvironment.getLocalGraphicsEnvironment()
+                .getDefaultScreenDevice().getDefaultConfiguration();
+        return config.createCompatibleImage(width, height, transparency);
+    }
+
     /**
      * Fungsi pembantu untuk membaca file gambar dari path yang diberikan.
      * @param path Lokasi file gambar.
@@ -44,4 +144,4 @@ public class AssetLoader {
     private static BufferedImage loadImage(String path) throws IOException {
         return ImageIO.read(new File(path));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,124 @@
+package util;
+
+import java.awt.Rectangle;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Kelas DirtyRegionTracker mencatat bagian layar yang berubah sejak terakhir digambar, dalam
+ * petak {@link #TILE}x{@link #TILE} piksel. Setiap baris petak disimpan sebagai bitmask di
+ * AtomicLongArray, sehingga game thread dapat menandai area tanpa kunci sementara thread
+ * render (EDT) mengambil dan mengosongkannya sekaligus dengan {@link #drain(Rectangle)}.
+ */
+public final class DirtyRegionTracker {
+    public static final int TILE = 32;
+    private static final int TILE_SHIFT = 5;
+
+    private final int width, height;
+    private final int columns, rows;
+    private final int wordsPerRow;
+    private final AtomicLongArray mask;
+
+    public DirtyRegionTracker(int width, int height) {
+        this.width = width;
+        this.height = height;
+        this.columns = (width + TILE - 1) >> TILE_SHIFT;
+        this.rows = (height + TILE - 1) >> TILE_SHIFT;
+        this.wordsPerRow = (columns + 63) >>> 6;
+        this.mask = new AtomicLongArray(rows * wordsPerRow);
+    }
+
+    /**
+     * Menandai persegi panjang (koordinat piksel) sebagai kotor. Bagian di luar layar diabaikan.
+     */
+    public void mark(int x, int y, int w, int h) {
+        int minColumn = Math.max(0, x >> TILE_SHIFT);
+        int maxColumn = Math.min(columns - 1, (x + w - 1) >> TILE_SHIFT);
+        int minRow = Math.max(0, y >> TILE_SHIFT);
+        int maxRow = Math.min(rows - 1, (y + h - 1) >> TILE_SHIFT);
+        if (w <= 0 || h <= 0 || minColumn > maxColumn || minRow > maxRow) return;
+
+        for (int word = minColumn >>> 6; word <= maxColumn >>> 6; word++) {
+            int from = Math.max(minColumn, word << 6) & 63;
+            int to = Math.min(maxColumn, (word << 6) + 63) & 63;
+            long bits = (-1L >>> (63 - to)) & (-1L << from);
+            for (int row = minRow; row <= maxRow; row++) {
+                set(row * wordsPerRow + word, bits);
+            }
+        }
+    }
+
+    /**
+     * Menandai petak yang dilalui segmen garis, diperlebar pad piksel ke segala arah.
+     * Garis diagonal yang panjang hanya menandai petak di sepanjang garis, bukan seluruh kotak pembatasnya.
+     */
+    public void markSegment(int x1, int y1, int x2, int y2, int pad) {
+        int dx = x2 - x1, dy = y2 - y1;
+        int steps = Math.max(1, (Math.max(Math.abs(dx), Math.abs(dy)) + TILE / 2 - 1) / (TILE / 2));
+        for (int i = 0; i <= steps; i++) {
+            int x = x1 + dx * i / steps;
+            int y = y1 + dy * i / steps;
+            mark(x - pad, y - pad, pad * 2 + 1, pad * 2 + 1);
+        }
+    }
+
+    /**
+     * Menandai seluruh layar (misalnya saat sesi baru dimulai).
+     */
+    public void markAll() {
+        mark(0, 0, width, height);
+    }
+
+    private void set(int index, long bits) {
+        long old;
+        do {
+            old = mask.get(index);
+            if ((old | bits) == old) return; // Sudah kotor, tidak perlu CAS
+        } while (!mask.compareAndSet(index, old, old | bits));
+    }
+
+    /**
+     * Mengambil dan mengosongkan semua petak kotor.
+     * @param bounds Diisi dengan kotak pembatas semua petak kotor (kosong jika tidak ada).
+     * @return Jumlah petak kotor.
+     */
+    public int drain(Rectangle bounds) {
+        return collect(bounds, true);
+    }
+
+    /**
+     * Sama seperti {@link #drain(Rectangle)} tetapi petak kotor tidak dikosongkan.
+     */
+    public int peek(Rectangle bounds) {
+        return collect(bounds, false);
+    }
+
+    private int collect(Rectangle bounds, boolean clear) {
+        int count = 0;
+        int minColumn = columns, maxColumn = -1, minRow = rows, maxRow = -1;
+        for (int row = 0; row < rows; row++) {
+            for (int word = 0; word < wordsPerRow; word++) {
+                int index = row * wordsPerRow + word;
+                long bits = mask.get(index);
+                if (bits == 0) continue;
+                if (clear) bits = mask.getAndSet(index, 0);
+                count += Long.bitCount(bits);
+                minColumn = Math.min(minColumn, (word << 6) + Long.numberOfTrailingZeros(bits));
+                maxColumn = Math.max(maxColumn, (word << 6) + 63 - Long.numberOfLeadingZeros(bits));
+                minRow = Math.min(minRow, row);
+                maxRow = Math.max(maxRow, row);
+            }
+        }
+        if (count == 0) {
+            bounds.setBounds(0, 0, 0, 0);
+        } else {
+            int x = minColumn << TILE_SHIFT, y = minRow << TILE_SHIFT;
+            bounds.setBounds(x, y, Math.min(width, (maxColumn + 1) << TILE_SHIFT) - x,
+                    Math.min(height, (maxRow + 1) << TILE_SHIFT) - y);
+        }
+        return count;
+    }
+
+    public int getTileCount() { return columns * rows; }
+    public int getWidth() { return width; }
+    public int getHeight() { return height; }
+}
@@ -0,0 +1,89 @@
+package util;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Kelas GameEvents berisi event Java Flight Recorder (JFR) untuk jalur-jalur penting permainan.
+ * Event hanya dicatat selama rekaman JFR berjalan, misalnya:
+ *   java -XX:StartFlightRecording=filename=game.jfr,settings=profile ...
+ * Tanpa rekaman, pembuatan event dihilangkan oleh JIT sehingga biayanya hampir nol.
+ * Pola pemakaian: buat event, panggil begin(), isi field, lalu commit().
+ */
+public final class GameEvents {
+    private static final String CATEGORY = "Collect The Crystal";
+
+    private GameEvents() {
+    }
+
+    @Name("ctc.Tick")
+    @Label("Game Tick")
+    @Category(CATEGORY)
+    @StackTrace(false)
+    public static final class Tick extends Event {
+        @Label("Tick")
+        public long tick;
+        @Label("Kristal Aktif")
+        public int crystals;
+    }
+
+    @Name("ctc.Frame")
+    @Label("Render Frame")
+    @Category(CATEGORY)
+    @StackTrace(false)
+    public static final class Frame extends Event {
+        @Label("Backend")
+        public String backend;
+    }
+
+    @Name("ctc.Spawn")
+    @Label("Crystal Spawn")
+    @Category(CATEGORY)
+    @StackTrace(false)
+    public static final class Spawn extends Event {
+        @Label("Jenis")
+        public String crystalType;
+        @Label("Kecepatan X")
+        public int speedX;
+    }
+
+    @Name("ctc.Catch")
+    @Label("Crystal Catch")
+    @Category(CATEGORY)
+    @StackTrace(false)
+    public static final class Catch extends Event {
+        @Label("Jenis")
+        public String crystalType;
+    }
+
+    @Name("ctc.Score")
+    @Label("Crystal Scored")
+    @Category(CATEGORY)
+    @StackTrace(false)
+    public static final class Score extends Event {
+        @Label("Jenis")
+        public String crystalType;
+        @Label("Nilai")
+        public int value;
+        @Label("Total Skor")
+        public int totalScore;
+    }
+
+    @Name("ctc.DbSave")
+    @Label("Score Save")
+    @Description("Satu percobaan menyimpan batch skor ke database")
+    @Category(CATEGORY)
+    @StackTrace(false)
+    public static final class DbSave extends Event {
+        @Label("Jumlah Hasil")
+        public int results;
+        @Label("Percobaan")
+        public int attempt;
+        @Label("Berhasil")
+        public boolean success;
+    }
+}
@@ -0,0 +1,107 @@
+package util;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Kelas InputRingBuffer mengantre kejadian input dari satu penulis (EDT) ke satu pembaca
+ * (game thread) tanpa kunci dan tanpa alokasi. Setiap kejadian disimpan sebagai data
+ * primitif (waktu, jenis, dan dua argumen) di larik melingkar berukuran pangkat dua.
+ * Penulis hanya memajukan posisi tail dan pembaca hanya memajukan posisi head, masing-masing
+ * dengan penulisan lazySet (release) yang dibaca pihak lain dengan get (acquire), sehingga
+ * isi slot selalu terlihat utuh sebelum posisinya.
+ *
+ * Jika antrean penuh, kejadian baru dibuang dan dihitung; penulis tidak pernah menunggu.
+ */
+public final class InputRingBuffer {
+
+    /**
+     * Penerima kejadian saat antrean dikuras. Dipanggil di thread pembaca.
+     */
+    public interface Handler {
+        void onEvent(long timestamp, int type, int a, int b);
+    }
+
+    private final int mask;
+    private final long[] timestamps;
+    private final int[] types;
+    private final int[] argsA;
+    private final int[] argsB;
+
+    private final AtomicLong head = new AtomicLong(); // Slot berikutnya yang dibaca (hanya ditulis pembaca)
+    private final AtomicLong tail = new AtomicLong(); // Slot berikutnya yang ditulis (hanya ditulis penulis)
+    private long cachedHead; // Salinan head milik penulis, diperbarui hanya saat antrean tampak penuh
+    private final AtomicLong dropped = new AtomicLong();
+
+    /**
+     * @param capacity Kapasitas antrean, harus pangkat dua.
+     */
+    public InputRingBuffer(int capacity) {
+        if (capacity <= 0 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Kapasitas harus pangkat dua: " + capacity);
+        }
+        this.mask = capacity - 1;
+        this.timestamps = new long[capacity];
+        this.types = new int[capacity];
+        this.argsA = new int[capacity];
+        this.argsB = new int[capacity];
+    }
+
+    /**
+     * Menambahkan satu kejadian. Hanya boleh dipanggil dari thread penulis.
+     * @return false jika antrean penuh dan kejadian dibuang.
+     */
+    public boolean offer(long timestamp, int type, int a, int b) {
+        long t = tail.get();
+        if (t - cachedHead > mask) {
+            cachedHead = head.get();
+            if (t - cachedHead > mask) {
+                dropped.incrementAndGet();
+                return false;
+            }
+        }
+        int slot = (int) t & mask;
+        timestamps[slot] = timestamp;
+        types[slot] = type;
+        argsA[slot] = a;
+        argsB[slot] = b;
+        tail.lazySet(t + 1); // Menerbitkan slot setelah isinya lengkap
+        return true;
+    }
+
+    /**
+     * Menguras kejadian yang waktunya tidak lebih dari batas, sesuai urutan masuk.
+     * Hanya boleh dipanggil dari thread pembaca.
+     * @param until Batas waktu (inklusif); kejadian yang lebih baru tetap di antrean.
+     * @param handler Penerima kejadian.
+     * @return Jumlah kejadian yang dikuras.
+     */
+    public int drain(long until, Handler handler) {
+        long h = head.get();
+        long t = tail.get();
+        int drained = 0;
+        while (h < t) {
+            int slot = (int) h & mask;
+            long timestamp = timestamps[slot];
+            if (timestamp - until > 0) break;
+            handler.onEvent(timestamp, types[slot], argsA[slot], argsB[slot]);
+            h++;
+            drained++;
+        }
+        head.lazySet(h); // Slot boleh ditimpa penulis setelah dibaca
+        return drained;
+    }
+
+    /**
+     * Membuang semua kejadian yang sudah ada. Hanya boleh dipanggil dari thread pembaca.
+     */
+    public void discard() {
+        head.lazySet(tail.get());
+    }
+
+    /**
+     * @return Jumlah kejadian yang dibuang karena antrean penuh.
+     */
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+}
@@ -0,0 +1,111 @@
+package util;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Kelas LatencyHistogram mencatat sebaran durasi (dalam nanodetik) dengan bucket log-linear:
+ * nilai di bawah 64 dicatat persis, di atasnya setiap pangkat dua dibagi menjadi 32 bucket,
+ * sehingga kesalahan persentil paling besar sekitar 3% untuk rentang nanodetik sampai jam.
+ * Pencatatan tidak mengalokasi objek.
+ *
+ * Hanya satu thread yang boleh mencatat; thread lain boleh membaca kapan saja dan
+ * mendapatkan nilai yang mungkin tertinggal beberapa catatan, tetapi tidak pernah rusak.
+ */
+public final class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS; // 32
+    private static final int LINEAR_LIMIT = SUB_BUCKETS * 2;      // 64
+    private static final int BUCKET_COUNT = LINEAR_LIMIT + (63 - SUB_BUCKET_BITS - 1) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+    // Statistik ringkas; ditulis dengan lazySet oleh satu thread pencatat
+    private final AtomicLongArray summary = new AtomicLongArray(3);
+    private static final int TOTAL_COUNT = 0, TOTAL_SUM = 1, MAX = 2;
+
+    /**
+     * Mencatat satu nilai. Nilai negatif dicatat sebagai 0.
+     */
+    public void record(long value) {
+        if (value < 0) value = 0;
+        int index = indexOf(value);
+        counts.lazySet(index, counts.get(index) + 1);
+        summary.lazySet(TOTAL_COUNT, summary.get(TOTAL_COUNT) + 1);
+        summary.lazySet(TOTAL_SUM, summary.get(TOTAL_SUM) + value);
+        if (value > summary.get(MAX)) summary.lazySet(MAX, value);
+    }
+
+    public long getCount() {
+        return summary.get(TOTAL_COUNT);
+    }
+
+    public long getMax() {
+        return summary.get(MAX);
+    }
+
+    public double getMean() {
+        long count = getCount();
+        return count == 0 ? 0 : (double) summary.get(TOTAL_SUM) / count;
+    }
+
+    /**
+     * @param percentile Persentil 0..100.
+     * @return Batas atas bucket yang memuat persentil tersebut (tidak melebihi nilai maksimum), atau 0 jika kosong.
+     */
+    public long getValueAtPercentile(double percentile) {
+        long total = 0;
+        long[] snapshot = new long[BUCKET_COUNT];
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            snapshot[i] = counts.get(i);
+            total += snapshot[i];
+        }
+        if (total == 0) return 0;
+        long target = Math.max(1, (long) Math.ceil(total * Math.min(100.0, percentile) / 100.0));
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += snapshot[i];
+            if (seen >= target) {
+                return Math.min(highestValueOf(i), getMax());
+            }
+        }
+        return getMax();
+    }
+
+    /**
+     * Mengosongkan histogram. Hanya boleh dipanggil dari thread pencatat.
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts.lazySet(i, 0);
+        }
+        for (int i = 0; i < summary.length(); i++) {
+            summary.lazySet(i, 0);
+        }
+    }
+
+    /**
+     * @return Ringkasan satu baris dalam milidetik (misalnya untuk log).
+     */
+    public String summaryMillis() {
+        return String.format(Locale.ROOT, "n=%d rata-rata %.3f ms, p50 %.3f ms, p99 %.3f ms, p99.9 %.3f ms, maks %.3f ms",
+                getCount(), getMean() / 1e6, getValueAtPercentile(50) / 1e6, getValueAtPercentile(99) / 1e6,
+                getValueAtPercentile(99.9) / 1e6, getMax() / 1e6);
+    }
+
+    private static int indexOf(long value) {
+        if (value < LINEAR_LIMIT) return (int) value;
+        int highestBit = 63 - Long.numberOfLeadingZeros(value); // >= 6
+        int shift = highestBit - SUB_BUCKET_BITS;
+        int subBucket = (int) (value >>> shift) - SUB_BUCKETS; // 0..31
+        return LINEAR_LIMIT + (highestBit - SUB_BUCKET_BITS - 1) * SUB_BUCKETS + subBucket;
+    }
+
+    private static long highestValueOf(int index) {
+        if (index < LINEAR_LIMIT) return index;
+        int offset = index - LINEAR_LIMIT;
+        int highestBit = offset / SUB_BUCKETS + SUB_BUCKET_BITS + 1;
+        int shift = highestBit - SUB_BUCKET_BITS;
+        long lowest = (long) (SUB_BUCKETS + offset % SUB_BUCKETS) << shift;
+        return lowest + (1L << shift) - 1;
+    }
+}
@@ -0,0 +1,39 @@
+package util;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+
+/**
+ * Kelas Sprite menunjuk ke satu wilayah persegi di dalam atlas gambar.
+ * Sprite selalu digambar 1:1 (tanpa skala) agar Java2D bisa memakai blit yang dipercepat.
+ */
+public final class Sprite {
+    private final BufferedImage atlas;
+    private final int sourceX, sourceY, width, height;
+
+    Sprite(BufferedImage atlas, int sourceX, int sourceY, int width, int height) {
+        this.atlas = atlas;
+        this.sourceX = sourceX;
+        this.sourceY = sourceY;
+        this.width = width;
+        this.height = height;
+    }
+
+    /**
+     * Menggambar sprite dengan sudut kiri atas di (x, y).
+     */
+    public void draw(Graphics2D g2d, int x, int y) {
+        g2d.drawImage(atlas, x, y, x + width, y + height,
+                sourceX, sourceY, sourceX + width, sourceY + height, null);
+    }
+
+    /**
+     * Menggambar sprite dengan titik pusat di (centerX, centerY).
+     */
+    public void drawCentered(Graphics2D g2d, int centerX, int centerY) {
+        draw(g2d, centerX - width / 2, centerY - height / 2);
+    }
+
+    public int getWidth() { return width; }
+    public int getHeight() { return height; }
+}
@@ -0,0 +1,54 @@
+package util;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Kelas TripleBuffer menyerahkan data dari satu penulis (game thread) ke satu pembaca
+ * (thread render) tanpa kunci. Terdapat tiga buffer yang dipakai ulang:
+ * satu milik penulis, satu milik pembaca, dan satu "di tengah" yang berisi frame terbaru.
+ * Penulis menerbitkan frame dengan satu operasi atomik (swap), dan pembaca selalu
+ * mendapatkan frame terbaru yang sudah lengkap tanpa pernah melihat data setengah jadi.
+ * @param <T> Tipe data per frame.
+ */
+public final class TripleBuffer<T> {
+    private static final int INDEX_MASK = 3;
+    private static final int FRESH = 4; // Penanda bahwa buffer tengah berisi frame baru
+
+    private final T[] buffers;
+    private final AtomicInteger middle = new AtomicInteger(1);
+    private int back = 0;  // Hanya diakses oleh penulis
+    private int front = 2; // Hanya diakses oleh pembaca
+
+    @SuppressWarnings("unchecked")
+    public TripleBuffer(Supplier<T> factory) {
+        this.buffers = (T[]) new Object[]{factory.get(), factory.get(), factory.get()};
+    }
+
+    /**
+     * Buffer milik penulis yang boleh diisi sebelum {@link #publish()} dipanggil.
+     * @return Buffer tulis saat ini.
+     */
+    public T getWriteBuffer() {
+        return buffers[back];
+    }
+
+    /**
+     * Menerbitkan buffer tulis sebagai frame terbaru dan mengambil buffer bebas untuk frame berikutnya.
+     */
+    public void publish() {
+        back = middle.getAndSet(back | FRESH) & INDEX_MASK;
+    }
+
+    /**
+     * Mengambil frame terbaru. Jika belum ada frame baru, frame terakhir dikembalikan lagi.
+     * Objek yang dikembalikan tetap utuh sampai pemanggilan acquire() berikutnya.
+     * @return Frame terbaru yang sudah diterbitkan.
+     */
+    public T acquire() {
+        if ((middle.get() & FRESH) != 0) {
+            front = middle.getAndSet(front) & INDEX_MASK;
+        }
+        return buffers[front];
+    }
+}
@@ -0,0 +1,65 @@
+package util;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Kelas VarInt berisi encoding bilangan bulat dengan panjang variabel (7 bit per byte,
+ * bit tertinggi menandakan masih ada byte lanjutan) serta zigzag untuk bilangan bertanda,
+ * sehingga angka kecil (positif maupun negatif) cukup disimpan dalam satu atau dua byte.
+ */
+public final class VarInt {
+
+    private VarInt() {
+    }
+
+    /**
+     * Menulis bilangan tak bertanda (dibaca sebagai 32 bit tanpa tanda).
+     */
+    public static void putVarInt(ByteBuffer buffer, int value) {
+        while ((value & ~0x7F) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    public static int getVarInt(ByteBuffer buffer) {
+        int result = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            byte b = buffer.get();
+            result |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) return result;
+        }
+        throw new IllegalArgumentException("VarInt terlalu panjang");
+    }
+
+    public static void putVarLong(ByteBuffer buffer, long value) {
+        while ((value & ~0x7FL) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    public static long getVarLong(ByteBuffer buffer) {
+        long result = 0;
+        for (int shift = 0; shift < 70; shift += 7) {
+            byte b = buffer.get();
+            result |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) return result;
+        }
+        throw new IllegalArgumentException("VarLong terlalu panjang");
+    }
+
+    /**
+     * Menulis bilangan bertanda dengan zigzag (0, -1, 1, -2, ... menjadi 0, 1, 2, 3, ...).
+     */
+    public static void putSignedVarInt(ByteBuffer buffer, int value) {
+        putVarInt(buffer, (value << 1) ^ (value >> 31));
+    }
+
+    public static int getSignedVarInt(ByteBuffer buffer) {
+        int raw = getVarInt(buffer);
+        return (raw >>> 1) ^ -(raw & 1);
+    }
+}
@@ -0,0 +1,77 @@
+package view;
+
+import presenter.GameMetrics;
+
+import java.awt.*;
+import java.util.Locale;
+
+/**
+ * DebugOverlay menampilkan metrik permainan (durasi tick, paint, keterlambatan EDT, kristal aktif,
+ * antrean skor) di pojok kanan atas layar. Dinyalakan/dimatikan dengan F3, atau aktif sejak awal
+ * dengan -Dctc.debug.overlay=true. Saat mati, biayanya hanya satu pemeriksaan boolean per frame;
+ * saat hidup, teks hanya disusun ulang setiap {@link #REFRESH_FRAMES} frame.
+ */
+class DebugOverlay {
+    private static final int REFRESH_FRAMES = 30;
+    private static final Font FONT = new Font("Consolas", Font.PLAIN, 12);
+    private static final Color BACKGROUND = new Color(0, 0, 0, 160);
+    private static final int LINE_HEIGHT = 14;
+    private static final int PADDING = 6;
+    private static final int WIDTH = 300;
+
+    private final GameMetrics metrics;
+    private volatile boolean enabled = Boolean.getBoolean("ctc.debug.overlay");
+    private final String[] lines = new String[5];
+    private int framesUntilRefresh;
+
+    DebugOverlay(GameMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * Menyalakan atau mematikan overlay. Aman dipanggil dari EDT.
+     */
+    void toggle() {
+        enabled = !enabled;
+        framesUntilRefresh = 0;
+    }
+
+    boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Menggambar overlay jika aktif. Dipanggil dari thread yang menggambar frame.
+     */
+    void draw(Graphics2D g2d, int width) {
+        if (!enabled) return;
+        if (--framesUntilRefresh <= 0) {
+            refresh();
+            framesUntilRefresh = REFRESH_FRAMES;
+        }
+        int x = width - WIDTH - PADDING;
+        int height = lines.length * LINE_HEIGHT + PADDING * 2;
+        g2d.setColor(BACKGROUND);
+        g2d.fillRect(x, PADDING, WIDTH, height);
+        g2d.setFont(FONT);
+        g2d.setColor(Color.WHITE);
+        int y = PADDING * 2 + LINE_HEIGHT - 4;
+        for (String line : lines) {
+            g2d.drawString(line, x + PADDING, y);
+            y += LINE_HEIGHT;
+        }
+    }
+
+    private void refresh() {
+        lines[0] = String.format(Locale.ROOT, "tick p50 %.0f us  p99 %.0f us  maks %.0f us",
+                metrics.getTickP50Micros(), metrics.getTickP99Micros(), metrics.getTickMaxMicros());
+        lines[1] = String.format(Locale.ROOT, "telat p99 %.0f us  overrun %d  hilang %d",
+                metrics.getTickLatenessP99Micros(), metrics.getOverrunCount(), metrics.getDroppedTickCount());
+        lines[2] = String.format(Locale.ROOT, "paint p50 %.0f us  p99 %.0f us  EDT p99 %.0f us",
+                metrics.getPaintP50Micros(), metrics.getPaintP99Micros(), metrics.getEdtLagP99Micros());
+        lines[3] = String.format(Locale.ROOT, "repaint/frame %.2f  kristal %d  pool %d",
+                metrics.getRepaintCoalescingRatio(), metrics.getCrystalsAlive(), metrics.getBallPoolFree());
+        lines[4] = String.format(Locale.ROOT, "spawn %d  tangkap %d  antrean skor %d",
+                metrics.getSpawnedCount(), metrics.getCaughtCount(), metrics.getScoreQueueDepth());
+    }
+}
@@ -0,0 +1,124 @@
+package view;
+
+import model.Ball;
+import model.CrystalStore;
+import model.FrameSnapshot;
+import model.Player;
+import util.AssetLoader;
+import util.Sprite;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+
+/**
+ * FrameRenderer menggambar satu FrameSnapshot ke objek Graphics2D apa pun.
+ * Dipakai bersama oleh semua backend render (GamePanel pasif dan GameCanvas aktif),
+ * sehingga tampilan permainan sama persis di kedua mode.
+ * Saat hanya sebagian layar yang digambar ulang (clip lebih kecil dari layar), sprite yang
+ * tidak bersinggungan dengan clip dilewati; latar belakang sendiri sudah terpotong oleh clip.
+ */
+public class FrameRenderer {
+
+    // Teks label kristal dan HUD yang sudah dirender sebelumnya
+    private final LabelCache labels = new LabelCache();
+
+    /**
+     * Menggambar satu frame lengkap.
+     * @param g2d Objek Graphics2D tujuan.
+     * @param frame Snapshot yang akan digambar (null berarti hanya latar belakang).
+     * @param width Lebar area gambar.
+     * @param height Tinggi area gambar.
+     */
+    public void render(Graphics2D g2d, FrameSnapshot frame, int width, int height) {
+        // Mengaktifkan anti-aliasing agar gambar dan teks lebih halus
+        g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+
+        // 1. Gambar Latar Belakang (sudah diskalakan sebelumnya ke ukuran area gambar)
+        BufferedImage background = AssetLoader.getBackground(width, height);
+        if (background != null) {
+            g2d.drawImage(background, 0, 0, null);
+        }
+
+        if (frame == null) return;
+
+        // 2. Gambar Keranjang (Palka Kargo)
+        if (AssetLoader.cargoBaySprite != null && hitsClip(g2d, AssetLoader.cargoBaySprite, frame.getBasketX(), frame.getBasketY())) {
+            AssetLoader.cargoBaySprite.drawCentered(g2d, frame.getBasketX(), frame.getBasketY());
+        }
+
+        // 3. Gambar Bola (Kristal) yang bebas, lalu kristal yang sedang ditarik lasso
+        for (int i = 0; i < frame.getCrystalCount(); i++) {
+            drawBallWithScore(g2d, frame.getCrystalType(i), frame.getCrystalX(i), frame.getCrystalY(i));
+        }
+        if (frame.getPulledType() != FrameSnapshot.NONE) {
+            drawBallWithScore(g2d, frame.getPulledType(), frame.getPulledX(), frame.getPulledY());
+        }
+
+        // 4. Gambar Tali Lasso (Tractor Beam)
+        if (frame.isLassoActive()) {
+            g2d.setColor(Color.YELLOW);
+            g2d.drawLine(frame.getLassoStartX(), frame.getLassoStartY(), frame.getLassoEndX(), frame.getLassoEndY());
+        }
+
+        // 5. Gambar Pemeran Utama (Astronot)
+        if (AssetLoader.playerSprite != null) {
+            // Versi cermin sudah disiapkan di atlas, jadi tidak perlu lebar negatif saat menggambar
+            Sprite playerImage = frame.getPlayerFacing() == Player.Direction.LEFT
+                    ? AssetLoader.playerMirroredSprite
+                    : AssetLoader.playerSprite;
+            if (hitsClip(g2d, playerImage, frame.getPlayerX(), frame.getPlayerY())) {
+                playerImage.drawCentered(g2d, frame.getPlayerX(), frame.getPlayerY());
+            }
+        }
+
+        // 6. Gambar Bola yang sedang dipegang pemain
+        if (frame.getHeldType() != FrameSnapshot.NONE) {
+            drawBallWithScore(g2d, frame.getHeldType(), frame.getHeldX(), frame.getHeldY());
+        }
+
+        // 7. Gambar Teks Skor dan Hitungan dari glyph yang sudah dirender
+        labels.drawScore(g2d, frame.getScore(), 20, 30);
+        labels.drawCount(g2d, frame.getCount(), 20, 55);
+
+        /*
+        // --- KODE DEBUGGING UNTUK MENGGAMBAR HITBOX ---
+        g2d.setColor(Color.RED);
+        g2d.drawRect(frame.getPlayerX() - 34, frame.getPlayerY() - 45, 68, 90);
+        for (int i = 0; i < frame.getCrystalCount(); i++) {
+            g2d.drawRect(frame.getCrystalX(i) - Ball.WIDTH / 2, frame.getCrystalY(i) - Ball.HEIGHT / 2, Ball.WIDTH, Ball.HEIGHT);
+        }
+        */
+    }
+    
+    private static boolean hitsClip(Graphics2D g2d, Sprite sprite, int centerX, int centerY) {
+        return g2d.hitClip(centerX - sprite.getWidth() / 2, centerY - sprite.getHeight() / 2, sprite.getWidth(), sprite.getHeight());
+    }
+
+    /**
+     * Fungsi pembantu untuk menggambar satu kristal beserta teks skornya.
+     * @param g2d Objek Graphics2D untuk menggambar.
+     * @param typeOrdinal Ordinal jenis kristal (lihat Ball.BallType).
+     * @param x Posisi x pusat kristal.
+     * @param y Posisi y pusat kristal.
+     */
+    private void drawBallWithScore(Graphics2D g2d, int typeOrdinal, int x, int y) {
+        Sprite crystalSprite = null;
+        // Pilih gambar sprite berdasarkan tipe bola
+        switch (CrystalStore.typeOf(typeOrdinal)) {
+            case RED:    crystalSprite = AssetLoader.crystalRedSprite;    break;
+            case BLUE:   crystalSprite = AssetLoader.crystalBlueSprite;   break;
+            case GREEN:  crystalSprite = AssetLoader.crystalGreenSprite;  break;
+            case PURPLE: crystalSprite = AssetLoader.crystalPurpleSprite; break;
+        }
+
+        // Label skor digambar di atas sprite, jadi batas pemeriksaan clip diperluas ke atas
+        if (crystalSprite != null && g2d.hitClip(x - crystalSprite.getWidth(), y - crystalSprite.getHeight(),
+                crystalSprite.getWidth() * 2, crystalSprite.getHeight() + crystalSprite.getHeight() / 2)) {
+            int drawY = y - (crystalSprite.getHeight() / 2);
+            crystalSprite.drawCentered(g2d, x, y);
+
+            // Gambar Teks Skor (sudah dirender beserta efek "neon"-nya) 5 piksel di atas bola
+            labels.drawCrystalLabel(g2d, typeOrdinal, x, drawY - 5);
+        }
+    }
+}
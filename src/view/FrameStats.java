@@ -0,0 +1,54 @@
+package view;
+
+import java.util.Locale;
+
+/**
+ * FrameStats mengukur waktu render per frame dan jarak antar frame untuk satu backend render,
+ * lalu mencetak ringkasannya ke konsol setiap beberapa ratus frame. Hanya aktif dengan
+ * -Dctc.render.stats=true; selain itu waktu frame cukup dilihat lewat JMX atau overlay F3.
+ * Hanya boleh dipanggil dari satu thread (thread yang menggambar).
+ */
+public class FrameStats {
+    private static final boolean ENABLED = Boolean.getBoolean("ctc.render.stats");
+    private static final int REPORT_EVERY = 300; // Sekitar 5 detik pada 60 FPS
+
+    private final String backendName;
+    private int frames;
+    private long totalRenderNanos, maxRenderNanos;
+    private long firstFrameStart, lastFrameStart;
+
+    /**
+     * @param backendName Nama backend yang ditampilkan di laporan (misalnya "passive" atau "active").
+     */
+    public FrameStats(String backendName) {
+        this.backendName = backendName;
+    }
+
+    /**
+     * Mencatat satu frame.
+     * @param startNanos Waktu mulai menggambar (System.nanoTime()).
+     * @param endNanos Waktu selesai menggambar (System.nanoTime()).
+     */
+    public void record(long startNanos, long endNanos) {
+        if (!ENABLED) return;
+        if (frames == 0) {
+            firstFrameStart = startNanos;
+        }
+        long renderNanos = endNanos - startNanos;
+        totalRenderNanos += renderNanos;
+        maxRenderNanos = Math.max(maxRenderNanos, renderNanos);
+        lastFrameStart = startNanos;
+        frames++;
+
+        if (frames == REPORT_EVERY) {
+            double avgRenderMs = totalRenderNanos / (frames * 1_000_000.0);
+            double maxRenderMs = maxRenderNanos / 1_000_000.0;
+            double avgIntervalMs = (lastFrameStart - firstFrameStart) / ((frames - 1) * 1_000_000.0);
+            System.out.printf(Locale.ROOT, "[Render %s] waktu render rata-rata %.3f ms, maks %.3f ms, jarak antar frame %.2f ms (%.1f FPS)%n",
+                    backendName, avgRenderMs, maxRenderMs, avgIntervalMs, 1000.0 / avgIntervalMs);
+            frames = 0;
+            totalRenderNanos = 0;
+            maxRenderNanos = 0;
+        }
+    }
+}
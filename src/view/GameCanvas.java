@@ -0,0 +1,148 @@
+package view;
+
+import model.FrameSnapshot;
+import presenter.GamePresenter;
+import util.GameEvents;
+import util.TripleBuffer;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.KeyEvent;
+import java.awt.event.KeyListener;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.awt.image.BufferStrategy;
+
+/**
+ * GameCanvas adalah backend render alternatif dengan "active rendering":
+ * sebuah Canvas dengan BufferStrategy yang digambar langsung dari game thread
+ * setiap kali Presenter menerbitkan frame, tanpa melewati repaint() dan EDT.
+ * Mengimplementasikan GameView yang sama sehingga Presenter tidak perlu diubah.
+ */
+public class GameCanvas extends Canvas implements GameView, KeyListener {
+
+    private final GamePresenter presenter;
+    private final CardLayout cardLayout;
+    private final JPanel mainPanel;
+
+    private TripleBuffer<FrameSnapshot> frames;
+    private volatile BufferStrategy strategy;
+
+    private final FrameRenderer renderer = new FrameRenderer();
+    private final FrameStats frameStats = new FrameStats("active");
+    private final DebugOverlay overlay;
+
+    public GameCanvas(JPanel mainPanel, CardLayout cardLayout) {
+        this.cardLayout = cardLayout;
+        this.mainPanel = mainPanel;
+        this.presenter = new GamePresenter(NetworkGameView.wrapIfEnabled(this));
+        this.overlay = new DebugOverlay(presenter.getMetrics());
+
+        setFocusable(true);
+        setBackground(Color.DARK_GRAY);
+        // Semua penggambaran dilakukan sendiri oleh game thread
+        setIgnoreRepaint(true);
+        addKeyListener(this);
+
+        addMouseListener(new MouseAdapter() {
+            @Override
+            public void mousePressed(MouseEvent e) {
+                presenter.onMousePressed(e.getX(), e.getY());
+            }
+        });
+    }
+
+    public GamePresenter getPresenter() {
+        return presenter;
+    }
+
+    @Override
+    public void addNotify() {
+        super.addNotify();
+        // BufferStrategy baru bisa dibuat setelah Canvas punya peer native
+        createBufferStrategy(2);
+        strategy = getBufferStrategy();
+    }
+
+    @Override
+    public void removeNotify() {
+        strategy = null;
+        super.removeNotify();
+    }
+
+    /**
+     * Menggambar frame terbaru langsung ke BufferStrategy.
+     * Dipanggil dari game thread, satu kali per frame yang diterbitkan.
+     */
+    private void render() {
+        BufferStrategy bs = strategy;
+        if (bs == null || frames == null || !isShowing()) return;
+
+        GameEvents.Frame event = new GameEvents.Frame();
+        event.begin();
+        long start = System.nanoTime();
+        FrameSnapshot frame = frames.acquire();
+        // Ulangi jika isi buffer hilang/dipulihkan oleh sistem saat sedang menggambar
+        do {
+            do {
+                Graphics2D g2d = (Graphics2D) bs.getDrawGraphics();
+                try {
+                    g2d.setColor(getBackground());
+                    g2d.fillRect(0, 0, getWidth(), getHeight());
+                    renderer.render(g2d, frame, getWidth(), getHeight());
+                    overlay.draw(g2d, getWidth());
+                } finally {
+                    g2d.dispose();
+                }
+            } while (bs.contentsRestored());
+            bs.show();
+        } while (bs.contentsLost());
+        Toolkit.getDefaultToolkit().sync();
+        long end = System.nanoTime();
+        frameStats.record(start, end);
+        // Digambar langsung oleh game thread: tidak ada antrean EDT yang perlu diukur
+        presenter.getMetrics().recordRepaintRequest();
+        presenter.getMetrics().recordPaint(0, start, end);
+
+        event.end();
+        if (event.shouldCommit()) {
+            event.backend = "active";
+            event.commit();
+        }
+    }
+
+
+    // --- Implementasi Metode dari GameView ---
+    @Override
+    public void updateDisplay() { render(); }
+
+    @Override
+    public void bindFrames(TripleBuffer<FrameSnapshot> frames) {
+        this.frames = frames;
+    }
+
+    @Override
+    public void showMainMenu() {
+        GamePanel.showMainMenu(mainPanel, cardLayout);
+    }
+
+    @Override
+    public void requestGameFocus() { requestFocusInWindow(); }
+
+
+    // --- Implementasi Listener yang Meneruskan Input ke Presenter ---
+    @Override
+    public void keyPressed(KeyEvent e) {
+        if (e.getKeyCode() == KeyEvent.VK_F3) {
+            overlay.toggle();
+            return;
+        }
+        presenter.onKeyPressed(e.getKeyCode());
+    }
+
+    @Override
+    public void keyReleased(KeyEvent e) { presenter.onKeyReleased(e.getKeyCode()); }
+
+    @Override
+    public void keyTyped(KeyEvent e) {}
+}
@@ -1,11 +1,10 @@
 package view;
 
-import model.Ball;
-import model.Basket;
-import model.Lasso;
-import model.Player;
+import model.FrameSnapshot;
 import presenter.GamePresenter;
-import util.AssetLoader;
+import util.DirtyRegionTracker;
+import util.GameEvents;
+import util.TripleBuffer;
 
 import javax.swing.*;
 import java.awt.*;
@@ -13,13 +12,17 @@ import java.awt.event.KeyEvent;
 import java.awt.event.KeyListener;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
-import java.awt.image.BufferedImage;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * GamePanel adalah komponen View utama yang bertanggung jawab untuk menampilkan
  * semua elemen visual dari permainan.
+ * Panel ini tidak menyimpan objek model; setiap kali menggambar, panel mengambil
+ * FrameSnapshot terbaru yang diterbitkan oleh Presenter.
+ * Jika Presenter memberikan DirtyRegionTracker, panel hanya meminta repaint untuk kotak
+ * pembatas area yang berubah (latar belakang yang sudah diskalakan digambar ulang terpotong
+ * pada area itu), dan kembali ke repaint penuh jika area tersebut melebihi
+ * {@link #FULL_REPAINT_FRACTION} dari luas panel.
  */
 public class GamePanel extends JPanel implements GameView, KeyListener {
 
@@ -27,17 +30,28 @@ public class GamePanel extends JPanel implements GameView, KeyListener {
     private final CardLayout cardLayout;
     private final JPanel mainPanel;
 
-    // Variabel untuk menyimpan data yang akan digambar, diterima dari Presenter
-    private Player playerToDraw;
-    private Basket basketToDraw;
-    private Lasso lassoToDraw;
-    private List<Ball> ballsToDraw = new ArrayList<>();
-    private int score, count;
+    // Sumber snapshot dari Presenter dan penanda agar paling banyak satu repaint yang tertunda
+    private TripleBuffer<FrameSnapshot> frames;
+    private final AtomicBoolean repaintPending = new AtomicBoolean(false);
+    // Waktu repaint yang tertunda diminta, untuk mengukur keterlambatan EDT (0 = tidak ada)
+    private volatile long repaintRequestedAt;
+
+    // Bagian luas panel yang membuat repaint sebagian tidak lagi sepadan (-Dctc.render.dirtyThreshold)
+    private static final double FULL_REPAINT_FRACTION =
+            Double.parseDouble(System.getProperty("ctc.render.dirtyThreshold", "0.5"));
+    private volatile DirtyRegionTracker dirty;
+    private final Rectangle requestBounds = new Rectangle(); // Hanya game thread
+    private final Rectangle drainedBounds = new Rectangle(); // Hanya EDT
+
+    private final FrameRenderer renderer = new FrameRenderer();
+    private final FrameStats frameStats = new FrameStats("passive");
+    private final DebugOverlay overlay;
 
     public GamePanel(JPanel mainPanel, CardLayout cardLayout) {
         this.cardLayout = cardLayout;
         this.mainPanel = mainPanel;
-        this.presenter = new GamePresenter(this);
+        this.presenter = new GamePresenter(NetworkGameView.wrapIfEnabled(this));
+        this.overlay = new DebugOverlay(presenter.getMetrics());
 
         setFocusable(true);
         setBackground(Color.DARK_GRAY);
@@ -57,135 +71,85 @@ public class GamePanel extends JPanel implements GameView, KeyListener {
 
     @Override
     protected void paintComponent(Graphics g) {
-        super.paintComponent(g);
-        Graphics2D g2d = (Graphics2D) g;
-        // Mengaktifkan anti-aliasing agar gambar dan teks lebih halus
-        g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-
-        // 1. Gambar Latar Belakang
-        if (AssetLoader.backgroundSprite != null) {
-            g2d.drawImage(AssetLoader.backgroundSprite, 0, 0, getWidth(), getHeight(), null);
-        }
-
-        // 2. Gambar Keranjang (Palka Kargo)
-        if (basketToDraw != null && AssetLoader.cargoBaySprite != null) {
-            int drawX = basketToDraw.getX() - (AssetLoader.cargoBaySprite.getWidth() / 2);
-            int drawY = basketToDraw.getY() - (AssetLoader.cargoBaySprite.getHeight() / 2);
-            g2d.drawImage(AssetLoader.cargoBaySprite, drawX, drawY, null);
-        }
-
-        // 3. Gambar Bola (Kristal) yang bebas
-        if (ballsToDraw != null) {
-            for (Ball ball : ballsToDraw) {
-                drawBallWithScore(g2d, ball);
+        GameEvents.Frame event = new GameEvents.Frame();
+        event.begin();
+        long requestedAt = repaintRequestedAt;
+        repaintRequestedAt = 0;
+        // Repaint berikutnya boleh dijadwalkan lagi mulai dari sini
+        repaintPending.set(false);
+        // Area kotor diambil sebelum frame, sehingga semua area yang diambil sudah ada di frame itu.
+        // Area yang berada di luar clip repaint ini dijadwalkan ulang.
+        DirtyRegionTracker tracker = dirty;
+        if (tracker != null && tracker.drain(drainedBounds) > 0) {
+            Rectangle clip = g.getClipBounds();
+            if (clip != null && !clip.contains(drainedBounds)) {
+                repaint(drainedBounds);
             }
         }
+        super.paintComponent(g);
+        Graphics2D g2d = (Graphics2D) g;
 
-        // 4. Gambar Tali Lasso (Tractor Beam)
-        if (lassoToDraw != null) {
-            lassoToDraw.draw(g2d);
-        }
-
-        // 5. Gambar Pemeran Utama (Astronot)
-        if (playerToDraw != null && AssetLoader.playerSprite != null) {
-            BufferedImage playerImage = AssetLoader.playerSprite;
-            Player.Direction facing = playerToDraw.getFacingDirection();
-
-            int drawX = playerToDraw.getX() - (playerImage.getWidth() / 2);
-            int drawY = playerToDraw.getY() - (playerImage.getHeight() / 2);
-
-            if (facing == Player.Direction.LEFT) {
-                // Gambar dibalik secara horizontal jika menghadap kiri
-                g2d.drawImage(playerImage, drawX + playerImage.getWidth(), drawY, -playerImage.getWidth(), playerImage.getHeight(), null);
-            } else {
-                // Gambar normal jika menghadap kanan
-                g2d.drawImage(playerImage, drawX, drawY, null);
-            }
+        long start = System.nanoTime();
+        renderer.render(g2d, frames == null ? null : frames.acquire(), getWidth(), getHeight());
+        overlay.draw(g2d, getWidth());
+        long end = System.nanoTime();
+        frameStats.record(start, end);
+        presenter.getMetrics().recordPaint(requestedAt, start, end);
+
+        event.end();
+        if (event.shouldCommit()) {
+            event.backend = "passive";
+            event.commit();
         }
+    }
 
-        // 6. Gambar Bola yang sedang dipegang pemain
-        if (playerToDraw != null && playerToDraw.getHeldBall() != null) {
-            drawBallWithScore(g2d, playerToDraw.getHeldBall());
+    // --- Implementasi Metode dari GameView ---
+    @Override
+    public void updateDisplay() {
+        presenter.getMetrics().recordRepaintRequest();
+        // repaint() aman dipanggil dari game thread; cukup satu permintaan yang tertunda
+        if (!repaintPending.compareAndSet(false, true)) return;
+
+        DirtyRegionTracker tracker = dirty;
+        if (tracker == null || overlay.isEnabled()) {
+            repaintRequestedAt = System.nanoTime();
+            repaint();
+            return;
         }
-
-        // 7. Gambar Teks Skor dan Hitungan
-        g2d.setColor(Color.WHITE);
-        g2d.setFont(new Font("Consolas", Font.BOLD, 18));
-        g2d.drawString("Score: " + score, 20, 30);
-        g2d.drawString("Count: " + count, 20, 55);
-
-        /*
-        // --- KODE DEBUGGING UNTUK MENGGAMBAR HITBOX ---
-        g2d.setColor(Color.RED);
-        if (playerToDraw != null) g2d.draw(playerToDraw.getBounds());
-        if (basketToDraw != null) g2d.draw(basketToDraw.getBounds());
-        if (ballsToDraw != null) { for (Ball ball : ballsToDraw) g2d.draw(ball.getBounds()); }
-        if (playerToDraw != null && playerToDraw.getHeldBall() != null) { g2d.draw(playerToDraw.getHeldBall().getBounds());}
-        */
-    }
-    
-    /**
-     * Fungsi pembantu untuk menggambar satu bola/kristal beserta teks skornya.
-     * @param g2d Objek Graphics2D untuk menggambar.
-     * @param ball Bola yang akan digambar.
-     */
-    private void drawBallWithScore(Graphics2D g2d, Ball ball) {
-        BufferedImage crystalSprite = null;
-        // Pilih gambar sprite berdasarkan tipe bola
-        switch (ball.getType()) {
-            case RED:    crystalSprite = AssetLoader.crystalRedSprite;    break;
-            case BLUE:   crystalSprite = AssetLoader.crystalBlueSprite;   break;
-            case GREEN:  crystalSprite = AssetLoader.crystalGreenSprite;  break;
-            case PURPLE: crystalSprite = AssetLoader.crystalPurpleSprite; break;
+        if (tracker.peek(requestBounds) == 0) {
+            // Tidak ada yang berubah di layar: tidak perlu menggambar sama sekali
+            repaintPending.set(false);
+            return;
         }
-
-        if (crystalSprite != null) {
-            int drawX = ball.getX() - (crystalSprite.getWidth() / 2);
-            int drawY = ball.getY() - (crystalSprite.getHeight() / 2);
-            g2d.drawImage(crystalSprite, drawX, drawY, null);
-
-            // Gambar Teks Skor di atas bola
-            String scoreText = String.valueOf(ball.getScore());
-            Font scoreFont = new Font("Consolas", Font.BOLD, 14);
-            g2d.setFont(scoreFont);
-            
-            // Dapatkan ukuran teks untuk memposisikannya di tengah
-            FontMetrics metrics = g2d.getFontMetrics(scoreFont);
-            int textX = ball.getX() - metrics.stringWidth(scoreText) / 2;
-            int textY = drawY - 5; // 5 piksel di atas gambar
-
-            // Efek "Neon" sederhana dengan menggambar bayangan/glow
-            g2d.setColor(new Color(255, 255, 255, 100)); // Putih transparan
-            g2d.drawString(scoreText, textX + 1, textY + 1);
-
-            // Teks utama yang tajam
-            g2d.setColor(Color.WHITE);
-            g2d.drawString(scoreText, textX, textY);
+        repaintRequestedAt = System.nanoTime();
+        long area = (long) requestBounds.width * requestBounds.height;
+        if (area > FULL_REPAINT_FRACTION * getWidth() * getHeight()) {
+            repaint();
+        } else {
+            repaint(requestBounds);
         }
     }
 
-    
-    // --- Implementasi Metode dari GameView ---
-    @Override
-    public void updateDisplay() { repaint(); }
-
     @Override
-    public void setGameElements(Player player, List<Ball> balls, Lasso lasso, Basket basket) {
-        this.playerToDraw = player;
-        this.ballsToDraw = balls;
-        this.lassoToDraw = lasso;
-        this.basketToDraw = basket;
+    public void bindFrames(TripleBuffer<FrameSnapshot> frames) {
+        this.frames = frames;
     }
 
     @Override
-    public void setScoreAndCount(int score, int count) {
-        this.score = score;
-        this.count = count;
+    public void bindDirtyRegions(DirtyRegionTracker dirty) {
+        this.dirty = dirty;
     }
 
 
     @Override
     public void showMainMenu() {
+        showMainMenu(mainPanel, cardLayout);
+    }
+
+    /**
+     * Kembali ke menu utama; dipakai bersama oleh semua backend render.
+     */
+    static void showMainMenu(JPanel mainPanel, CardLayout cardLayout) {
         // Hentikan musik jika MainMenuPanel ada
         for (Component comp : mainPanel.getComponents()) {
             if (comp instanceof MainMenuPanel) {
@@ -201,7 +165,15 @@ public class GamePanel extends JPanel implements GameView, KeyListener {
 
     // --- Implementasi Listener yang Meneruskan Input ke Presenter ---
     @Override
-    public void keyPressed(KeyEvent e) { presenter.onKeyPressed(e.getKeyCode()); }
+    public void keyPressed(KeyEvent e) {
+        if (e.getKeyCode() == KeyEvent.VK_F3) {
+            overlay.toggle();
+            // Area overlay tidak dilacak Presenter, jadi layar digambar ulang seluruhnya
+            repaint();
+            return;
+        }
+        presenter.onKeyPressed(e.getKeyCode());
+    }
 
     @Override
     public void keyReleased(KeyEvent e) { presenter.onKeyReleased(e.getKeyCode()); }
@@ -1,16 +1,30 @@
-
 package view;
 
-import model.Ball;
-import model.Basket;
-import model.Lasso;
-import model.Player;
-import java.util.List;
+import model.FrameSnapshot;
+import util.DirtyRegionTracker;
+import util.TripleBuffer;
 
+/**
+ * Kontrak View untuk GamePresenter.
+ * Presenter menerbitkan satu FrameSnapshot per tick ke TripleBuffer yang diberikan lewat
+ * {@link #bindFrames(TripleBuffer)}, lalu memanggil {@link #updateDisplay()} dari game thread.
+ * View sendiri yang mengambil snapshot terbaru saat menggambar.
+ */
 public interface GameView {
+    /**
+     * Dipanggil dari game thread setiap kali frame baru diterbitkan.
+     * Harus cepat dan aman dipanggil dari thread mana pun.
+     */
     void updateDisplay();
-    void setScoreAndCount(int score, int count);
-    void setGameElements(Player player, List<Ball> balls, Lasso lasso, Basket basket);
+    void bindFrames(TripleBuffer<FrameSnapshot> frames);
+
+    /**
+     * Menerima pelacak area yang berubah, yang diisi Presenter setelah setiap frame diterbitkan.
+     * View yang selalu menggambar seluruh layar boleh mengabaikannya.
+     */
+    default void bindDirtyRegions(DirtyRegionTracker dirty) {
+    }
+
     void showMainMenu();
     void requestGameFocus();
-}
\ No newline at end of file
+}
@@ -0,0 +1,133 @@
+package view;
+
+import model.Ball;
+import util.AssetLoader;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+
+/**
+ * LabelCache menyimpan teks yang sudah dirender sebelumnya menjadi gambar:
+ * label skor untuk setiap jenis kristal (hanya ada empat nilai) dan potongan glyph
+ * angka 0-9 untuk HUD. Dengan begitu setiap frame cukup melakukan beberapa blit gambar,
+ * tanpa membuat Font, Color, String, ataupun merasterisasi teks lagi.
+ */
+class LabelCache {
+    private static final Font SCORE_FONT = new Font("Consolas", Font.BOLD, 14);
+    private static final Font HUD_FONT = new Font("Consolas", Font.BOLD, 18);
+    private static final Color GLOW_COLOR = new Color(255, 255, 255, 100); // Putih transparan
+
+    // Label skor per jenis kristal, diindeks dengan ordinal BallType
+    private final BufferedImage[] crystalLabels;
+    private final int[] crystalLabelWidths;
+    private final int scoreAscent;
+
+    // HUD: awalan teks dan satu strip berisi glyph 0-9
+    private final BufferedImage scorePrefix, countPrefix, digitStrip;
+    private final int[] digitOffsets = new int[10];
+    private final int[] digitWidths = new int[10];
+    private final int hudAscent;
+
+    // Buffer digit yang dipakai ulang saat menggambar angka
+    private final int[] digitBuffer = new int[10];
+
+    LabelCache() {
+        // Gambar sementara hanya untuk mendapatkan FontMetrics
+        BufferedImage probe = new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D probeGraphics = probe.createGraphics();
+        FontMetrics scoreMetrics = probeGraphics.getFontMetrics(SCORE_FONT);
+        FontMetrics hudMetrics = probeGraphics.getFontMetrics(HUD_FONT);
+        probeGraphics.dispose();
+
+        Ball.BallType[] types = Ball.BallType.values();
+        crystalLabels = new BufferedImage[types.length];
+        crystalLabelWidths = new int[types.length];
+        scoreAscent = scoreMetrics.getAscent();
+        for (Ball.BallType type : types) {
+            String text = String.valueOf(type.scoreValue);
+            crystalLabels[type.ordinal()] = renderText(text, SCORE_FONT, scoreMetrics, true);
+            crystalLabelWidths[type.ordinal()] = scoreMetrics.stringWidth(text);
+        }
+
+        hudAscent = hudMetrics.getAscent();
+        scorePrefix = renderText("Score: ", HUD_FONT, hudMetrics, false);
+        countPrefix = renderText("Count: ", HUD_FONT, hudMetrics, false);
+        digitStrip = renderText("0123456789", HUD_FONT, hudMetrics, false);
+        int offset = 0;
+        for (int d = 0; d < 10; d++) {
+            digitOffsets[d] = offset;
+            digitWidths[d] = hudMetrics.charWidth((char) ('0' + d));
+            offset += digitWidths[d];
+        }
+    }
+
+    /**
+     * Menggambar label skor kristal, berpusat horizontal di centerX dengan baseline di baselineY.
+     */
+    void drawCrystalLabel(Graphics2D g2d, int typeOrdinal, int centerX, int baselineY) {
+        int textX = centerX - crystalLabelWidths[typeOrdinal] / 2;
+        g2d.drawImage(crystalLabels[typeOrdinal], textX, baselineY - scoreAscent, null);
+    }
+
+    /**
+     * Menggambar baris HUD "Score: n" dengan baseline di (x, baselineY).
+     */
+    void drawScore(Graphics2D g2d, int value, int x, int baselineY) {
+        g2d.drawImage(scorePrefix, x, baselineY - hudAscent, null);
+        drawNumber(g2d, value, x + scorePrefix.getWidth(), baselineY);
+    }
+
+    /**
+     * Menggambar baris HUD "Count: n" dengan baseline di (x, baselineY).
+     */
+    void drawCount(Graphics2D g2d, int value, int x, int baselineY) {
+        g2d.drawImage(countPrefix, x, baselineY - hudAscent, null);
+        drawNumber(g2d, value, x + countPrefix.getWidth(), baselineY);
+    }
+
+    private void drawNumber(Graphics2D g2d, int value, int x, int baselineY) {
+        // Pecah angka menjadi digit tanpa membuat String
+        int digitCount = 0;
+        int remaining = Math.max(0, value);
+        do {
+            digitBuffer[digitCount++] = remaining % 10;
+            remaining /= 10;
+        } while (remaining > 0);
+
+        int top = baselineY - hudAscent;
+        int height = digitStrip.getHeight();
+        for (int i = digitCount - 1; i >= 0; i--) {
+            int d = digitBuffer[i];
+            int sourceX = digitOffsets[d];
+            g2d.drawImage(digitStrip, x, top, x + digitWidths[d], top + height,
+                    sourceX, 0, sourceX + digitWidths[d], height, null);
+            x += digitWidths[d];
+        }
+    }
+
+    /**
+     * Merender teks putih ke gambar transparan yang kompatibel dengan layar.
+     * @param withGlow true untuk menambahkan bayangan transparan bergeser 1 piksel (efek "neon").
+     */
+    private static BufferedImage renderText(String text, Font font, FontMetrics metrics, boolean withGlow) {
+        int shift = withGlow ? 1 : 0;
+        int width = Math.max(1, metrics.stringWidth(text) + shift);
+        int height = metrics.getAscent() + metrics.getDescent() + shift;
+        BufferedImage image = AssetLoader.createCompatibleImage(width, height, Transparency.TRANSLUCENT);
+
+        Graphics2D g2d = image.createGraphics();
+        try {
+            g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            g2d.setFont(font);
+            if (withGlow) {
+                g2d.setColor(GLOW_COLOR);
+                g2d.drawString(text, 1, metrics.getAscent() + 1);
+            }
+            g2d.setColor(Color.WHITE);
+            g2d.drawString(text, 0, metrics.getAscent());
+        } finally {
+            g2d.dispose();
+        }
+        return image;
+    }
+}
@@ -1,21 +1,17 @@
 package view;
 
-import model.ScoreData;
+import model.ScoreSink;
 import presenter.GamePresenter;
-import model.DatabaseConnection;
+import presenter.LeaderboardService;
 
 import javax.sound.sampled.*;
 import javax.swing.*;
 import javax.swing.table.DefaultTableModel;
 import java.awt.*;
+import java.awt.event.FocusAdapter;
+import java.awt.event.FocusEvent;
 import java.io.File;
 import java.io.IOException;
-import java.sql.Connection;
-import java.sql.ResultSet;
-import java.sql.SQLException;
-import java.sql.Statement;
-import java.util.ArrayList;
-import java.util.List;
 
 // Tampilan awal sesuai dengan layout dari gambar yang diberikan
 public class MainMenuPanel extends JPanel {
@@ -24,6 +20,7 @@ public class MainMenuPanel extends JPanel {
     private final GamePresenter gamePresenter;
     private Clip musicClip;
     private JTextField usernameField; // TAMBAHKAN: Field untuk input username
+    private LeaderboardService leaderboard;
 
     public MainMenuPanel(JPanel mainPanel, CardLayout cardLayout, GamePresenter gamePresenter) {
         this.mainPanel = mainPanel;
@@ -98,17 +95,44 @@ public class MainMenuPanel extends JPanel {
         gbc.insets = new Insets(0, 0, 10, 0);
         add(scrollPane, gbc);
 
-        // 6. Tombol "Quit"
-        JButton quitButton = new JButton("Quit");
+        // 6. Label peringkat untuk username yang diketik
+        JLabel rankLabel = new JLabel("Peringkat: -");
         gbc.gridx = 0;
         gbc.gridy = 3;
+        gbc.fill = GridBagConstraints.NONE;
+        gbc.anchor = GridBagConstraints.CENTER;
+        gbc.insets = new Insets(0, 0, 10, 0);
+        add(rankLabel, gbc);
+
+        // 7. Tombol "Quit"
+        JButton quitButton = new JButton("Quit");
+        gbc.gridx = 0;
+        gbc.gridy = 4;
         gbc.weighty = 0; // Jangan meregang
         gbc.fill = GridBagConstraints.NONE;
         gbc.anchor = GridBagConstraints.CENTER;
         add(quitButton, gbc);
         
-        // Mengisi tabel dengan data dari database
-        refreshScoreTable(tableModel);
+        // Tabel diisi dan diperbarui oleh leaderboard di latar belakang, tanpa query di EDT
+        leaderboard = new LeaderboardService(tableModel, LeaderboardService.PAGE_SIZE);
+        leaderboard.start(ScoreSink.getDefault());
+
+        // Halaman berikutnya dimuat saat tabel digulir mendekati baris terakhir
+        scrollPane.getVerticalScrollBar().addAdjustmentListener(e -> {
+            JScrollBar bar = (JScrollBar) e.getAdjustable();
+            if (bar.getValue() + bar.getVisibleAmount() >= bar.getMaximum() - scoreTable.getRowHeight() * 2) {
+                leaderboard.loadNextPage();
+            }
+        });
+
+        // Peringkat dicari saat pengguna menekan Enter atau meninggalkan field username
+        usernameField.addActionListener(e -> showRank(rankLabel));
+        usernameField.addFocusListener(new FocusAdapter() {
+            @Override
+            public void focusLost(FocusEvent e) {
+                showRank(rankLabel);
+            }
+        });
 
         // Action Listeners untuk tombol
         playButton.addActionListener(e -> {
@@ -127,32 +151,17 @@ public class MainMenuPanel extends JPanel {
         quitButton.addActionListener(e -> System.exit(0));
     }
 
-    // Metode untuk mengambil data skor dan memperbarui tabel
-    private void refreshScoreTable(DefaultTableModel tableModel) {
-        // Hapus data lama
-        tableModel.setRowCount(0);
-        // Ambil data baru dari DB
-        List<ScoreData> scores = getScoresFromDatabase();
-        for (ScoreData score : scores) {
-            tableModel.addRow(new Object[]{score.getUsername(), score.getScore(), score.getCount()});
+    private void showRank(JLabel rankLabel) {
+        String username = usernameField.getText().trim();
+        if (username.isEmpty()) {
+            rankLabel.setText("Peringkat: -");
+            return;
         }
-    }
-
-    private List<ScoreData> getScoresFromDatabase() {
-        // (Metode ini tidak diubah, tetap sama seperti sebelumnya)
-        List<ScoreData> list = new ArrayList<>();
-        String sql = "SELECT username, skor, count FROM thasil ORDER BY skor DESC LIMIT 10";
-        try (Connection conn = DatabaseConnection.getConnection();
-             Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
-            while (rs.next()) {
-                list.add(new ScoreData(rs.getString("username"), rs.getInt("skor"), rs.getInt("count")));
-            }
-        } catch (SQLException e) {
-            JOptionPane.showMessageDialog(this, "Gagal memuat skor dari database:\n" + e.getMessage(), "Error Database", JOptionPane.ERROR_MESSAGE);
-            e.printStackTrace();
-        }
-        return list;
+        leaderboard.requestRank(username, rank -> {
+            if (rank > 0) rankLabel.setText("Peringkat " + username + ": #" + rank);
+            else if (rank == 0) rankLabel.setText("Peringkat " + username + ": belum ada skor");
+            else rankLabel.setText("Peringkat: database tidak tersedia");
+        });
     }
 
     public void playMusic() {
@@ -0,0 +1,319 @@
+package view;
+
+import model.FrameSnapshot;
+import model.SnapshotCodec;
+import util.DirtyRegionTracker;
+import util.TripleBuffer;
+import util.VarInt;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * NetworkGameView adalah GameView yang meneruskan setiap frame ke View lokal sekaligus
+ * mengirimkannya ke layar jarak jauh ({@link RemoteGameClient}) lewat socket NIO non-blocking.
+ * Aktif jika game dijalankan dengan -Dctc.net.port=PORT.
+ *
+ * View ini menjadi satu-satunya pembaca TripleBuffer milik Presenter: setiap frame disalin ke
+ * riwayat snapshot (per nomor urut) dan ke TripleBuffer milik View lokal. Untuk setiap klien,
+ * frame dikirim sebagai delta ({@link SnapshotCodec}) terhadap snapshot terakhir yang sudah
+ * di-ACK klien tersebut, atau snapshot penuh jika belum ada / sudah keluar dari riwayat.
+ * Frame untuk klien yang lambat dibuang; karena delta selalu dihitung terhadap snapshot yang
+ * pasti dimiliki klien, frame berikutnya tetap bisa dibangun ulang dengan benar.
+ *
+ * <pre>
+ * Frame: panjang(2) jenis(1) isi
+ *   Host ke klien: SNAPSHOT delta | MENU (sesi selesai)
+ *   Klien ke host: ACK seq(varlong)
+ * </pre>
+ */
+public class NetworkGameView implements GameView {
+    static final int HISTORY = 64; // Harus pangkat dua
+    static final int MAX_FRAME = 32 * 1024;
+    static final byte SNAPSHOT = 1, MENU = 2;
+    static final byte ACK = 1;
+
+    private static final int OUT_CAPACITY = 64 * 1024;
+
+    private final GameView local;
+    private final TripleBuffer<FrameSnapshot> localFrames = new TripleBuffer<>(FrameSnapshot::new);
+    private TripleBuffer<FrameSnapshot> frames;
+
+    // Riwayat snapshot yang sudah dikirim, diindeks seq & (HISTORY - 1); hanya game thread
+    private final FrameSnapshot[] history = new FrameSnapshot[HISTORY];
+    private long seq;
+    private final SnapshotCodec codec = new SnapshotCodec();
+    private final ByteBuffer scratch = ByteBuffer.allocate(MAX_FRAME);
+
+    private final ServerSocketChannel server;
+    private final Selector selector;
+    private final List<Client> clients = new CopyOnWriteArrayList<>();
+
+    private static final class Client {
+        final SocketChannel channel;
+        final ByteBuffer in = ByteBuffer.allocate(1024);
+        private final ByteBuffer out = ByteBuffer.allocateDirect(OUT_CAPACITY);
+        volatile long ackedSeq = -1; // Ditulis thread I/O, dibaca game thread
+        private volatile boolean closed;
+        // Statistik, ditulis di bawah lock objek ini
+        private long sentSnapshots, sentBytes, droppedSnapshots;
+
+        Client(SocketChannel channel) {
+            this.channel = channel;
+        }
+
+        /**
+         * Mengirim satu frame tanpa menunggu; frame yang boleh dibuang tidak dikirim bila
+         * data sebelumnya belum habis terkirim.
+         */
+        synchronized void send(ByteBuffer frame, boolean droppable) {
+            if (closed) return;
+            try {
+                if (out.position() > 0) {
+                    flush();
+                    if (droppable && out.position() > 0) {
+                        droppedSnapshots++;
+                        return;
+                    }
+                }
+                if (out.remaining() < frame.remaining()) {
+                    if (droppable) {
+                        droppedSnapshots++;
+                    } else {
+                        close();
+                    }
+                    return;
+                }
+                if (droppable) {
+                    sentSnapshots++;
+                    sentBytes += frame.remaining();
+                }
+                out.put(frame);
+                flush();
+            } catch (IOException e) {
+                close();
+            }
+        }
+
+        private void flush() throws IOException {
+            out.flip();
+            channel.write(out);
+            out.compact();
+        }
+
+        void close() {
+            if (closed) return;
+            closed = true;
+            try {
+                channel.close();
+            } catch (IOException e) {
+                // Koneksi memang sedang ditutup
+            }
+        }
+
+        synchronized String summary() {
+            return String.format(Locale.ROOT, "%d snapshot, rata-rata %.1f byte, %d dibuang",
+                    sentSnapshots, sentSnapshots == 0 ? 0.0 : (double) sentBytes / sentSnapshots, droppedSnapshots);
+        }
+    }
+
+    /**
+     * Membungkus View lokal dengan NetworkGameView jika -Dctc.net.port diisi.
+     * @return View yang harus diberikan ke GamePresenter.
+     */
+    public static GameView wrapIfEnabled(GameView local) {
+        Integer port = Integer.getInteger("ctc.net.port");
+        if (port == null) return local;
+        try {
+            return new NetworkGameView(local, port);
+        } catch (IOException e) {
+            System.err.println("Layar jarak jauh tidak aktif, port " + port + " gagal dibuka: " + e.getMessage());
+            return local;
+        }
+    }
+
+    public NetworkGameView(GameView local, int port) throws IOException {
+        this.local = local;
+        for (int i = 0; i < HISTORY; i++) {
+            history[i] = new FrameSnapshot();
+        }
+        local.bindFrames(localFrames);
+
+        this.selector = Selector.open();
+        this.server = ServerSocketChannel.open();
+        server.bind(new InetSocketAddress(port));
+        server.configureBlocking(false);
+        server.register(selector, SelectionKey.OP_ACCEPT);
+
+        Thread ioThread = new Thread(this::ioLoop, "net-view-io");
+        ioThread.setDaemon(true);
+        ioThread.start();
+        System.out.println("[Net] Layar jarak jauh menunggu di port " + getPort());
+    }
+
+    public int getPort() {
+        return server.socket().getLocalPort();
+    }
+
+    // --- Implementasi GameView (dipanggil game thread) ---
+
+    @Override
+    public void updateDisplay() {
+        FrameSnapshot frame = frames.acquire();
+        long current = ++seq;
+        FrameSnapshot snapshot = history[(int) (current & (HISTORY - 1))];
+        snapshot.copyFrom(frame);
+
+        localFrames.getWriteBuffer().copyFrom(frame);
+        localFrames.publish();
+        local.updateDisplay();
+
+        for (Client client : clients) {
+            long acked = client.ackedSeq;
+            // Baseline hanya dipakai selama slotnya belum ditimpa snapshot yang lebih baru
+            FrameSnapshot base = acked >= 0 && current - acked < HISTORY ? history[(int) (acked & (HISTORY - 1))] : null;
+            scratch.clear();
+            int start = beginFrame(scratch, SNAPSHOT);
+            try {
+                codec.encode(current, acked, base, snapshot, scratch);
+            } catch (BufferOverflowException e) {
+                continue; // Terlalu banyak kristal untuk satu frame; klien tetap memegang baseline lama
+            }
+            endFrame(scratch, start);
+            scratch.flip();
+            client.send(scratch, true);
+        }
+    }
+
+    @Override
+    public void bindFrames(TripleBuffer<FrameSnapshot> frames) {
+        this.frames = frames;
+    }
+
+    @Override
+    public void bindDirtyRegions(DirtyRegionTracker dirty) {
+        // Tidak diteruskan: View lokal menerima frame lewat salinan yang diterbitkan setelah
+        // Presenter menandai area kotor, sehingga area itu bisa terambil sebelum frame-nya ada.
+        // Tanpa pelacak, View lokal menggambar seluruh layar.
+    }
+
+    @Override
+    public void showMainMenu() {
+        local.showMainMenu();
+        ByteBuffer frame = ByteBuffer.allocate(3);
+        endFrame(frame, beginFrame(frame, MENU));
+        for (Client client : clients) {
+            frame.flip();
+            client.send(frame, false);
+            frame.limit(frame.capacity());
+        }
+    }
+
+    @Override
+    public void requestGameFocus() {
+        local.requestGameFocus();
+    }
+
+    // --- Thread I/O: menerima klien dan membaca ACK ---
+
+    private void ioLoop() {
+        try {
+            while (server.isOpen()) {
+                selector.select();
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    if (!key.isValid()) continue;
+                    if (key.isAcceptable()) {
+                        accept();
+                    } else if (key.isReadable()) {
+                        read(key, (Client) key.attachment());
+                    }
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("[Net] Thread I/O berhenti: " + e.getMessage());
+        }
+    }
+
+    private void accept() throws IOException {
+        SocketChannel channel;
+        while ((channel = server.accept()) != null) {
+            channel.configureBlocking(false);
+            channel.socket().setTcpNoDelay(true);
+            Client client = new Client(channel);
+            channel.register(selector, SelectionKey.OP_READ, client);
+            clients.add(client);
+            System.out.println("[Net] Klien terhubung: " + channel.getRemoteAddress());
+        }
+    }
+
+    private void read(SelectionKey key, Client client) {
+        try {
+            if (client.channel.read(client.in) < 0) {
+                disconnect(key, client);
+                return;
+            }
+            client.in.flip();
+            ByteBuffer frame;
+            while ((frame = nextFrame(client.in)) != null) {
+                if (frame.get() == ACK) {
+                    long acked = VarInt.getVarLong(frame);
+                    if (acked > client.ackedSeq) client.ackedSeq = acked;
+                }
+            }
+            client.in.compact();
+        } catch (IOException | RuntimeException e) {
+            disconnect(key, client);
+        }
+    }
+
+    private void disconnect(SelectionKey key, Client client) {
+        key.cancel();
+        clients.remove(client);
+        client.close();
+        System.out.println("[Net] Klien terputus: " + client.summary());
+    }
+
+    // --- Framing, dipakai bersama dengan RemoteGameClient ---
+
+    static int beginFrame(ByteBuffer buffer, byte type) {
+        int start = buffer.position();
+        buffer.putShort((short) 0);
+        buffer.put(type);
+        return start;
+    }
+
+    static void endFrame(ByteBuffer buffer, int start) {
+        buffer.putShort(start, (short) (buffer.position() - start - 2));
+    }
+
+    /**
+     * Mengambil satu frame lengkap dari buffer baca (mode baca, setelah flip).
+     * @return Isi frame mulai dari byte jenis, atau null jika frame belum lengkap.
+     */
+    static ByteBuffer nextFrame(ByteBuffer in) {
+        if (in.remaining() < 2) return null;
+        int length = in.getShort(in.position()) & 0xFFFF;
+        if (length == 0 || length > MAX_FRAME) {
+            throw new IllegalArgumentException("Panjang frame tidak valid: " + length);
+        }
+        if (in.remaining() < 2 + length) return null;
+        int start = in.position() + 2;
+        ByteBuffer frame = in.duplicate();
+        frame.position(start).limit(start + length);
+        in.position(start + length);
+        return frame;
+    }
+}
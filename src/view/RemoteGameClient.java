@@ -0,0 +1,158 @@
+package view;
+
+import model.FrameSnapshot;
+import model.SnapshotCodec;
+import util.AssetLoader;
+import util.TripleBuffer;
+import util.VarInt;
+
+import javax.swing.*;
+import java.awt.*;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.Locale;
+
+/**
+ * RemoteGameClient menampilkan permainan yang berjalan di komputer lain (host dengan
+ * -Dctc.net.port) memakai GamePanel yang sama seperti game lokal. Thread jaringan membangun
+ * ulang FrameSnapshot dari delta yang diterima, menerbitkannya ke TripleBuffer milik panel,
+ * lalu membalas ACK agar host memakai snapshot itu sebagai baseline berikutnya.
+ * Klien ini hanya menampilkan; input tetap dimainkan di host.
+ *
+ * Cara menjalankan:
+ *   java -cp out view.RemoteGameClient [host] [port]
+ */
+public class RemoteGameClient implements Runnable {
+    private final InetSocketAddress address;
+    private final GameView display;
+    private final TripleBuffer<FrameSnapshot> frames = new TripleBuffer<>(FrameSnapshot::new);
+
+    // Snapshot yang sudah dibangun ulang, diindeks seq & (HISTORY - 1); hanya thread jaringan
+    private final FrameSnapshot[] history = new FrameSnapshot[NetworkGameView.HISTORY];
+    private final long[] historySeq = new long[NetworkGameView.HISTORY];
+    private FrameSnapshot decoded = new FrameSnapshot();
+    private final SnapshotCodec codec = new SnapshotCodec();
+
+    private final ByteBuffer in = ByteBuffer.allocate(2 * NetworkGameView.MAX_FRAME);
+    private final ByteBuffer out = ByteBuffer.allocate(256);
+    private long receivedSnapshots, receivedBytes, undecodable;
+
+    public RemoteGameClient(InetSocketAddress address, GameView display) {
+        this.address = address;
+        this.display = display;
+        for (int i = 0; i < history.length; i++) {
+            history[i] = new FrameSnapshot();
+            historySeq[i] = -1;
+        }
+        display.bindFrames(frames);
+        // Area kotor dari Presenter lokal panel tidak berlaku untuk frame jarak jauh
+        display.bindDirtyRegions(null);
+    }
+
+    public static void main(String[] args) {
+        String host = args.length > 0 ? args[0] : "localhost";
+        int port = args.length > 1 ? Integer.parseInt(args[1]) : 7780;
+
+        AssetLoader.loadImages();
+        SwingUtilities.invokeLater(() -> {
+            JFrame frame = new JFrame("Collect The Skill Balls - Layar Jarak Jauh " + host + ":" + port);
+            frame.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
+            frame.setSize(800, 600);
+            frame.setLocationRelativeTo(null);
+            frame.setResizable(false);
+
+            CardLayout cardLayout = new CardLayout();
+            JPanel mainPanel = new JPanel(cardLayout);
+            GamePanel panel = new GamePanel(mainPanel, cardLayout);
+            mainPanel.add(panel, "GAME");
+            frame.add(mainPanel);
+            frame.setVisible(true);
+
+            Thread network = new Thread(new RemoteGameClient(new InetSocketAddress(host, port), panel), "remote-client");
+            network.setDaemon(true);
+            network.start();
+        });
+    }
+
+    @Override
+    public void run() {
+        try (SocketChannel channel = SocketChannel.open(address); Selector selector = Selector.open()) {
+            channel.socket().setTcpNoDelay(true);
+            channel.configureBlocking(false);
+            channel.register(selector, SelectionKey.OP_READ);
+            System.out.println("[Net] Terhubung ke " + address);
+            while (channel.isOpen()) {
+                selector.select();
+                selector.selectedKeys().clear();
+                if (channel.read(in) < 0) break;
+                in.flip();
+                long lastSeq = -1;
+                ByteBuffer frame;
+                while ((frame = NetworkGameView.nextFrame(in)) != null) {
+                    int length = frame.remaining();
+                    byte type = frame.get();
+                    if (type == NetworkGameView.SNAPSHOT) {
+                        receivedBytes += length + 2;
+                        long seq = onSnapshot(frame);
+                        if (seq >= 0) lastSeq = seq;
+                    } else if (type == NetworkGameView.MENU) {
+                        System.out.println("[Net] Sesi di host selesai");
+                    }
+                }
+                in.compact();
+                // Cukup satu ACK untuk snapshot terbaru dari setiap bacaan
+                if (lastSeq >= 0) sendAck(channel, lastSeq);
+            }
+        } catch (IOException | RuntimeException e) {
+            System.err.println("[Net] Koneksi ke host terputus: " + e.getMessage());
+        }
+        System.out.printf(Locale.ROOT, "[Net] %d snapshot diterima, rata-rata %.1f byte, %d tidak bisa dibangun ulang%n",
+                receivedSnapshots, receivedSnapshots == 0 ? 0.0 : (double) receivedBytes / receivedSnapshots, undecodable);
+    }
+
+    /**
+     * Membangun ulang satu snapshot dan menerbitkannya ke panel.
+     * @return Nomor urut snapshot, atau -1 jika baseline-nya tidak dimiliki lagi.
+     */
+    private long onSnapshot(ByteBuffer frame) {
+        receivedSnapshots++;
+        long baseSeq = SnapshotCodec.peekBaseSeq(frame);
+        FrameSnapshot base = null;
+        if (baseSeq >= 0) {
+            int slot = (int) (baseSeq & (NetworkGameView.HISTORY - 1));
+            if (historySeq[slot] != baseSeq) {
+                undecodable++;
+                return -1;
+            }
+            base = history[slot];
+        }
+        long seq = codec.decode(base, frame, decoded);
+
+        // Hasil decode menggantikan slot riwayatnya; objek lama dipakai untuk decode berikutnya
+        int slot = (int) (seq & (NetworkGameView.HISTORY - 1));
+        FrameSnapshot previous = history[slot];
+        history[slot] = decoded;
+        historySeq[slot] = seq;
+        decoded = previous;
+
+        frames.getWriteBuffer().copyFrom(history[slot]);
+        frames.publish();
+        display.updateDisplay();
+        return seq;
+    }
+
+    private void sendAck(SocketChannel channel, long seq) throws IOException {
+        // Jika ACK sebelumnya belum terkirim semua, ACK ini dilewati; host tetap memakai baseline lama
+        if (out.remaining() < 16) return;
+        int start = NetworkGameView.beginFrame(out, NetworkGameView.ACK);
+        VarInt.putVarLong(out, seq);
+        NetworkGameView.endFrame(out, start);
+        out.flip();
+        channel.write(out);
+        out.compact();
+    }
+}